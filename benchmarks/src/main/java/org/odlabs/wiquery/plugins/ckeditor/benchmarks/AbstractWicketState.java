@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2009 WiQuery team
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.odlabs.wiquery.plugins.ckeditor.benchmarks;
+
+import org.apache.wicket.markup.html.form.TextArea;
+import org.apache.wicket.model.Model;
+import org.apache.wicket.util.tester.WicketTester;
+import org.odlabs.wiquery.plugins.ckeditor.CKeditorBehavior;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * $Id: AbstractWicketState.java roche.jul $
+ * 
+ * <p>
+ * 	State of the benchmarks needing a Wicket application. The application is
+ * 	created by each benchmark thread, as Wicket keeps it into a thread local,
+ * 	with a request cycle: the statements of the behavior resolve the urls of
+ * 	the resources and look for the Ajax target with it.
+ * </p>
+ * 
+ * @author Julien Roche
+ * @since 1.1
+ */
+@State(Scope.Thread)
+public abstract class AbstractWicketState {
+	// Properties
+	private WicketTester tester;
+	
+	/**
+	 * Method binding a behavior to a new textarea, as done into a page
+	 * @param behavior
+	 * @return the behavior
+	 */
+	protected CKeditorBehavior bind(CKeditorBehavior behavior) {
+		TextArea<String> textArea = new TextArea<String>("editor", new Model<String>(""));
+		textArea.setMarkupId("editor");
+		textArea.add(behavior);
+		return behavior;
+	}
+	
+	/**
+	 * @return the tester
+	 */
+	protected WicketTester getTester() {
+		return tester;
+	}
+	
+	/**
+	 * Method initializing the state, after the creation of the application
+	 */
+	protected abstract void init();
+	
+	/**
+	 * Method creating the application
+	 */
+	@Setup(Level.Trial)
+	public final void setUp() {
+		tester = new WicketTester();
+		tester.setupRequestAndResponse();
+		tester.createRequestCycle();
+		init();
+	}
+	
+	/**
+	 * Method destroying the application
+	 */
+	@TearDown(Level.Trial)
+	public final void tearDown() {
+		tester.destroy();
+	}
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2009 WiQuery team
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.odlabs.wiquery.plugins.ckeditor.benchmarks;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.odlabs.wiquery.plugins.ckeditor.options.CommandKeyStrokeOption;
+import org.odlabs.wiquery.plugins.ckeditor.options.FormatOption;
+import org.odlabs.wiquery.plugins.ckeditor.options.HtmlTagEnum;
+import org.odlabs.wiquery.plugins.ckeditor.options.KeyStrokeOption;
+import org.odlabs.wiquery.plugins.ckeditor.options.RegExpOption;
+import org.odlabs.wiquery.plugins.ckeditor.options.SizeOption;
+import org.odlabs.wiquery.plugins.ckeditor.options.StyleOption;
+import org.odlabs.wiquery.plugins.ckeditor.options.KeyStrokeOption.KeyStrokeMask;
+import org.odlabs.wiquery.plugins.ckeditor.options.RegExpOption.RegExpFlag;
+import org.odlabs.wiquery.plugins.ckeditor.options.SizeOption.SizeMetric;
+import org.odlabs.wiquery.plugins.ckeditor.options.list.ElementPathListOptions;
+import org.odlabs.wiquery.plugins.ckeditor.options.list.ListOptions;
+import org.odlabs.wiquery.plugins.ckeditor.options.scope.ElementPathScope;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * $Id: ComplexOptionBenchmark.java roche.jul $
+ * 
+ * <p>
+ * 	Benchmark of the <code>getJavascriptOption()</code> method of each 
+ * 	complex option of the plugin
+ * </p>
+ * 
+ * @author Julien Roche
+ * @since 1.1
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ComplexOptionBenchmark {
+	// Properties
+	private CommandKeyStrokeOption commandKeyStroke;
+	private ElementPathListOptions elementPathList;
+	private FormatOption format;
+	private KeyStrokeOption keyStroke;
+	private ListOptions list;
+	private RegExpOption regExp;
+	private SizeOption size;
+	private StyleOption style;
+	
+	/**
+	 * Method creating the options
+	 */
+	@Setup
+	public void setUp() {
+		Map<String, String> attributes = new LinkedHashMap<String, String>();
+		attributes.put("class", "highlight");
+		attributes.put("title", "Highlighted");
+		
+		Map<String, String> styles = new LinkedHashMap<String, String>();
+		styles.put("color", "#FF0000");
+		styles.put("font-weight", "bold");
+		styles.put("background-color", "#FFFFE0");
+		
+		commandKeyStroke = new CommandKeyStrokeOption("bold", 66, KeyStrokeMask.CTRL);
+		elementPathList = ElementPathListOptions.asList(
+				ElementPathScope.quickScope("return element.getName() != 'span';"),
+				ElementPathScope.quickScope("return element.getName() != 'div';"));
+		format = new FormatOption(HtmlTagEnum.p, attributes);
+		keyStroke = new KeyStrokeOption(66, KeyStrokeMask.CTRL, KeyStrokeMask.SHIFT);
+		list = ListOptions.asList("elementspath", "flash", "scayt", "smiley", "wsc");
+		regExp = new RegExpOption("<%[\\s\\S]*?%>", RegExpFlag.G);
+		size = new SizeOption(300, SizeMetric.PIXEL);
+		style = new StyleOption(HtmlTagEnum.span, styles);
+	}
+	
+	/**
+	 * @return the rendered option
+	 */
+	@Benchmark
+	public CharSequence commandKeyStroke() {
+		return commandKeyStroke.getJavascriptOption();
+	}
+	
+	/**
+	 * @return the rendered option
+	 */
+	@Benchmark
+	public CharSequence elementPathList() {
+		return elementPathList.getJavascriptOption();
+	}
+	
+	/**
+	 * @return the rendered option
+	 */
+	@Benchmark
+	public CharSequence format() {
+		return format.getJavascriptOption();
+	}
+	
+	/**
+	 * @return the rendered option
+	 */
+	@Benchmark
+	public CharSequence keyStroke() {
+		return keyStroke.getJavascriptOption();
+	}
+	
+	/**
+	 * @return the rendered option
+	 */
+	@Benchmark
+	public CharSequence list() {
+		return list.getJavascriptOption();
+	}
+	
+	/**
+	 * @return the rendered option
+	 */
+	@Benchmark
+	public CharSequence regExp() {
+		return regExp.getJavascriptOption();
+	}
+	
+	/**
+	 * @return the rendered option
+	 */
+	@Benchmark
+	public CharSequence size() {
+		return size.getJavascriptOption();
+	}
+	
+	/**
+	 * @return the rendered option
+	 */
+	@Benchmark
+	public CharSequence style() {
+		return style.getJavascriptOption();
+	}
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2009 WiQuery team
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.odlabs.wiquery.plugins.ckeditor.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.odlabs.wiquery.plugins.ckeditor.CKeditorBehavior;
+import org.odlabs.wiquery.plugins.ckeditor.CKeditorBehavior.InstantiationMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * $Id: FacadeBenchmark.java roche.jul $
+ * 
+ * <p>
+ * 	Benchmark of the creation and of the serialization of a behavior, with
+ * 	none, one or all of its facades used. With the gc profiler, the 
+ * 	<code>gc.alloc.rate.norm</code> of <code>create</code> is the heap 
+ * 	allocated by editor. The serialized size of an editor is computed once,
+ * 	at the setup, and printed with the parameters of the trial: a counter of
+ * 	the benchmark would be summed over the iterations. The 
+ * 	<code>flags</code> parameter keeps the opt-in features disabled, as by
+ * 	default, or enables all of them.
+ * </p>
+ * 
+ * @author Julien Roche
+ * @since 1.1
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FacadeBenchmark extends AbstractWicketState {
+	// Properties
+	private CKeditorBehavior behavior;
+	
+	/** Facades used by the editor */
+	@Param({"none", "one", "all"})
+	public String facades;
+	
+	/** Opt-in features of the editor */
+	@Param({"defaults", "enabled"})
+	public String flags;
+	
+	/**
+	 * @return a new editor, whose facades are used
+	 */
+	@Benchmark
+	public CKeditorBehavior create() {
+		CKeditorBehavior editor = new CKeditorBehavior();
+		
+		if("one".equals(facades)){
+			editor.getFont().setFontNames("Arial;Verdana");
+			
+		} else if("all".equals(facades)){
+			editor.getDialog().setDialogMagnetDistance(10);
+			editor.getFileBrowser().setFilebrowserBrowseUrl("/browse");
+			editor.getFont().setFontNames("Arial;Verdana");
+			editor.getFormat().setFormatTags("p;h1;h2");
+			editor.getLocale().setLanguage("fr");
+			editor.getPaste().setForcePasteAsPlainText(true);
+			editor.getPicture().setImagePreviewText("Preview");
+			editor.getStyleSheet().setSkin("office2003");
+		}
+		
+		if("enabled".equals(flags)){
+			editor.setAsyncLoadingEnabled(true);
+			editor.setBatchEnabled(true);
+			editor.setBundleEnabled(true);
+			editor.setDefaultOptionsElided(true);
+			editor.setInstanceReuseEnabled(true);
+			editor.setInstantiationMode(InstantiationMode.ON_FOCUS);
+			editor.setLanguagePackEnabled(true);
+			editor.setProfileConfigEnabled(true);
+		}
+		
+		return editor;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @see org.odlabs.wiquery.plugins.ckeditor.benchmarks.AbstractWicketState#init()
+	 */
+	@Override
+	protected void init() {
+		behavior = bind(create());
+		
+		try {
+			System.out.println("FacadeBenchmark (facades=" + facades + ", flags=" + flags 
+					+ "): " + serialize().length + " serialized bytes by editor");
+			
+		} catch (IOException e) {
+			throw new IllegalStateException("Unable to serialize the editor", e);
+		}
+	}
+	
+	/**
+	 * @return the serialized editor
+	 * @throws IOException
+	 */
+	@Benchmark
+	public byte[] serialize() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ObjectOutputStream out = new ObjectOutputStream(bytes);
+		out.writeObject(behavior);
+		out.close();
+		
+		return bytes.toByteArray();
+	}
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2009 WiQuery team
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.odlabs.wiquery.plugins.ckeditor.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.odlabs.wiquery.plugins.ckeditor.options.toolbar.CKeditorToolbarEnum;
+import org.odlabs.wiquery.plugins.ckeditor.options.toolbar.CKeditorToolbarGroup;
+import org.odlabs.wiquery.plugins.ckeditor.options.toolbar.CKeditorToolbarSpecialEnum;
+
+/**
+ * $Id: Fixtures.java roche.jul $
+ * 
+ * <p>
+ * 	Data shared by the benchmarks
+ * </p>
+ * 
+ * @author Julien Roche
+ * @since 1.1
+ */
+final class Fixtures {
+	/**
+	 * Method creating a custom toolbar of two rows, like the ones defined by
+	 * the applications
+	 * @return the groups of the toolbar
+	 */
+	static List<CKeditorToolbarGroup> customToolbar() {
+		CKeditorToolbarGroup first = new CKeditorToolbarGroup();
+		first.add(Arrays.asList(CKeditorToolbarEnum.SOURCE));
+		first.add(Arrays.asList(CKeditorToolbarEnum.BOLD, CKeditorToolbarEnum.ITALIC, 
+				CKeditorToolbarEnum.UNDERLINE, CKeditorToolbarEnum.STRIKE));
+		first.add(Arrays.asList(CKeditorToolbarEnum.NUMBERED_LIST, CKeditorToolbarEnum.BULLETED_LIST, 
+				CKeditorToolbarSpecialEnum.SEPERATOR, CKeditorToolbarEnum.BLOCKQUOTE));
+		
+		CKeditorToolbarGroup second = new CKeditorToolbarGroup();
+		second.add(Arrays.asList(CKeditorToolbarEnum.LINK, CKeditorToolbarEnum.UNLINK, 
+				CKeditorToolbarEnum.ANCHOR));
+		second.add(Arrays.asList(CKeditorToolbarEnum.BGCOLOR, CKeditorToolbarEnum.ABOUT));
+		
+		List<CKeditorToolbarGroup> toolbar = new ArrayList<CKeditorToolbarGroup>();
+		toolbar.add(first);
+		toolbar.add(second);
+		return toolbar;
+	}
+	
+	/**
+	 * Method creating a html payload
+	 * @param size Approximative size of the payload, in characters
+	 * @return the payload
+	 */
+	static String payload(int size) {
+		String paragraph = "<p class=\"text\">Lorem ipsum dolor sit amet, \"consectetur\" adipiscing elit's.</p>\n";
+		StringBuilder builder = new StringBuilder(size + paragraph.length());
+		
+		while(builder.length() < size){
+			builder.append(paragraph);
+		}
+		
+		return builder.toString();
+	}
+	
+	/**
+	 * Constructor
+	 */
+	private Fixtures() {
+		super();
+	}
+}
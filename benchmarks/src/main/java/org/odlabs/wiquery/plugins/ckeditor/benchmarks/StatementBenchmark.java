@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2009 WiQuery team
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.odlabs.wiquery.plugins.ckeditor.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.odlabs.wiquery.plugins.ckeditor.CKeditorBehavior;
+import org.odlabs.wiquery.plugins.ckeditor.CKeditorBehavior.InstantiationMode;
+import org.odlabs.wiquery.plugins.ckeditor.CKeditorProfile;
+import org.odlabs.wiquery.plugins.ckeditor.options.list.ListOptions;
+import org.odlabs.wiquery.plugins.ckeditor.options.toolbar.CKeditorToolbar;
+import org.odlabs.wiquery.plugins.ckeditor.options.toolbar.CKeditorToolbar.ToolbarType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * $Id: StatementBenchmark.java roche.jul $
+ * 
+ * <p>
+ * 	Benchmark of {@link CKeditorBehavior#statement()}, with the rendered 
+ * 	options kept (<code>cached</code>) or computed again because an option 
+ * 	was modified (<code>modified</code>).
+ * </p>
+ * 
+ * <p>
+ * 	The <code>flag</code> parameter enables one of the opt-in features 
+ * 	changing the statement: <code>none</code> is the baseline, with all of 
+ * 	them disabled as by default. The profile configuration file only applies
+ * 	to the <code>profile</code> configuration.
+ * </p>
+ * 
+ * @author Julien Roche
+ * @since 1.1
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatementBenchmark extends AbstractWicketState {
+	// Properties
+	private CKeditorBehavior behavior;
+	private int counter;
+	
+	/** Configuration of the editor */
+	@Param({"default", "configured", "profile"})
+	public String configuration;
+	
+	/** Opt-in feature enabled on the editor */
+	@Param({"none", "languagePack", "profileConfig", "lazy", "batch", "async", "asyncBundle", "instanceReuse"})
+	public String flag;
+	
+	/**
+	 * Method configuring an editor as done by the applications
+	 * @param behavior
+	 * @return the behavior
+	 */
+	private CKeditorBehavior configure(CKeditorBehavior behavior) {
+		behavior.setToolbar(new CKeditorToolbar(Fixtures.customToolbar()));
+		behavior.setRemovePlugins(ListOptions.asList("elementspath", "scayt", "wsc"));
+		behavior.setStartupFocus(true);
+		behavior.setUndoStackSize(50);
+		behavior.getDialog().setDialogBackgroundCoverOpacity(0.7F);
+		behavior.getFont().setFontNames("Arial;Verdana");
+		behavior.getLocale().setLanguage("fr");
+		behavior.getStyleSheet().setSkin("office2003");
+		return behavior;
+	}
+	
+	/**
+	 * Method enabling the opt-in feature of the benchmark
+	 * @param behavior
+	 * @return the behavior
+	 */
+	private CKeditorBehavior enable(CKeditorBehavior behavior) {
+		if("languagePack".equals(flag)){
+			behavior.setLanguagePackEnabled(true);
+			
+		} else if("profileConfig".equals(flag)){
+			behavior.setProfileConfigEnabled(true);
+			
+		} else if("lazy".equals(flag)){
+			behavior.setInstantiationMode(InstantiationMode.ON_FOCUS);
+			
+		} else if("batch".equals(flag)){
+			behavior.setBatchEnabled(true);
+			
+		} else if("async".equals(flag)){
+			behavior.setAsyncLoadingEnabled(true);
+			
+		} else if("asyncBundle".equals(flag)){
+			// The bundle only changes the urls loaded by the statement
+			behavior.setAsyncLoadingEnabled(true);
+			behavior.setBundleEnabled(true);
+			
+		} else if("instanceReuse".equals(flag)){
+			behavior.setInstanceReuseEnabled(true);
+		}
+		
+		return behavior;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @see org.odlabs.wiquery.plugins.ckeditor.benchmarks.AbstractWicketState#init()
+	 */
+	@Override
+	protected void init() {
+		if("default".equals(configuration)){
+			behavior = bind(enable(new CKeditorBehavior()));
+			
+		} else if("configured".equals(configuration)){
+			behavior = bind(enable(configure(new CKeditorBehavior())));
+			
+		} else {
+			CKeditorProfile.register(getTester().getApplication(), 
+					new CKeditorProfile("benchmark", configure(new CKeditorBehavior())));
+			behavior = bind(enable(new CKeditorBehavior("benchmark")));
+		}
+	}
+	
+	/**
+	 * @return the statement, rendered with the kept options
+	 */
+	@Benchmark
+	public CharSequence cached() {
+		return behavior.statement().render();
+	}
+	
+	/**
+	 * @return the statement, rendered after the modification of an option
+	 */
+	@Benchmark
+	public CharSequence modified() {
+		behavior.setToolbar(new CKeditorToolbar((counter++ & 1) == 0 ? ToolbarType.BASIC : ToolbarType.FULL));
+		return behavior.statement().render();
+	}
+}
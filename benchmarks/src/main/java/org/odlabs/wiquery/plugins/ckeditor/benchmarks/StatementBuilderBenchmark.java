@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2009 WiQuery team
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.odlabs.wiquery.plugins.ckeditor.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.odlabs.wiquery.plugins.ckeditor.CKeditorBehavior;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * $Id: StatementBuilderBenchmark.java roche.jul $
+ * 
+ * <p>
+ * 	Benchmark of the {@link CKeditorBehavior#insertHtml(CharSequence)} and
+ * 	{@link CKeditorBehavior#setData(CharSequence)} statements, with a small
+ * 	and a multi-megabyte payload.
+ * </p>
+ * 
+ * @author Julien Roche
+ * @since 1.1
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class StatementBuilderBenchmark extends AbstractWicketState {
+	// Properties
+	private CKeditorBehavior behavior;
+	private String payload;
+	
+	/** Size of the payload, in characters */
+	@Param({"64", "4194304"})
+	public int payloadSize;
+	
+	/**
+	 * {@inheritDoc}
+	 * @see org.odlabs.wiquery.plugins.ckeditor.benchmarks.AbstractWicketState#init()
+	 */
+	@Override
+	protected void init() {
+		behavior = bind(new CKeditorBehavior());
+		payload = Fixtures.payload(payloadSize);
+	}
+	
+	/**
+	 * @return the rendered statement
+	 */
+	@Benchmark
+	public CharSequence insertHtml() {
+		return behavior.insertHtml(payload).render();
+	}
+	
+	/**
+	 * @return the rendered statement
+	 */
+	@Benchmark
+	public CharSequence setData() {
+		return behavior.setData(payload).render();
+	}
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2009 WiQuery team
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.odlabs.wiquery.plugins.ckeditor.benchmarks;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.odlabs.wiquery.plugins.ckeditor.options.toolbar.CKeditorToolbar;
+import org.odlabs.wiquery.plugins.ckeditor.options.toolbar.CKeditorToolbarCompiler;
+import org.odlabs.wiquery.plugins.ckeditor.options.toolbar.CKeditorToolbarEnum;
+import org.odlabs.wiquery.plugins.ckeditor.options.toolbar.CKeditorToolbarGroup;
+import org.odlabs.wiquery.plugins.ckeditor.options.toolbar.CKeditorToolbar.ToolbarType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * $Id: ToolbarBenchmark.java roche.jul $
+ * 
+ * <p>
+ * 	Benchmark of the rendering of the predefined toolbars and of a custom
+ * 	toolbar. The custom toolbar is rendered as defined by the application 
+ * 	(<code>custom</code>), after a modification of its groups 
+ * 	(<code>customModified</code>), compiled (<code>compiled</code>) and 
+ * 	compiled again from its groups (<code>compile</code>).
+ * </p>
+ * 
+ * @author Julien Roche
+ * @since 1.1
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ToolbarBenchmark {
+	// Properties
+	private CKeditorToolbar basic;
+	private CKeditorToolbar compiled;
+	private int counter;
+	private CKeditorToolbar custom;
+	private List<CKeditorToolbarGroup> customGroups;
+	private CKeditorToolbar full;
+	
+	/**
+	 * Method creating the toolbars
+	 */
+	@Setup
+	public void setUp() {
+		basic = new CKeditorToolbar(ToolbarType.BASIC);
+		full = new CKeditorToolbar(ToolbarType.FULL);
+		customGroups = Fixtures.customToolbar();
+		custom = new CKeditorToolbar(customGroups);
+		compiled = CKeditorToolbarCompiler.compile(custom);
+	}
+	
+	/**
+	 * @return the rendered toolbar
+	 */
+	@Benchmark
+	public CharSequence basic() {
+		return basic.getJavascriptOption();
+	}
+	
+	/**
+	 * @return the rendered toolbar
+	 */
+	@Benchmark
+	public CharSequence compile() {
+		return CKeditorToolbarCompiler.compile(customGroups).getJavascriptOption();
+	}
+	
+	/**
+	 * @return the rendered toolbar
+	 */
+	@Benchmark
+	public CharSequence compiled() {
+		return compiled.getJavascriptOption();
+	}
+	
+	/**
+	 * @return the rendered toolbar
+	 */
+	@Benchmark
+	public CharSequence custom() {
+		return custom.getJavascriptOption();
+	}
+	
+	/**
+	 * @return the rendered toolbar
+	 */
+	@Benchmark
+	public CharSequence customModified() {
+		// A different element invalidates the rendering of the group
+		customGroups.get(0).set(0, Arrays.asList((counter++ & 1) == 0 ? 
+				CKeditorToolbarEnum.SOURCE : CKeditorToolbarEnum.ABOUT));
+		return custom.getJavascriptOption();
+	}
+	
+	/**
+	 * @return the rendered toolbar
+	 */
+	@Benchmark
+	public CharSequence full() {
+		return full.getJavascriptOption();
+	}
+}
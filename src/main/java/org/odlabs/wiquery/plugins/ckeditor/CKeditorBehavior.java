@@ -21,9 +21,18 @@
  */
 package org.odlabs.wiquery.plugins.ckeditor;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
 import org.apache.wicket.Component;
+import org.apache.wicket.RequestCycle;
+import org.apache.wicket.Session;
+import org.apache.wicket.ajax.AjaxRequestTarget;
 import org.apache.wicket.markup.ComponentTag;
 import org.apache.wicket.markup.MarkupException;
+import org.apache.wicket.markup.html.IHeaderResponse;
 import org.apache.wicket.markup.html.resources.JavascriptResourceReference;
 import org.odlabs.wiquery.core.behavior.WiQueryAbstractBehavior;
 import org.odlabs.wiquery.core.commons.WiQueryResourceManager;
@@ -32,6 +41,7 @@ import org.odlabs.wiquery.core.javascript.JsStatement;
 import org.odlabs.wiquery.core.javascript.JsUtils;
 import org.odlabs.wiquery.core.options.ArrayItemOptions;
 import org.odlabs.wiquery.core.options.ICollectionItemOptions;
+import org.odlabs.wiquery.core.options.IComplexOption;
 import org.odlabs.wiquery.core.options.Options;
 import org.odlabs.wiquery.plugins.ckeditor.options.CommandKeyStrokeOption;
 import org.odlabs.wiquery.plugins.ckeditor.options.KeyStrokeOption;
@@ -39,7 +49,14 @@ import org.odlabs.wiquery.plugins.ckeditor.options.RegExpOption;
 import org.odlabs.wiquery.plugins.ckeditor.options.StyleOption;
 import org.odlabs.wiquery.plugins.ckeditor.options.list.ElementPathListOptions;
 import org.odlabs.wiquery.plugins.ckeditor.options.list.ListOptions;
+import org.odlabs.wiquery.plugins.ckeditor.options.toolbar.CKeditorCompiledToolbar;
 import org.odlabs.wiquery.plugins.ckeditor.options.toolbar.CKeditorToolbar;
+import org.odlabs.wiquery.plugins.ckeditor.options.toolbar.CKeditorToolbarCompiler;
+import org.odlabs.wiquery.plugins.ckeditor.resource.CKeditorBundle;
+import org.odlabs.wiquery.plugins.ckeditor.resource.CKeditorExport;
+import org.odlabs.wiquery.plugins.ckeditor.resource.CKeditorLanguagePack;
+import org.odlabs.wiquery.plugins.ckeditor.resource.CKeditorProfileConfig;
+import org.odlabs.wiquery.plugins.ckeditor.resource.CKeditorResourceTree;
 
 /**
  * $Id: CKeditorBehavior.java roche.jul $
@@ -51,7 +68,7 @@ import org.odlabs.wiquery.plugins.ckeditor.options.toolbar.CKeditorToolbar;
  * <p>
  * 	See http://docs.cksource.com/ckeditor_api/symbols/CKEDITOR.config.html
  * </p>
- *
+ * 
  * @author Julien Roche
  * @since 1.0
  */
@@ -69,7 +86,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 		BR,
 		DIV,
 		P;
-
+		
 		/**
 		 * {@inheritDoc}
 		 * @see java.lang.Enum#toString()
@@ -80,6 +97,36 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 		}
 	}
 	
+	/**
+	 * 
+	 * <p>
+	 * 	Instantiation mode: the editor is created with the page, or the 
+	 * 	element is left as it is until it is needed
+	 * </p>
+	 *
+	 * @author Julien Roche
+	 * @since 1.1
+	 */
+	public enum InstantiationMode {
+		/** At the loading of the page */
+		EAGER,
+		/** When the element is scrolled into view, or receives the focus */
+		ON_VISIBLE,
+		/** When the element receives the focus */
+		ON_FOCUS,
+		/** When the element is clicked */
+		ON_CLICK;
+		
+		/**
+		 * {@inheritDoc}
+		 * @see java.lang.Enum#toString()
+		 */
+		@Override
+		public String toString() {
+			return super.toString().substring(super.toString().indexOf('_') + 1).toLowerCase();
+		}
+	}
+	
 	/**
 	 * 
 	 * <p>
@@ -117,34 +164,53 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	public static final JavascriptResourceReference WIQUERY_CKEDITOR_JQUERY_ADAPTER_JS = 
 		new JavascriptResourceReference(CKeditorBehavior.class, "jquery-ckeditor-adapter.js");
 	
+	/** Constant for the loader creating the editors on demand */
+	public static final JavascriptResourceReference WIQUERY_CKEDITOR_LOADER_JS = 
+		new JavascriptResourceReference(CKeditorBehavior.class, "wiquery-ckeditor-loader.js");
+	
+	/** Name of the javascript object holding the configurations of the batched editors */
+	public static final String CONFIGS_VARIABLE = "window.wiQueryCKeditorConfigs";
+	
 	/** Constant of serialization */
 	private static final long serialVersionUID = 9160233123669245269L;
 	
 	// Properties
-	private Dialog dialog;
-	private FileBrowser fileBrowser;
-	private Font font;
-	private Format format;
-	private Locale locale;
-	private Options options;
-	private Picture picture;
-	private Paste paste;
-	private StyleSheet stylesheet;
-	
+	private boolean asyncLoadingEnabled = false;
+	private boolean batchEnabled = false;
+	private boolean bundleEnabled = false;
+	private boolean instanceReuseEnabled = false;
+	// The facades are created on their first access. They only hold the
+	// options, so they are not serialized.
+	private transient Dialog dialog;
+	private transient FileBrowser fileBrowser;
+	private transient Font font;
+	private transient Format format;
+	private InstantiationMode instantiationMode = InstantiationMode.EAGER;
+	private boolean languagePackEnabled = false;
+	private boolean profileConfigEnabled = false;
+	private transient Locale locale;
+	private CKeditorOptions options;
+	private transient Picture picture;
+	private transient Paste paste;
+	private transient StyleSheet stylesheet;
+	
+	/**
+	 * Default constructor
+	 */
 	public CKeditorBehavior() {
+		this(null);
+	}
+	
+	/**
+	 * Constructor
+	 * @param profileName Name of the {@link CKeditorProfile} defining the 
+	 * default options of the editor
+	 */
+	public CKeditorBehavior(String profileName) {
 		super();
-		options = new Options();
-		
-		dialog = new Dialog(options);
-		format = new Format(options);
-		fileBrowser = new FileBrowser(options);
-		font = new Font(options);
-		locale = new Locale(options);
-		paste = new Paste(options);
-		picture = new Picture(options);
-		stylesheet = new StyleSheet(options);
+		options = new CKeditorOptions(profileName);
 	}
-
+	
 	/**
 	 * {@inheritDoc}
 	 * @see org.odlabs.wiquery.core.behavior.WiQueryAbstractBehavior#contribute(org.odlabs.wiquery.core.commons.WiQueryResourceManager)
@@ -152,17 +218,322 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	@Override
 	public void contribute(WiQueryResourceManager wiQueryResourceManager) {
 		super.contribute(wiQueryResourceManager);
-		wiQueryResourceManager.addJavaScriptResource(WIQUERY_CKEDITOR_JS);
-		wiQueryResourceManager.addJavaScriptResource(WIQUERY_CKEDITOR_JQUERY_ADAPTER_JS);
+		
+		// The exported resources are rendered with the head
+		if(CKeditorExport.get() == null){
+			for(JavascriptResourceReference reference : getResources()) {
+				wiQueryResourceManager.addJavaScriptResource(reference);
+			}
+		}
+	}
+	
+	/**
+	 * @return the reference of the bundle holding CKeditor and the files 
+	 * needed by the toolbar and the plugins of the editor, or null if 
+	 * CKeditor alone is enough
+	 */
+	@SuppressWarnings("unchecked")
+	private JavascriptResourceReference getBundle() {
+		IComplexOption toolbar = options.peekComplexOption(CKeditorOptionKey.TOOLBAR);
+		CKeditorCompiledToolbar compiledToolbar = options.getCompiledToolbar();
+		CharSequence definition = null;
+		
+		if(compiledToolbar != null){
+			definition = compiledToolbar.getDefinition();
+			
+		} else if(toolbar != null){
+			definition = toolbar.getJavascriptOption();
+		}
+		
+		IComplexOption removePlugins = options.peekComplexOption(CKeditorOptionKey.REMOVE_PLUGINS);
+		return CKeditorBundle.get(definition, removePlugins instanceof Collection ? 
+				(Collection<String>) removePlugins : null, 
+				options.getLiteral(CKeditorOptionKey.EXTRA_PLUGINS));
+	}
+	
+	/**
+	 * @return the reference of the configuration file of the profile, or null
+	 * if the options are rendered into the page
+	 */
+	private CKeditorProfileConfig.Reference getProfileConfig() {
+		String profileName = options.getProfileName();
+		
+		if(!profileConfigEnabled || profileName == null 
+				|| options.getLiteral(CKeditorOptionKey.CUSTOM_CONFIG) != null){
+			return null;
+		}
+		
+		return CKeditorProfileConfig.get(CKeditorProfile.get(profileName));
 	}
 	
 	/**
+	 * @return the resources of CKeditor needed by the editor, in their loading
+	 * order
+	 */
+	private List<JavascriptResourceReference> getEditorResources() {
+		JavascriptResourceReference bundle = bundleEnabled ? getBundle() : null;
+		List<JavascriptResourceReference> resources = new ArrayList<JavascriptResourceReference>(4);
+		resources.add(bundle == null ? 
+				CKeditorResourceTree.getFingerprintedReference(WIQUERY_CKEDITOR_JS) : bundle);
+		
+		if(isLanguagePackUsed()){
+			resources.add(CKeditorLanguagePack.getReference(getEffectiveLanguage()));
+		}
+		
+		resources.add(CKeditorResourceTree.getFingerprintedReference(WIQUERY_CKEDITOR_JQUERY_ADAPTER_JS));
+		return resources;
+	}
+	
+	/**
+	 * @return the urls of the resources of CKeditor, loaded by the loader
+	 */
+	private CharSequence getEditorUrls() {
+		CKeditorExport export = CKeditorExport.get();
+		StringBuffer urls = new StringBuffer();
+		urls.append('[');
+		
+		for(JavascriptResourceReference reference : getEditorResources()) {
+			if(export != null){
+				export.export(reference);
+			}
+			
+			CharSequence url = export == null ? RequestCycle.get().urlFor(reference) : export.getUrl(reference);
+			urls.append(urls.length() > 1 ? ", " : "").append(JsUtils.quotes(url.toString()));
+		}
+		
+		return urls.append(']');
+	}
+	
+	/**
+	 * @return the resources rendered with the page, in their loading order
+	 */
+	private List<JavascriptResourceReference> getResources() {
+		if(asyncLoadingEnabled){
+			return Collections.singletonList(
+					CKeditorResourceTree.getFingerprintedReference(WIQUERY_CKEDITOR_LOADER_JS));
+		}
+		
+		List<JavascriptResourceReference> resources = getEditorResources();
+		
+		if(batchEnabled || instantiationMode != InstantiationMode.EAGER || isReused()){
+			resources.add(CKeditorResourceTree.getFingerprintedReference(WIQUERY_CKEDITOR_LOADER_JS));
+		}
+		
+		return resources;
+	}
+	
+	/**
+	 * Method resolving the language used by the editor: the language option 
+	 * if it is available, otherwise the locale of the session, otherwise the
+	 * defaultLanguage option
+	 * @return the language code
+	 */
+	public String getEffectiveLanguage() {
+		return CKeditorLanguagePack.resolve(options.getLiteral(CKeditorOptionKey.LANGUAGE), 
+				options.getLiteral(CKeditorOptionKey.DEFAULT_LANGUAGE),
+				Session.exists() ? Session.get().getLocale() : null);
+	}
+	
+	/**
+	 * The rendered options are kept until they are modified, so they are
+	 * computed again after each call of this method.
 	 * @return the options for the CKEditor
 	 */
 	protected final Options getCKeditorOptions() {
+		return options.getOptions();
+	}
+	
+	/**
+	 * @return true if CKeditor is loaded after the page
+	 */
+	public boolean isAsyncLoadingEnabled() {
+		return asyncLoadingEnabled;
+	}
+	
+	/**
+	 * Method defining if CKeditor is loaded after the page (false by 
+	 * default). Only the loader is rendered with the page, and the scripts of
+	 * CKeditor are loaded in the background, or on the first activation of a
+	 * lazy editor (see {@link #setInstantiationMode(InstantiationMode)}). The
+	 * editors are created once they are loaded.
+	 * @param asyncLoadingEnabled
+	 * @return the current instance
+	 */
+	public CKeditorBehavior setAsyncLoadingEnabled(boolean asyncLoadingEnabled) {
+		this.asyncLoadingEnabled = asyncLoadingEnabled;
+		return this;
+	}
+	
+	/**
+	 * @return true if the live editor is kept when the component is 
+	 * re-rendered through Ajax
+	 */
+	public boolean isInstanceReuseEnabled() {
+		return instanceReuseEnabled;
+	}
+	
+	/**
+	 * Method defining if the live editor is kept when the component is 
+	 * re-rendered through Ajax (false by default). When the configuration is 
+	 * unchanged and the editor is still in the page, it is attached to the 
+	 * new textarea and only its data is updated; otherwise the former 
+	 * instance is destroyed and a new editor is created.
+	 * @param instanceReuseEnabled
+	 * @return the current instance
+	 */
+	public CKeditorBehavior setInstanceReuseEnabled(boolean instanceReuseEnabled) {
+		this.instanceReuseEnabled = instanceReuseEnabled;
+		return this;
+	}
+	
+	/**
+	 * @return true if the language pack is loaded with the editor. The 
+	 * languages of the pack are read from the listing of the tree.
+	 */
+	private boolean isLanguagePackUsed() {
+		return languagePackEnabled && CKeditorResourceTree.getFingerprint() != null;
+	}
+	
+	/**
+	 * @return true if the editor is rendered through Ajax, and its former 
+	 * instance can be reused
+	 */
+	private boolean isReused() {
+		return instanceReuseEnabled && AjaxRequestTarget.get() != null;
+	}
+	
+	/**
+	 * @return true if the editor is created with the batch of the page
+	 */
+	public boolean isBatchEnabled() {
+		return batchEnabled;
+	}
+	
+	/**
+	 * Method defining if the editor is created with the batch of the page 
+	 * (false by default). The configuration is declared once per page for 
+	 * all the editors sharing it, and the editors are created one per 
+	 * animation frame, so the page stays responsive while they are built.
+	 * @param batchEnabled
+	 * @return the current instance
+	 */
+	public CKeditorBehavior setBatchEnabled(boolean batchEnabled) {
+		this.batchEnabled = batchEnabled;
+		return this;
+	}
+	
+	/**
+	 * @return true if CKeditor is loaded with the files needed by the editor
+	 */
+	public boolean isBundleEnabled() {
+		return bundleEnabled;
+	}
+	
+	/**
+	 * Method defining if CKeditor is loaded in a single resource with the 
+	 * files it would request after the page (false by default): the additional
+	 * plugins and the dialogs of the buttons of the toolbar. The editors with
+	 * the same toolbar and plugins share the same resource.
+	 * @param bundleEnabled
+	 * @return the current instance
+	 */
+	public CKeditorBehavior setBundleEnabled(boolean bundleEnabled) {
+		this.bundleEnabled = bundleEnabled;
+		return this;
+	}
+	
+	/**
+	 * @return the instantiation mode of the editor
+	 */
+	public InstantiationMode getInstantiationMode() {
+		return instantiationMode;
+	}
+	
+	/**
+	 * Method defining when the editor is created (at the loading of the page
+	 * by default). Until then, the element is left as it is, so the pages 
+	 * with many editors only create the ones used.
+	 * @param instantiationMode
+	 * @return the current instance
+	 */
+	public CKeditorBehavior setInstantiationMode(InstantiationMode instantiationMode) {
+		if(instantiationMode == null){
+			throw new NullPointerException("instantiationMode cannot be null");
+		}
+		
+		this.instantiationMode = instantiationMode;
+		return this;
+	}
+	
+	/**
+	 * @return true if the language strings are loaded with the page
+	 */
+	public boolean isLanguagePackEnabled() {
+		return languagePackEnabled;
+	}
+	
+	/**
+	 * Method defining if the language strings of the editor and of its plugins
+	 * are loaded with the page, in a single resource (false by default). The
+	 * language is then resolved on the server, with the locale of the session
+	 * instead of the language of the browser, so it is left to the 
+	 * applications choosing it.
+	 * @param languagePackEnabled
+	 * @return the current instance
+	 */
+	public CKeditorBehavior setLanguagePackEnabled(boolean languagePackEnabled) {
+		this.languagePackEnabled = languagePackEnabled;
+		return this;
+	}
+	
+	/**
+	 * @return true if the options of the profile are served as a configuration
+	 * file
+	 */
+	public boolean isProfileConfigEnabled() {
+		return profileConfigEnabled;
+	}
+	
+	/**
+	 * Method defining if the options of the {@link CKeditorProfile} are served
+	 * as a configuration file, kept by the browsers, instead of the default
+	 * <code>config.js</code> (false by default). The page then only holds the 
+	 * options modified on this behavior. It has no effect without profile, 
+	 * or when the customConfig option is set.
+	 * @param profileConfigEnabled
+	 * @return the current instance
+	 */
+	public CKeditorBehavior setProfileConfigEnabled(boolean profileConfigEnabled) {
+		this.profileConfigEnabled = profileConfigEnabled;
+		return this;
+	}
+	
+	/**
+	 * @return true if the options equal to the CKeditor defaults are not rendered
+	 */
+	public boolean isDefaultOptionsElided() {
+		return options.isDefaultsElided();
+	}
+	
+	/**
+	 * Method defining if the options equal to the CKeditor defaults are 
+	 * rendered (false by default). When elided, an option explicitly set to 
+	 * its default value is not written into the page.
+	 * @param defaultOptionsElided
+	 * @return the current instance
+	 */
+	public CKeditorBehavior setDefaultOptionsElided(boolean defaultOptionsElided) {
+		options.setDefaultsElided(defaultOptionsElided);
+		return this;
+	}
+	
+	/**
+	 * @return the options shared with the facades
+	 */
+	CKeditorOptions getOptions() {
 		return options;
 	}
-
+	
 	/**
 	 * {@inheritDoc}
 	 * @see org.apache.wicket.behavior.AbstractBehavior#onComponentTag(org.apache.wicket.Component, org.apache.wicket.markup.ComponentTag)
@@ -173,15 +544,113 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 			throw new MarkupException("The jQuery CKeditor behavior needs a textarea");
 		}
 	}
-
+	
+	/**
+	 * {@inheritDoc}
+	 * @see org.apache.wicket.behavior.AbstractBehavior#renderHead(org.apache.wicket.markup.html.IHeaderResponse)
+	 */
+	@Override
+	public void renderHead(IHeaderResponse response) {
+		super.renderHead(response);
+		
+		// The exported resources are served by the front web server
+		CKeditorExport export = CKeditorExport.get();
+		if(export != null){
+			for(JavascriptResourceReference reference : getResources()) {
+				// The bundles are exported on their first use
+				export.export(reference);
+				response.renderJavascriptReference(export.getUrl(reference));
+			}
+		}
+		
+		// A compiled toolbar is declared once per page, whatever the number of editors
+		CKeditorCompiledToolbar compiledToolbar = options.getCompiledToolbar();
+		if(compiledToolbar != null){
+			response.renderJavascript(compiledToolbar.getDeclaration(), 
+					compiledToolbar.getName());
+		}
+		
+		// A batched configuration is declared once per page, whatever the number 
+		// of editors. It is evaluated when the editor is created, after CKeditor.
+		if(batchEnabled){
+			String configuration = getJavaScriptConfiguration();
+			String name = options.getConfigurationName();
+			response.renderJavascript(CONFIGS_VARIABLE + " = " + CONFIGS_VARIABLE + " || {}; " 
+					+ CONFIGS_VARIABLE + "." + name + " = function(){return " + configuration + ";};", name);
+		}
+	}
+	
+	/**
+	 * @return the javascript configuration of the editor, kept by the options
+	 * with its name (see {@link CKeditorOptions#getConfigurationName()})
+	 */
+	private String getJavaScriptConfiguration() {
+		CKeditorProfileConfig.Reference profileConfig = getProfileConfig();
+		String language = null;
+		
+		if(isLanguagePackUsed()){
+			// Without language, CKeditor would detect the one of the browser 
+			// and load it, whatever the loaded language pack
+			language = options.getLiteral(CKeditorOptionKey.LANGUAGE);
+			language = language == null || language.length() == 0 ? getEffectiveLanguage() : null;
+		}
+		
+		return options.getJavaScriptConfiguration(profileConfig == null ? 
+				null : profileConfig.getPath(), language);
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 * @see org.odlabs.wiquery.core.behavior.WiQueryAbstractBehavior#statement()
 	 */
 	@Override
 	public JsStatement statement() {
-		return new JsQuery(getComponent()).$().chain("ckeditor", 
-				options.getJavaScriptOptions());
+		String configuration = getJavaScriptConfiguration();
+		String name = batchEnabled || instanceReuseEnabled ? options.getConfigurationName() : null;
+		JsStatement statement = getCreationStatement(configuration, name);
+		
+		if(isReused()){
+			// The editor is only created if the former one cannot be reused
+			return new JsQuery(getComponent()).$().chain("ckeditorReuse", 
+					JsUtils.quotes(name), "function(){" + statement.render() + "}");
+		}
+		
+		return statement;
+	}
+	
+	/**
+	 * @param configuration Javascript configuration of the editor
+	 * @param name Name of the configuration (null if the editor is neither 
+	 * batched nor reused)
+	 * @return the statement creating the editor
+	 */
+	private JsStatement getCreationStatement(String configuration, String name) {
+		JsStatement query = new JsQuery(getComponent()).$();
+		
+		if(instanceReuseEnabled){
+			// The configuration is recorded for the next Ajax re-render
+			query.chain("data", JsUtils.quotes("ckeditorReuse"), JsUtils.quotes(name));
+		}
+		
+		if(asyncLoadingEnabled){
+			// The configuration is evaluated once CKeditor is loaded
+			return query.chain("ckeditorAsync", getEditorUrls(), 
+					JsUtils.quotes(instantiationMode.toString()), batchEnabled ? JsUtils.quotes(name) : 
+							"function(){return " + configuration + ";}");
+		}
+		
+		if(batchEnabled){
+			// The configuration is declared with the head, once per page
+			return query.chain("ckeditorBatch", JsUtils.quotes(name), 
+					JsUtils.quotes(instantiationMode.toString()));
+		}
+		
+		if(instantiationMode == InstantiationMode.EAGER){
+			return query.chain("ckeditor", configuration);
+		}
+		
+		return query.chain("ckeditorLazy", 
+				JsUtils.quotes(instantiationMode.toString()), configuration);
 	}
 	
 	/*---- Options section ---*/
@@ -190,11 +659,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the autoUpdateElement option
 	 */
 	public boolean isAutoUpdateElement() {
-		if(options.get("autoUpdateElement") == null){
-			return true;
-		}
-		
-		return options.getBoolean("autoUpdateElement");
+		return options.getBoolean(CKeditorOptionKey.AUTO_UPDATE_ELEMENT, true);
 	}
 	
 	/**
@@ -204,7 +669,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the current instance
 	 */
 	public CKeditorBehavior setAutoUpdateElement(boolean autoUpdateElement) {
-		options.put("autoUpdateElement", autoUpdateElement);
+		options.put(CKeditorOptionKey.AUTO_UPDATE_ELEMENT, autoUpdateElement);
 		return this;
 	}
 	
@@ -212,11 +677,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the baseFloatZIndex option
 	 */
 	public int getBaseFloatZIndex() {
-		if(options.get("baseFloatZIndex") == null){
-			return 10000;
-		}
-		
-		return options.getInt("baseFloatZIndex");
+		return options.getInt(CKeditorOptionKey.BASE_FLOAT_ZINDEX, 10000);
 	}
 	
 	/**
@@ -225,7 +686,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the current instance
 	 */
 	public CKeditorBehavior setBaseFloatZIndex(int baseFloatZIndex) {
-		options.put("baseFloatZIndex", baseFloatZIndex);
+		options.put(CKeditorOptionKey.BASE_FLOAT_ZINDEX, baseFloatZIndex);
 		return this;
 	}
 	
@@ -233,7 +694,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the baseHref option
 	 */
 	public String getBaseHref() {
-		String text = options.getLiteral("baseHref");
+		String text = options.getLiteral(CKeditorOptionKey.BASE_HREF);
 		return text == null ? "" : text;
 	}
 	
@@ -244,7 +705,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the current instance
 	 */
 	public CKeditorBehavior setBasHref(String baseHref) {
-		options.putLiteral("baseHref", baseHref);
+		options.putLiteral(CKeditorOptionKey.BASE_HREF, baseHref);
 		return this;
 	}
 	
@@ -253,7 +714,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 */
 	@SuppressWarnings("unchecked")
 	public ArrayItemOptions<KeyStrokeOption> getBlockedKeyStrokes() {
-		ICollectionItemOptions coll = options.getListItemOptions("blockedKeystrokes");
+		ICollectionItemOptions coll = options.getListItemOptions(CKeditorOptionKey.BLOCKED_KEYSTROKES);
 		
 		if(coll == null){
 			ArrayItemOptions<KeyStrokeOption> arr = new ArrayItemOptions<KeyStrokeOption>();
@@ -272,7 +733,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the current instance
 	 */
 	public CKeditorBehavior setBlockedKeyStrokes(ArrayItemOptions<KeyStrokeOption> blockedKeystrokes) {
-		options.put("blockedKeystrokes", blockedKeystrokes);
+		options.put(CKeditorOptionKey.BLOCKED_KEYSTROKES, blockedKeystrokes);
 		return this;
 	}
 	
@@ -280,7 +741,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the bodyClass option
 	 */
 	public String getBodyClass() {
-		String text = options.getLiteral("bodyClass");
+		String text = options.getLiteral(CKeditorOptionKey.BODY_CLASS);
 		return text == null ? "" : text;
 	}
 	
@@ -291,7 +752,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the current instance
 	 */
 	public CKeditorBehavior setBodyClass(String bodyClass) {
-		options.putLiteral("bodyClass", bodyClass);
+		options.putLiteral(CKeditorOptionKey.BODY_CLASS, bodyClass);
 		return this;
 	}
 	
@@ -299,7 +760,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the bodyId option
 	 */
 	public String getBodyId() {
-		String text = options.getLiteral("bodyId");
+		String text = options.getLiteral(CKeditorOptionKey.BODY_ID);
 		return text == null ? "" : text;
 	}
 	
@@ -310,7 +771,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the current instance
 	 */
 	public CKeditorBehavior setBodyId(String bodyId) {
-		options.putLiteral("bodyId", bodyId);
+		options.putLiteral(CKeditorOptionKey.BODY_ID, bodyId);
 		return this;
 	}
 	
@@ -318,11 +779,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the browserContextMenuOnCtrl option
 	 */
 	public boolean isBrowserContextMenuOnCtrl() {
-		if(options.get("browserContextMenuOnCtrl") == null){
-			return true;
-		}
-		
-		return options.getBoolean("browserContextMenuOnCtrl");
+		return options.getBoolean(CKeditorOptionKey.BROWSER_CONTEXT_MENU_ON_CTRL, true);
 	}
 	
 	/**
@@ -331,7 +788,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the current instance
 	 */
 	public CKeditorBehavior setBrowserContextMenuOnCtrl(boolean browserContextMenuOnCtrl) {
-		options.put("browserContextMenuOnCtrl", browserContextMenuOnCtrl);
+		options.put(CKeditorOptionKey.BROWSER_CONTEXT_MENU_ON_CTRL, browserContextMenuOnCtrl);
 		return this;
 	}
 	
@@ -339,7 +796,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the customConfig option
 	 */
 	public String getCustomConfig() {
-		String text = options.getLiteral("customConfig");
+		String text = options.getLiteral(CKeditorOptionKey.CUSTOM_CONFIG);
 		return text == null ? "<CKEditor folder>/config.js" : text;
 	}
 	
@@ -350,7 +807,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the current instance
 	 */
 	public CKeditorBehavior setCustomConfig(String customConfig) {
-		options.putLiteral("customConfig", customConfig);
+		options.putLiteral(CKeditorOptionKey.CUSTOM_CONFIG, customConfig);
 		return this;
 	}
 	
@@ -359,6 +816,10 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the options
 	 */
 	public Dialog getDialog() {
+		if(dialog == null){
+			dialog = new Dialog(options);
+		}
+		
 		return dialog;
 	}
 	
@@ -366,11 +827,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the disableNativeTableHandles option
 	 */
 	public boolean isDisableNativeTableHandles() {
-		if(options.get("disableNativeTableHandles") == null){
-			return true;
-		}
-		
-		return options.getBoolean("disableNativeTableHandles");
+		return options.getBoolean(CKeditorOptionKey.DISABLE_NATIVE_TABLE_HANDLES, true);
 	}
 	
 	/**
@@ -381,7 +838,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the current instance
 	 */
 	public CKeditorBehavior setDisableNativeTableHandles(boolean disableNativeTableHandles) {
-		options.put("disableNativeTableHandles", disableNativeTableHandles);
+		options.put(CKeditorOptionKey.DISABLE_NATIVE_TABLE_HANDLES, disableNativeTableHandles);
 		return this;
 	}
 	
@@ -389,7 +846,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the docType option
 	 */
 	public String getDocType() {
-		String text = options.getLiteral("docType");
+		String text = options.getLiteral(CKeditorOptionKey.DOC_TYPE);
 		return text == null ? "<!DOCTYPE html PUBLIC \"-//W3C//DTD XHTML 1.0 Transitional//EN\" \"http://www.w3.org/TR/xhtml1/DTD/xhtml1-transitional.dtd\">" : text;
 	}
 	
@@ -399,7 +856,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the current instance
 	 */
 	public CKeditorBehavior setDocType(String docType) {
-		options.putLiteral("docType", docType);
+		options.putLiteral(CKeditorOptionKey.DOC_TYPE, docType);
 		return this;
 	}
 	
@@ -407,11 +864,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the editingBlock option
 	 */
 	public boolean isEditingBlock() {
-		if(options.get("editingBlock") == null){
-			return true;
-		}
-		
-		return options.getBoolean("editingBlock");
+		return options.getBoolean(CKeditorOptionKey.EDITING_BLOCK, true);
 	}
 	
 	/**
@@ -420,7 +873,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the current instance
 	 */
 	public CKeditorBehavior setEditingBlock(boolean editingBlock) {
-		options.put("editingBlock", editingBlock);
+		options.put(CKeditorOptionKey.EDITING_BLOCK, editingBlock);
 		return this;
 	}
 	
@@ -428,7 +881,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the elementsPath_filters option
 	 */
 	public ElementPathListOptions getElementsPathFilters() {
-		Object object = options.get("elementsPath_filters");
+		Object object = options.getComplexOption(CKeditorOptionKey.ELEMENTS_PATH_FILTERS);
 		return object == null ? new ElementPathListOptions() : (ElementPathListOptions) object;
 	}
 	
@@ -439,7 +892,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the current instance
 	 */
 	public CKeditorBehavior setElementsPathFilters(ElementPathListOptions elementsPath_filters) {
-		options.put("elementsPath_filters", elementsPath_filters);
+		options.put(CKeditorOptionKey.ELEMENTS_PATH_FILTERS, elementsPath_filters);
 		return this;
 	}
 	
@@ -447,7 +900,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the emailProtection option
 	 */
 	public String getEmailProtection() {
-		String text = options.getLiteral("emailProtection");
+		String text = options.getLiteral(CKeditorOptionKey.EMAIL_PROTECTION);
 		return text == null ? "" : text;
 	}
 	
@@ -459,7 +912,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the current instance
 	 */
 	public CKeditorBehavior setEmailProtection(String emailProtection) {
-		options.putLiteral("emailProtection", emailProtection);
+		options.putLiteral(CKeditorOptionKey.EMAIL_PROTECTION, emailProtection);
 		return this;
 	}
 	
@@ -467,11 +920,8 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the enterMode option
 	 */
 	public EnterMode getEnterMode() {
-		if(options.get("enterMode") == null){
-			return EnterMode.P;
-		}
-		
-		return EnterMode.valueOf(options.get("enterMode").toUpperCase());
+		String value = options.getString(CKeditorOptionKey.ENTER_MODE);
+		return value == null ? EnterMode.P : EnterMode.valueOf(value.toUpperCase());
 	}
 	
 	/**Method to define the enter mode
@@ -479,7 +929,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the current instance
 	 */
 	public CKeditorBehavior setEnterMode(EnterMode enterMode) {
-		options.put("enterMode", enterMode.toString().toLowerCase());
+		options.put(CKeditorOptionKey.ENTER_MODE, enterMode.toString().toLowerCase());
 		return this;
 	}
 	
@@ -487,7 +937,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the extraPlugins option
 	 */
 	public String getExtraPlugins() {
-		String text = options.getLiteral("extraPlugins");
+		String text = options.getLiteral(CKeditorOptionKey.EXTRA_PLUGINS);
 		return text == null ? "myplugin,anotherplugin" : text;
 	}
 	
@@ -497,7 +947,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the current instance
 	 */
 	public CKeditorBehavior setExtraPlugins(String extraPlugins) {
-		options.putLiteral("extraPlugins", extraPlugins);
+		options.putLiteral(CKeditorOptionKey.EXTRA_PLUGINS, extraPlugins);
 		return this;
 	}
 	
@@ -506,6 +956,10 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the options
 	 */
 	public FileBrowser getFileBrowser() {
+		if(fileBrowser == null){
+			fileBrowser = new FileBrowser(options);
+		}
+		
 		return fileBrowser;
 	}
 	
@@ -513,7 +967,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the find_highlight option
 	 */
 	public StyleOption getFindHighLight() {
-		return (StyleOption) options.getComplexOption("find_highlight");
+		return (StyleOption) options.getComplexOption(CKeditorOptionKey.FIND_HIGHLIGHT);
 	}
 	
 	/**
@@ -523,7 +977,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the current instance
 	 */
 	public CKeditorBehavior setFindHighLight(StyleOption find_highlight) {
-		options.put("find_highlight", find_highlight);
+		options.put(CKeditorOptionKey.FIND_HIGHLIGHT, find_highlight);
 		return this;
 	}
 	
@@ -532,6 +986,10 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the options
 	 */
 	public Font getFont() {
+		if(font == null){
+			font = new Font(options);
+		}
+		
 		return font;
 	}
 	
@@ -540,6 +998,10 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the options
 	 */
 	public Format getFormat() {
+		if(format == null){
+			format = new Format(options);
+		}
+		
 		return format;
 	}
 	
@@ -547,11 +1009,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the htmlEncodeOutput option
 	 */
 	public boolean isHtmlEncodeOutput() {
-		if(options.get("htmlEncodeOutput") == null){
-			return false;
-		}
-		
-		return options.getBoolean("htmlEncodeOutput");
+		return options.getBoolean(CKeditorOptionKey.HTML_ENCODE_OUTPUT, false);
 	}
 	
 	/**
@@ -560,7 +1018,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the current instance
 	 */
 	public CKeditorBehavior setHtmlEncodeOutput(boolean htmlEncodeOutput) {
-		options.put("htmlEncodeOutput", htmlEncodeOutput);
+		options.put(CKeditorOptionKey.HTML_ENCODE_OUTPUT, htmlEncodeOutput);
 		return this;
 	}
 	
@@ -568,11 +1026,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the ignoreEmptyParagraph option
 	 */
 	public boolean isIgnoreEmptyParagraph() {
-		if(options.get("ignoreEmptyParagraph") == null){
-			return true;
-		}
-		
-		return options.getBoolean("ignoreEmptyParagraph");
+		return options.getBoolean(CKeditorOptionKey.IGNORE_EMPTY_PARAGRAPH, true);
 	}
 	
 	/**
@@ -582,7 +1036,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the current instance
 	 */
 	public CKeditorBehavior setIgnoreEmptyParagraph(boolean ignoreEmptyParagraph) {
-		options.put("ignoreEmptyParagraph", ignoreEmptyParagraph);
+		options.put(CKeditorOptionKey.IGNORE_EMPTY_PARAGRAPH, ignoreEmptyParagraph);
 		return this;
 	}
 	
@@ -591,7 +1045,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 */
 	@SuppressWarnings("unchecked")
 	public ArrayItemOptions<CommandKeyStrokeOption> getKeyStrokes() {
-		ICollectionItemOptions coll = options.getListItemOptions("keystrokes");
+		ICollectionItemOptions coll = options.getListItemOptions(CKeditorOptionKey.KEYSTROKES);
 		
 		if(coll == null){
 			ArrayItemOptions<CommandKeyStrokeOption> arr = new ArrayItemOptions<CommandKeyStrokeOption>();
@@ -618,7 +1072,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the current instance
 	 */
 	public CKeditorBehavior setKeyStrokes(ArrayItemOptions<CommandKeyStrokeOption> keystrokes) {
-		options.put("keystrokes", keystrokes);
+		options.put(CKeditorOptionKey.KEYSTROKES, keystrokes);
 		return this;
 	}
 	
@@ -627,6 +1081,10 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the options
 	 */
 	public Locale getLocale() {
+		if(locale == null){
+			locale = new Locale(options);
+		}
+		
 		return locale;
 	}
 	
@@ -634,7 +1092,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the menu_groups option
 	 */
 	public String getMenuGroups() {
-		String text = options.getLiteral("menu_groups");
+		String text = options.getLiteral(CKeditorOptionKey.MENU_GROUPS);
 		return text == null ? "clipboard,form,tablecell,tablecellproperties,tablerow,tablecolumn,table,anchor,link,image,flash,checkbox,radio,textfield,hiddenfield,imagebutton,button,select,textarea" : text;
 	}
 	
@@ -646,7 +1104,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the current instance
 	 */
 	public CKeditorBehavior setMenuGroups(String menu_groups) {
-		options.putLiteral("menu_groups", menu_groups);
+		options.putLiteral(CKeditorOptionKey.MENU_GROUPS, menu_groups);
 		return this;
 	}
 	
@@ -654,11 +1112,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the menu_subMenuDelay option
 	 */
 	public int getMenuSubMenuDelay() {
-		if(options.get("menu_subMenuDelay") == null){
-			return 400;
-		}
-		
-		return options.getInt("menu_subMenuDelay");
+		return options.getInt(CKeditorOptionKey.MENU_SUB_MENU_DELAY, 400);
 	}
 	
 	/**
@@ -669,7 +1123,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the current instance
 	 */
 	public CKeditorBehavior setMenuSubMenuDelay(int menu_subMenuDelay) {
-		options.put("menu_subMenuDelay", menu_subMenuDelay);
+		options.put(CKeditorOptionKey.MENU_SUB_MENU_DELAY, menu_subMenuDelay);
 		return this;
 	}
 	
@@ -677,7 +1131,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the newpage_html option
 	 */
 	public String getNewPageHtml() {
-		String text = options.getLiteral("newpage_html");
+		String text = options.getLiteral(CKeditorOptionKey.NEWPAGE_HTML);
 		return text == null ? "" : text;
 	}
 	
@@ -688,7 +1142,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the current instance
 	 */
 	public CKeditorBehavior setNewPageHtml(String newpage_html) {
-		options.putLiteral("newpage_html", newpage_html);
+		options.putLiteral(CKeditorOptionKey.NEWPAGE_HTML, newpage_html);
 		return this;
 	}
 	
@@ -697,6 +1151,10 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the options
 	 */
 	public Paste getPaste() {
+		if(paste == null){
+			paste = new Paste(options);
+		}
+		
 		return paste;
 	}
 	
@@ -705,6 +1163,10 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the options
 	 */
 	public Picture getPicture() {
+		if(picture == null){
+			picture = new Picture(options);
+		}
+		
 		return picture;
 	}
 	
@@ -713,7 +1175,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 */
 	@SuppressWarnings("unchecked")
 	public ArrayItemOptions<RegExpOption> getProtectedSource() {
-		ICollectionItemOptions coll = options.getListItemOptions("protectedSource");
+		ICollectionItemOptions coll = options.getListItemOptions(CKeditorOptionKey.PROTECTED_SOURCE);
 		
 		return coll == null ? new ArrayItemOptions<RegExpOption>() : 
 			(ArrayItemOptions<RegExpOption>) coll;
@@ -725,7 +1187,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the current instance
 	 */
 	public CKeditorBehavior setProtectedSource(ArrayItemOptions<RegExpOption> protectedSource) {
-		options.put("protectedSource", protectedSource);
+		options.put(CKeditorOptionKey.PROTECTED_SOURCE, protectedSource);
 		return this;
 	}
 	
@@ -733,7 +1195,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the removePlugins option
 	 */
 	public ListOptions getRemovePlugins() {
-		Object object = options.getComplexOption("removePlugins");
+		Object object = options.getComplexOption(CKeditorOptionKey.REMOVE_PLUGINS);
 		
 		if(object == null){
 			return ListOptions.asList("elementspath", "save", "font");
@@ -748,7 +1210,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the current instance
 	 */
 	public CKeditorBehavior setRemovePlugins(ListOptions removePlugins) {
-		options.put("removePlugins", removePlugins);
+		options.put(CKeditorOptionKey.REMOVE_PLUGINS, removePlugins);
 		return this;
 	}
 	
@@ -756,11 +1218,8 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the shiftEnterMode option
 	 */
 	public EnterMode getShiftEnterMode() {
-		if(options.get("shiftEnterMode") == null){
-			return EnterMode.P;
-		}
-		
-		return EnterMode.valueOf(options.get("shiftEnterMode").toUpperCase());
+		String value = options.getString(CKeditorOptionKey.SHIFT_ENTER_MODE);
+		return value == null ? EnterMode.P : EnterMode.valueOf(value.toUpperCase());
 	}
 	
 	/**Method to define the enter mode
@@ -768,7 +1227,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the current instance
 	 */
 	public CKeditorBehavior setShiftEnterMode(EnterMode shiftEnterMode) {
-		options.put("shiftEnterMode", shiftEnterMode.toString().toLowerCase());
+		options.put(CKeditorOptionKey.SHIFT_ENTER_MODE, shiftEnterMode.toString().toLowerCase());
 		return this;
 	}
 	
@@ -776,11 +1235,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the startupFocus option
 	 */
 	public boolean isStartupFocus() {
-		if(options.get("startupFocus") == null){
-			return false;
-		}
-		
-		return options.getBoolean("startupFocus");
+		return options.getBoolean(CKeditorOptionKey.STARTUP_FOCUS, false);
 	}
 	
 	/**
@@ -789,7 +1244,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the current instance
 	 */
 	public CKeditorBehavior setStartupFocus(boolean startupFocus) {
-		options.put("startupFocus", startupFocus);
+		options.put(CKeditorOptionKey.STARTUP_FOCUS, startupFocus);
 		return this;
 	}
 	
@@ -797,11 +1252,8 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the toolbarLocation option
 	 */
 	public StartupMode getStartupMode() {
-		if(options.get("startupMode") == null){
-			return StartupMode.WYSIWYG;
-		}
-		
-		return StartupMode.valueOf(options.get("startupMode").toUpperCase());
+		String value = options.getString(CKeditorOptionKey.STARTUP_MODE);
+		return value == null ? StartupMode.WYSIWYG : StartupMode.valueOf(value.toUpperCase());
 	}
 	
 	/**Method to define the mode to load at the editor startup
@@ -809,7 +1261,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the current instance
 	 */
 	public CKeditorBehavior setStartupMode(StartupMode startupMode) {
-		options.put("startupMode", startupMode.toString().toLowerCase());
+		options.put(CKeditorOptionKey.STARTUP_MODE, startupMode.toString().toLowerCase());
 		return this;
 	}
 	
@@ -818,6 +1270,10 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the options
 	 */
 	public StyleSheet getStyleSheet() {
+		if(stylesheet == null){
+			stylesheet = new StyleSheet(options);
+		}
+		
 		return stylesheet;
 	}
 	
@@ -825,11 +1281,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the startupOutlineBlocks option
 	 */
 	public boolean isStartupOutlineBlocks() {
-		if(options.get("startupOutlineBlocks") == null){
-			return true;
-		}
-		
-		return options.getBoolean("startupOutlineBlocks");
+		return options.getBoolean(CKeditorOptionKey.STARTUP_OUTLINE_BLOCKS, true);
 	}
 	
 	/**
@@ -838,7 +1290,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the current instance
 	 */
 	public CKeditorBehavior setStartupOutlineBlocks(boolean startupOutlineBlocks) {
-		options.put("startupOutlineBlocks", startupOutlineBlocks);
+		options.put(CKeditorOptionKey.STARTUP_OUTLINE_BLOCKS, startupOutlineBlocks);
 		return this;
 	}
 	
@@ -846,11 +1298,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the tabIndex option
 	 */
 	public int getTabIndex() {
-		if(options.get("tabIndex") == null){
-			return 0;
-		}
-		
-		return options.getInt("tabIndex");
+		return options.getInt(CKeditorOptionKey.TAB_INDEX, 0);
 	}
 	
 	/**
@@ -859,7 +1307,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the current instance
 	 */
 	public CKeditorBehavior setTabIndex(int tabIndex) {
-		options.put("tabIndex", tabIndex);
+		options.put(CKeditorOptionKey.TAB_INDEX, tabIndex);
 		return this;
 	}
 	
@@ -867,11 +1315,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the tabSpaces option
 	 */
 	public int getTabSpaces() {
-		if(options.get("tabSpaces") == null){
-			return 0;
-		}
-		
-		return options.getInt("tabSpaces");
+		return options.getInt(CKeditorOptionKey.TAB_SPACES, 0);
 	}
 	
 	/**
@@ -882,7 +1326,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the current instance
 	 */
 	public CKeditorBehavior setTabSpaces(int tabSpaces) {
-		options.put("tabSpaces", tabSpaces);
+		options.put(CKeditorOptionKey.TAB_SPACES, tabSpaces);
 		return this;
 	}
 	
@@ -890,18 +1334,20 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the toolbar option
 	 */
 	public CKeditorToolbar getToolbar() {
-		Object toolbar = options.getComplexOption("toolbar");
+		Object toolbar = options.getComplexOption(CKeditorOptionKey.TOOLBAR);
 		return toolbar == null ? 
 				new CKeditorToolbar(CKeditorToolbar.ToolbarType.FULL) : (CKeditorToolbar) toolbar;
 	}
 	
 	/**
-	 * Method setting the elements in the toolbar
+	 * Method setting the elements in the toolbar. Custom toolbars are compiled 
+	 * with the {@link CKeditorToolbarCompiler} when the options are rendered,
+	 * so equal toolbars share a single definition.
 	 * @param toolbar
 	 * @return the current instance
 	 */
 	public CKeditorBehavior setToolbar(CKeditorToolbar toolbar) {
-		options.put("toolbar", toolbar);
+		options.put(CKeditorOptionKey.TOOLBAR, toolbar);
 		return this;
 	}
 	
@@ -909,11 +1355,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the toolbarCanCollapse option
 	 */
 	public boolean isToolbarCanCollapse() {
-		if(options.get("toolbarCanCollapse") == null){
-			return true;
-		}
-		
-		return options.getBoolean("toolbarCanCollapse");
+		return options.getBoolean(CKeditorOptionKey.TOOLBAR_CAN_COLLAPSE, true);
 	}
 	
 	/**
@@ -923,7 +1365,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the current instance
 	 */
 	public CKeditorBehavior setToolbarCanCollapse(boolean toolbarCanCollapse) {
-		options.put("toolbarCanCollapse", toolbarCanCollapse);
+		options.put(CKeditorOptionKey.TOOLBAR_CAN_COLLAPSE, toolbarCanCollapse);
 		return this;
 	}
 	
@@ -931,11 +1373,8 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the toolbarLocation option
 	 */
 	public ToolbarLocation getToolbarLocation() {
-		if(options.get("toolbarLocation") == null){
-			return ToolbarLocation.TOP;
-		}
-		
-		return ToolbarLocation.valueOf(options.get("toolbarLocation").toUpperCase());
+		String value = options.getString(CKeditorOptionKey.TOOLBAR_LOCATION);
+		return value == null ? ToolbarLocation.TOP : ToolbarLocation.valueOf(value.toUpperCase());
 	}
 	
 	/**Method to define the position of the toolbar
@@ -943,7 +1382,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the current instance
 	 */
 	public CKeditorBehavior setToolbarLocation(ToolbarLocation toolbarLocation) {
-		options.put("toolbarLocation", toolbarLocation.toString().toLowerCase());
+		options.put(CKeditorOptionKey.TOOLBAR_LOCATION, toolbarLocation.toString().toLowerCase());
 		return this;
 	}
 	
@@ -951,11 +1390,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the undoStackSize option
 	 */
 	public int getUndoStackSize() {
-		if(options.get("undoStackSize") == null){
-			return 20;
-		}
-		
-		return options.getInt("undoStackSize");
+		return options.getInt(CKeditorOptionKey.UNDO_STACK_SIZE, 20);
 	}
 	
 	/**
@@ -965,7 +1400,7 @@ public class CKeditorBehavior extends WiQueryAbstractBehavior {
 	 * @return the current instance
 	 */
 	public CKeditorBehavior setUndoStackSize(int undoStackSize) {
-		options.put("undoStackSize", undoStackSize);
+		options.put(CKeditorOptionKey.UNDO_STACK_SIZE, undoStackSize);
 		return this;
 	}
 	
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2009 WiQuery team
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.odlabs.wiquery.plugins.ckeditor;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.odlabs.wiquery.core.javascript.JsUtils;
+
+/**
+ * $Id: CKeditorDefaults.java roche.jul $
+ * 
+ * <p>
+ * 	Table of the default values of the CKeditor 3.2 configuration, as they are
+ * 	rendered by the {@link CKeditorOptions}. Used to elide the options which
+ * 	are equal to their default value.
+ * </p>
+ * 
+ * <p>
+ * 	Only the options whose default is known for sure are listed: an option
+ * 	missing from this table is always rendered. Each default is checked 
+ * 	against the sources of the shipped CKeditor by the tests.
+ * </p>
+ * 
+ * @author Julien Roche
+ * @since 1.1
+ */
+final class CKeditorDefaults {
+	// Constants
+	/** Default values, by option */
+	private static final Map<CKeditorOptionKey, String> DEFAULTS;
+	
+	static {
+		Map<CKeditorOptionKey, String> defaults = 
+			new EnumMap<CKeditorOptionKey, String>(CKeditorOptionKey.class);
+		
+		// Behavior
+		defaults.put(CKeditorOptionKey.AUTO_UPDATE_ELEMENT, "true");
+		defaults.put(CKeditorOptionKey.BASE_FLOAT_ZINDEX, "10000");
+		defaults.put(CKeditorOptionKey.BASE_HREF, JsUtils.quotes(""));
+		defaults.put(CKeditorOptionKey.BODY_CLASS, JsUtils.quotes(""));
+		defaults.put(CKeditorOptionKey.BODY_ID, JsUtils.quotes(""));
+		defaults.put(CKeditorOptionKey.BROWSER_CONTEXT_MENU_ON_CTRL, "true");
+		defaults.put(CKeditorOptionKey.DISABLE_NATIVE_TABLE_HANDLES, "true");
+		defaults.put(CKeditorOptionKey.DOC_TYPE, JsUtils.quotes("<!DOCTYPE html PUBLIC \"-//W3C//DTD XHTML 1.0 Transitional//EN\" \"http://www.w3.org/TR/xhtml1/DTD/xhtml1-transitional.dtd\">"));
+		defaults.put(CKeditorOptionKey.EDITING_BLOCK, "true");
+		defaults.put(CKeditorOptionKey.EMAIL_PROTECTION, JsUtils.quotes(""));
+		defaults.put(CKeditorOptionKey.IGNORE_EMPTY_PARAGRAPH, "true");
+		defaults.put(CKeditorOptionKey.MENU_SUB_MENU_DELAY, "400");
+		defaults.put(CKeditorOptionKey.NEWPAGE_HTML, JsUtils.quotes(""));
+		defaults.put(CKeditorOptionKey.STARTUP_FOCUS, "false");
+		defaults.put(CKeditorOptionKey.STARTUP_OUTLINE_BLOCKS, "false");
+		defaults.put(CKeditorOptionKey.TAB_INDEX, "0");
+		defaults.put(CKeditorOptionKey.TAB_SPACES, "0");
+		defaults.put(CKeditorOptionKey.TOOLBAR, JsUtils.quotes("Full"));
+		defaults.put(CKeditorOptionKey.TOOLBAR_CAN_COLLAPSE, "true");
+		defaults.put(CKeditorOptionKey.TOOLBAR_STARTUP_EXPANDED, "true");
+		defaults.put(CKeditorOptionKey.UNDO_STACK_SIZE, "20");
+		
+		// Dialog
+		defaults.put(CKeditorOptionKey.DIALOG_BACKGROUND_COVER_COLOR, JsUtils.quotes("white"));
+		defaults.put(CKeditorOptionKey.DIALOG_BACKGROUND_COVER_OPACITY, "0.5");
+		defaults.put(CKeditorOptionKey.DIALOG_MAGNET_DISTANCE, "20");
+		defaults.put(CKeditorOptionKey.DIALOG_STARTUP_FOCUS_TAB, "false");
+		
+		// Font
+		defaults.put(CKeditorOptionKey.FONT_SIZE_SIZES, JsUtils.quotes("8/8px;9/9px;10/10px;11/11px;12/12px;14/14px;16/16px;18/18px;20/20px;22/22px;24/24px;26/26px;28/28px;36/36px;48/48px;72/72px"));
+		
+		// Format
+		defaults.put(CKeditorOptionKey.FORMAT_TAGS, JsUtils.quotes("p;h1;h2;h3;h4;h5;h6;pre;address;div"));
+		defaults.put(CKeditorOptionKey.REMOVE_FORMAT_TAGS, JsUtils.quotes("b,big,code,del,dfn,em,font,i,ins,kbd,q,samp,small,span,strike,strong,sub,sup,tt,u,var"));
+		
+		// Locale
+		defaults.put(CKeditorOptionKey.CONTENTS_LANG_DIRECTION, JsUtils.quotes("ltr"));
+		defaults.put(CKeditorOptionKey.DEFAULT_LANGUAGE, JsUtils.quotes("en"));
+		defaults.put(CKeditorOptionKey.DISABLE_NATIVE_SPELL_CHECKER, "true");
+		defaults.put(CKeditorOptionKey.ENTITIES_GREEK, "true");
+		defaults.put(CKeditorOptionKey.ENTITIES_LATIN, "true");
+		defaults.put(CKeditorOptionKey.ENTITIES_PROCESS_NUMERICAL, "false");
+		defaults.put(CKeditorOptionKey.LANGUAGE, JsUtils.quotes(""));
+		
+		// Paste
+		defaults.put(CKeditorOptionKey.FORCE_PASTE_AS_PLAIN_TEXT, "false");
+		defaults.put(CKeditorOptionKey.PASTE_FROM_WORD_REMOVE_FONT_STYLES, "true");
+		defaults.put(CKeditorOptionKey.PASTE_FROM_WORD_REMOVE_STYLES, "true");
+		
+		// Picture
+		defaults.put(CKeditorOptionKey.IMAGE_REMOVE_LINK_BY_EMPTY_URL, "true");
+		
+		// StyleSheet
+		defaults.put(CKeditorOptionKey.COLOR_BUTTON_COLORS, JsUtils.quotes("000,800000,8B4513,2F4F4F,008080,000080,4B0082,696969,B22222,A52A2A,DAA520,006400,40E0D0,0000CD,800080,808080,F00,FF8C00,FFD700,008000,0FF,00F,EE82EE,A9A9A9,FFA07A,FFA500,FFFF00,00FF00,AFEEEE,ADD8E6,DDA0DD,D3D3D3,FFF0F5,FAEBD7,FFFFE0,F0FFF0,F0FFFF,F0F8FF,E6E6FA,FFF"));
+		defaults.put(CKeditorOptionKey.COLOR_BUTTON_ENABLE_MORE, "true");
+		defaults.put(CKeditorOptionKey.STYLES_COMBO_STYLES_SET, JsUtils.quotes("default"));
+		defaults.put(CKeditorOptionKey.TEMPLATES, JsUtils.quotes("default"));
+		defaults.put(CKeditorOptionKey.TEMPLATES_REPLACE_CONTENT, "true");
+		defaults.put(CKeditorOptionKey.THEME, JsUtils.quotes("default"));
+		
+		DEFAULTS = defaults;
+	}
+	
+	/**
+	 * Method retrieving the javascript representation of the default value
+	 * of an option
+	 * @param key Option
+	 * @return the representation, or <code>null</code> if the default is unknown
+	 */
+	static String getDefault(CKeditorOptionKey key) {
+		return DEFAULTS.get(key);
+	}
+	
+	/**
+	 * Method checking if the value of an option, rendered at the end of the 
+	 * buffer, is its default value. The buffer is compared in place, without 
+	 * extracting the rendered value.
+	 * @param key Option
+	 * @param buffer Buffer containing the rendered value
+	 * @param start Index of the value into the buffer
+	 * @return true if the value is the default one
+	 */
+	static boolean isDefault(CKeditorOptionKey key, StringBuffer buffer, int start) {
+		String defaultValue = DEFAULTS.get(key);
+		
+		if(defaultValue == null || buffer.length() - start != defaultValue.length()){
+			return false;
+		}
+		
+		for(int i = 0; i < defaultValue.length(); i++){
+			if(buffer.charAt(start + i) != defaultValue.charAt(i)){
+				return false;
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Constructor
+	 */
+	private CKeditorDefaults() {
+		super();
+	}
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2009 WiQuery team
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.odlabs.wiquery.plugins.ckeditor;
+
+/**
+ * $Id: CKeditorOptionKey.java roche.jul $
+ * 
+ * <p>
+ * 	Enumeration of the CKeditor options known by the {@link CKeditorBehavior}
+ * 	and its facades, with the type of their value.
+ * </p>
+ * 
+ * <p>
+ * 	Each key has a slot into the storage of its type into the 
+ * 	{@link CKeditorOptions}: a bit for the booleans, an index into an array 
+ * 	for the other types. The ordinal of the keys is used by the serialized 
+ * 	form of the {@link CKeditorOptions}: new keys must be added at the end.
+ * </p>
+ * 
+ * @author Julien Roche
+ * @since 1.1
+ */
+enum CKeditorOptionKey {
+	AUTO_UPDATE_ELEMENT					("autoUpdateElement", Type.BOOLEAN),
+	BASE_FLOAT_ZINDEX					("baseFloatZIndex", Type.INTEGER),
+	BASE_HREF							("baseHref", Type.LITERAL),
+	BLOCKED_KEYSTROKES					("blockedKeystrokes", Type.LIST),
+	BODY_CLASS							("bodyClass", Type.LITERAL),
+	BODY_ID								("bodyId", Type.LITERAL),
+	BROWSER_CONTEXT_MENU_ON_CTRL		("browserContextMenuOnCtrl", Type.BOOLEAN),
+	COLOR_BUTTON_BACK_STYLE				("colorButton_backStyle", Type.COMPLEX),
+	COLOR_BUTTON_COLORS					("colorButton_colors", Type.COMPLEX),
+	COLOR_BUTTON_ENABLE_MORE			("colorButton_enableMore", Type.BOOLEAN),
+	COLOR_BUTTON_FORE_STYLE				("colorButton_foreStyle", Type.COMPLEX),
+	CONTENTS_CSS						("contentsCss", Type.LIST),
+	CONTENTS_LANG_DIRECTION				("contentsLangDirection", Type.LITERAL),
+	CORE_STYLES_BOLD					("coreStyles_bold", Type.COMPLEX),
+	CORE_STYLES_ITALIC					("coreStyles_italic", Type.COMPLEX),
+	CORE_STYLES_STRIKE					("coreStyles_strike", Type.COMPLEX),
+	CORE_STYLES_SUBSCRIPT				("coreStyles_subscript", Type.COMPLEX),
+	CORE_STYLES_SUPERSCRIPT				("coreStyles_superscript", Type.COMPLEX),
+	CORE_STYLES_UNDERLINE				("coreStyles_underline", Type.COMPLEX),
+	CUSTOM_CONFIG						("customConfig", Type.LITERAL),
+	DEFAULT_LANGUAGE					("defaultLanguage", Type.LITERAL),
+	DIALOG_BACKGROUND_COVER_COLOR		("dialog_backgroundCoverColor", Type.LITERAL),
+	DIALOG_BACKGROUND_COVER_OPACITY		("dialog_backgroundCoverOpacity", Type.FLOAT),
+	DIALOG_MAGNET_DISTANCE				("dialog_magnetDistance", Type.INTEGER),
+	DIALOG_STARTUP_FOCUS_TAB			("dialog_startupFocusTab", Type.BOOLEAN),
+	DISABLE_NATIVE_SPELL_CHECKER		("disableNativeSpellChecker", Type.BOOLEAN),
+	DISABLE_NATIVE_TABLE_HANDLES		("disableNativeTableHandles", Type.BOOLEAN),
+	DISABLE_OBJECT_RESIZING				("disableObjectResizing", Type.BOOLEAN),
+	DOC_TYPE							("docType", Type.LITERAL),
+	EDITING_BLOCK						("editingBlock", Type.BOOLEAN),
+	ELEMENTS_PATH_FILTERS				("elementsPath_filters", Type.COMPLEX),
+	EMAIL_PROTECTION					("emailProtection", Type.LITERAL),
+	ENTER_MODE							("enterMode", Type.STRING),
+	ENTITIES_GREEK						("entities_greek", Type.BOOLEAN),
+	ENTITIES_LATIN						("entities_latin", Type.BOOLEAN),
+	ENTITIES_PROCESS_NUMERICAL			("entities_processNumerical", Type.BOOLEAN),
+	EXTRA_PLUGINS						("extraPlugins", Type.LITERAL),
+	FILEBROWSER_BROWSE_URL				("filebrowserBrowseUrl", Type.LITERAL),
+	FILEBROWSER_FLASH_BROWSE_URL		("filebrowserFlashBrowseUrl", Type.LITERAL),
+	FILEBROWSER_FLASH_UPLOAD_URL		("filebrowserFlashUploadUrl", Type.LITERAL),
+	FILEBROWSER_IMAGE_BROWSE_LINK_URL	("filebrowserImageBrowseLinkUrl", Type.LITERAL),
+	FILEBROWSER_IMAGE_BROWSE_URL		("filebrowserImageBrowseUrl", Type.LITERAL),
+	FILEBROWSER_IMAGE_UPLOAD_URL		("filebrowserImageUploadUrl", Type.LITERAL),
+	FILEBROWSER_UPLOAD_URL				("filebrowserUploadUrl", Type.LITERAL),
+	FIND_HIGHLIGHT						("find_highlight", Type.COMPLEX),
+	FONT_DEFAULT_LABEL					("font_defaultLabel", Type.LITERAL),
+	FONT_NAMES							("font_names", Type.LITERAL),
+	FONT_STYLE							("font_style", Type.COMPLEX),
+	FONT_SIZE_DEFAULT_LABEL				("fontSize_defaultLabel", Type.LITERAL),
+	FONT_SIZE_SIZES						("fontSize_sizes", Type.LITERAL),
+	FONT_SIZE_STYLE						("fontSize_style", Type.COMPLEX),
+	FORCE_PASTE_AS_PLAIN_TEXT			("forcePasteAsPlainText", Type.BOOLEAN),
+	FORMAT_ADDRESS						("format_address", Type.COMPLEX),
+	FORMAT_DIV							("format_div", Type.COMPLEX),
+	FORMAT_P							("format_p", Type.COMPLEX),
+	FORMAT_PRE							("format_pre", Type.COMPLEX),
+	FORMAT_TAGS							("format_tags", Type.LITERAL),
+	FULL_PAGE							("fullPage", Type.BOOLEAN),
+	HEIGHT								("height", Type.COMPLEX),
+	HTML_ENCODE_OUTPUT					("htmlEncodeOutput", Type.BOOLEAN),
+	IGNORE_EMPTY_PARAGRAPH				("ignoreEmptyParagraph", Type.BOOLEAN),
+	IMAGE_PREVIEW_TEXT					("image_previewText", Type.LITERAL),
+	IMAGE_REMOVE_LINK_BY_EMPTY_URL		("image_removeLinkByEmptyURL", Type.BOOLEAN),
+	KEYSTROKES							("keystrokes", Type.LIST),
+	LANGUAGE							("language", Type.LITERAL),
+	MENU_GROUPS							("menu_groups", Type.LITERAL),
+	MENU_SUB_MENU_DELAY					("menu_subMenuDelay", Type.INTEGER),
+	NEWPAGE_HTML						("newpage_html", Type.LITERAL),
+	PASTE_FROM_WORD_CLEANUP_FILE		("pasteFromWordCleanupFile", Type.LITERAL),
+	PASTE_FROM_WORD_PROMPT_CLEANUP		("pasteFromWordPromptCleanup", Type.BOOLEAN),
+	PASTE_FROM_WORD_REMOVE_FONT_STYLES	("pasteFromWordRemoveFontStyles", Type.BOOLEAN),
+	PASTE_FROM_WORD_REMOVE_STYLES		("pasteFromWordRemoveStyles", Type.BOOLEAN),
+	PROTECTED_SOURCE					("protectedSource", Type.LIST),
+	REMOVE_FORMAT_TAGS					("removeFormatTags", Type.COMPLEX),
+	REMOVE_PLUGINS						("removePlugins", Type.COMPLEX),
+	RESIZE_ENABLED						("resize_enabled", Type.BOOLEAN),
+	RESIZE_MAX_HEIGHT					("resize_maxHeight", Type.INTEGER),
+	RESIZE_MAX_WIDTH					("resize_maxWidth", Type.INTEGER),
+	SHIFT_ENTER_MODE					("shiftEnterMode", Type.STRING),
+	SKIN								("skin", Type.LITERAL),
+	SMILEY_DESCRIPTIONS					("smiley_descriptions", Type.LIST),
+	SMILEY_IMAGES						("smiley_images", Type.LIST),
+	SMILEY_PATH							("smiley_path", Type.LITERAL),
+	STARTUP_FOCUS						("startupFocus", Type.BOOLEAN),
+	STARTUP_MODE						("startupMode", Type.STRING),
+	STARTUP_OUTLINE_BLOCKS				("startupOutlineBlocks", Type.BOOLEAN),
+	STYLES_COMBO_STYLES_SET				("stylesCombo_stylesSet", Type.LITERAL),
+	STYLES_SET							("stylesSet", Type.LITERAL),
+	TAB_INDEX							("tabIndex", Type.INTEGER),
+	TAB_SPACES							("tabSpaces", Type.INTEGER),
+	TEMPLATES							("templates", Type.LITERAL),
+	TEMPLATES_FILES						("templates_files", Type.LIST),
+	TEMPLATES_REPLACE_CONTENT			("templates_replaceContent", Type.BOOLEAN),
+	THEME								("theme", Type.LITERAL),
+	TOOLBAR								("toolbar", Type.COMPLEX),
+	TOOLBAR_CAN_COLLAPSE				("toolbarCanCollapse", Type.BOOLEAN),
+	TOOLBAR_LOCATION					("toolbarLocation", Type.STRING),
+	TOOLBAR_STARTUP_EXPANDED			("toolbarStartupExpanded", Type.BOOLEAN),
+	UNDO_STACK_SIZE						("undoStackSize", Type.INTEGER),
+	WIDTH								("width", Type.COMPLEX),
+	FORMAT_H1							("format_h1", Type.COMPLEX),
+	FORMAT_H2							("format_h2", Type.COMPLEX),
+	FORMAT_H3							("format_h3", Type.COMPLEX),
+	FORMAT_H4							("format_h4", Type.COMPLEX),
+	FORMAT_H5							("format_h5", Type.COMPLEX),
+	FORMAT_H6							("format_h6", Type.COMPLEX);
+	
+	/**
+	 * Enumeration of the types of the options
+	 * @author Julien Roche
+	 * @since 1.1
+	 */
+	enum Type {
+		/** Boolean, stored into a bit set */
+		BOOLEAN,
+		/** {@link org.odlabs.wiquery.core.options.IComplexOption}, stored into the objects */
+		COMPLEX,
+		/** Float, stored into an array of floats */
+		FLOAT,
+		/** Integer, stored into an array of integers */
+		INTEGER,
+		/** {@link org.odlabs.wiquery.core.options.ICollectionItemOptions}, stored into the objects */
+		LIST,
+		/** String rendered quoted, stored into the objects */
+		LITERAL,
+		/** String rendered as is, stored into the objects */
+		STRING;
+	}
+	
+	// Constants
+	/** Number of boolean slots */
+	static final int BOOLEAN_SLOTS;
+	
+	/** Number of float slots */
+	static final int FLOAT_SLOTS;
+	
+	/** Number of integer slots */
+	static final int INTEGER_SLOTS;
+	
+	/** Number of object slots */
+	static final int OBJECT_SLOTS;
+	
+	static {
+		int booleanSlots = 0;
+		int floatSlots = 0;
+		int integerSlots = 0;
+		int objectSlots = 0;
+		
+		for(CKeditorOptionKey key : values()){
+			switch(key.getType()) {
+				case BOOLEAN:
+					key.slot = booleanSlots++;
+					break;
+				case FLOAT:
+					key.slot = floatSlots++;
+					break;
+				case INTEGER:
+					key.slot = integerSlots++;
+					break;
+				default:
+					key.slot = objectSlots++;
+					break;
+			}
+		}
+		
+		if(booleanSlots > Long.SIZE){
+			throw new IllegalStateException("The boolean options must fit into a long");
+		}
+		
+		BOOLEAN_SLOTS = booleanSlots;
+		FLOAT_SLOTS = floatSlots;
+		INTEGER_SLOTS = integerSlots;
+		OBJECT_SLOTS = objectSlots;
+	}
+	
+	// Properties
+	private final String key;
+	private int slot;
+	private final Type type;
+	
+	/**
+	 * Constructor
+	 * @param key Name of the option
+	 * @param type Type of the value
+	 */
+	CKeditorOptionKey(String key, Type type) {
+		this.key = key;
+		this.type = type;
+	}
+	
+	/**
+	 * @return the name of the option
+	 */
+	String getKey() {
+		return key;
+	}
+	
+	/**
+	 * @return the index of the option into the storage of its type
+	 */
+	int getSlot() {
+		return slot;
+	}
+	
+	/**
+	 * @return the type of the value
+	 */
+	Type getType() {
+		return type;
+	}
+}
@@ -0,0 +1,950 @@
+/*
+ * Copyright (c) 2009 WiQuery team
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.odlabs.wiquery.plugins.ckeditor;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.Serializable;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+
+import org.apache.wicket.util.lang.Objects;
+import org.odlabs.wiquery.core.javascript.JsUtils;
+import org.odlabs.wiquery.core.options.ICollectionItemOptions;
+import org.odlabs.wiquery.core.options.IComplexOption;
+import org.odlabs.wiquery.core.options.Options;
+import org.odlabs.wiquery.plugins.ckeditor.CKeditorOptionKey.Type;
+import org.odlabs.wiquery.plugins.ckeditor.options.IAppendableOption;
+import org.odlabs.wiquery.plugins.ckeditor.options.toolbar.CKeditorCompiledToolbar;
+import org.odlabs.wiquery.plugins.ckeditor.options.toolbar.CKeditorToolbar;
+import org.odlabs.wiquery.plugins.ckeditor.options.toolbar.CKeditorToolbarCompiler;
+import org.odlabs.wiquery.plugins.ckeditor.resource.CKeditorAsset;
+
+/**
+ * $Id: CKeditorOptions.java roche.jul $
+ * 
+ * <p>
+ * 	Options of a CKeditor, shared between the {@link CKeditorBehavior} and its
+ * 	facades ({@link Dialog}, {@link Font}, {@link Format} ...).
+ * </p>
+ * 
+ * <p>
+ * 	The options are keyed by {@link CKeditorOptionKey} and stored by type: 
+ * 	the booleans into a bit set, the integers and the floats into arrays, 
+ * 	the other values into an array of objects. The options unknown to the 
+ * 	behavior are held by a wiQuery {@link Options} (see 
+ * 	{@link CKeditorBehavior#getCKeditorOptions()}).
+ * </p>
+ * 
+ * <p>
+ * 	The javascript representation, and the configuration of the editor with
+ * 	its name, are computed once and kept until one of the options is 
+ * 	modified. Complex options and lists are mutable objects, so
+ * 	retrieving one of them also invalidates the javascript representation.
+ * 	All the options are written into a single buffer, the 
+ * 	{@link IAppendableOption} ones directly. A custom toolbar is compiled 
+ * 	when it is rendered (see {@link CKeditorToolbarCompiler}).
+ * </p>
+ * 
+ * <p>
+ * 	When the options are based on a {@link CKeditorProfile}, only the options
+ * 	modified on this instance are held, the other ones are read from the
+ * 	profile. A complex option or a list read from the profile is copied
+ * 	into this instance, so the profile is never modified.
+ * </p>
+ * 
+ * <p>
+ * 	When the default options are elided, the options equal to the CKeditor 
+ * 	defaults (see {@link CKeditorDefaults}) are not rendered.
+ * </p>
+ * 
+ * <p>
+ * 	The options are serialized in a compact form (see {@link SerializedForm}), 
+ * 	written once per stream even if they are shared by several facades.
+ * </p>
+ * 
+ * @author Julien Roche
+ * @since 1.1
+ */
+public final class CKeditorOptions implements Serializable {
+	/**
+	 * Compact serialized form of the {@link CKeditorOptions}:
+	 * <ul>
+	 * 	<li>a byte of flags, followed by the name of the profile and the
+	 * 	unknown options if any</li>
+	 * 	<li>the set of the defined options, as variable length longs</li>
+	 * 	<li>the bit set of the booleans, as a variable length long</li>
+	 * 	<li>the other defined values, by order of key: the integers as 
+	 * 	variable length integers, the floats as is, the strings and the 
+	 * 	objects with their default serialization (so the identical strings
+	 * 	of several editors are written once)</li>
+	 * </ul>
+	 * @author Julien Roche
+	 * @since 1.1
+	 */
+	private static final class SerializedForm implements Externalizable {
+		// Constants
+		/** Constant of serialization */
+		private static final long serialVersionUID = -1745066358923461875L;
+		
+		/** Flag: the defaults are elided */
+		private static final int FLAG_ELIDED = 1;
+		/** Flag: the options are frozen */
+		private static final int FLAG_FROZEN = 2;
+		/** Flag: the options are based on a profile */
+		private static final int FLAG_PROFILE = 4;
+		/** Flag: some options were defined with {@link CKeditorOptions#getOptions()} */
+		private static final int FLAG_EXTRA = 8;
+		
+		/**
+		 * Method reading a variable length long
+		 * @param in
+		 * @return the long
+		 * @throws IOException
+		 */
+		private static long readVarLong(ObjectInput in) throws IOException {
+			long value = 0;
+			int shift = 0;
+			int b;
+			
+			do {
+				b = in.readUnsignedByte();
+				value |= (long) (b & 0x7F) << shift;
+				shift += 7;
+			} while((b & 0x80) != 0);
+			
+			return value;
+		}
+		
+		/**
+		 * Method writing a variable length long (7 bits by byte)
+		 * @param out
+		 * @param value
+		 * @throws IOException
+		 */
+		private static void writeVarLong(ObjectOutput out, long value) throws IOException {
+			while((value & ~0x7FL) != 0){
+				out.writeByte((int) (value & 0x7F) | 0x80);
+				value >>>= 7;
+			}
+			
+			out.writeByte((int) value);
+		}
+		
+		// Properties
+		private CKeditorOptions options;
+		
+		/**
+		 * Default constructor, used by the deserialization
+		 */
+		public SerializedForm() {
+			super();
+		}
+		
+		/**
+		 * Constructor
+		 * @param options Options to serialize
+		 */
+		SerializedForm(CKeditorOptions options) {
+			super();
+			this.options = options;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 * @see java.io.Externalizable#readExternal(java.io.ObjectInput)
+		 */
+		public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+			int flags = in.readUnsignedByte();
+			options = new CKeditorOptions((flags & FLAG_PROFILE) != 0 ? in.readUTF() : null);
+			options.defaultsElided = (flags & FLAG_ELIDED) != 0;
+			
+			if((flags & FLAG_EXTRA) != 0){
+				options.extraOptions = (Options) in.readObject();
+			}
+			
+			for(int i = 0; i < options.defined.length; i++){
+				options.defined[i] = readVarLong(in);
+			}
+			
+			options.booleans = readVarLong(in);
+			
+			for(CKeditorOptionKey key : KEYS) {
+				if(!options.isDefined(key)){
+					continue;
+				}
+				
+				switch(key.getType()) {
+					case BOOLEAN:
+						// Into the bit set
+						break;
+					case FLOAT:
+						options.getFloats()[key.getSlot()] = in.readFloat();
+						break;
+					case INTEGER:
+						int zigzag = (int) readVarLong(in);
+						options.getInts()[key.getSlot()] = (zigzag >>> 1) ^ -(zigzag & 1);
+						break;
+					default:
+						options.getObjects()[key.getSlot()] = in.readObject();
+						break;
+				}
+			}
+			
+			options.frozen = (flags & FLAG_FROZEN) != 0;
+		}
+		
+		/**
+		 * @return the deserialized options
+		 */
+		private Object readResolve() {
+			return options;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 * @see java.io.Externalizable#writeExternal(java.io.ObjectOutput)
+		 */
+		public void writeExternal(ObjectOutput out) throws IOException {
+			int flags = (options.defaultsElided ? FLAG_ELIDED : 0)
+				| (options.frozen ? FLAG_FROZEN : 0)
+				| (options.profileName != null ? FLAG_PROFILE : 0)
+				| (options.extraOptions != null ? FLAG_EXTRA : 0);
+			out.writeByte(flags);
+			
+			if(options.profileName != null){
+				out.writeUTF(options.profileName);
+			}
+			
+			if(options.extraOptions != null){
+				out.writeObject(options.extraOptions);
+			}
+			
+			for(long word : options.defined) {
+				writeVarLong(out, word);
+			}
+			
+			writeVarLong(out, options.booleans);
+			
+			for(CKeditorOptionKey key : KEYS) {
+				if(!options.isDefined(key)){
+					continue;
+				}
+				
+				switch(key.getType()) {
+					case BOOLEAN:
+						// Into the bit set
+						break;
+					case FLOAT:
+						out.writeFloat(options.floats[key.getSlot()]);
+						break;
+					case INTEGER:
+						int integer = options.ints[key.getSlot()];
+						writeVarLong(out, ((integer << 1) ^ (integer >> 31)) & 0xFFFFFFFFL);
+						break;
+					default:
+						out.writeObject(options.objects[key.getSlot()]);
+						break;
+				}
+			}
+		}
+	}
+	
+	// Constants
+	/** Known keys, by ordinal */
+	private static final CKeditorOptionKey[] KEYS = CKeditorOptionKey.values();
+	
+	/** Constant of serialization */
+	private static final long serialVersionUID = -3317404593441745806L;
+	
+	// Properties
+	private long booleans;
+	private boolean defaultsElided;
+	private final long[] defined;
+	private Options extraOptions;
+	private float[] floats;
+	private boolean frozen;
+	private int[] ints;
+	private Object[] objects;
+	private final String profileName;
+	private transient CKeditorCompiledToolbar compiledToolbar;
+	private transient String configuration;
+	private transient String configurationKey;
+	private transient String configurationName;
+	private transient String javascriptOptions;
+	private transient String javascriptOverrides;
+	private transient CKeditorOptions profileOptions;
+	
+	/**
+	 * Default constructor
+	 */
+	CKeditorOptions() {
+		this(null);
+	}
+	
+	/**
+	 * Constructor
+	 * @param profileName Name of the {@link CKeditorProfile} to use (can be null)
+	 */
+	CKeditorOptions(String profileName) {
+		super();
+		defined = new long[(KEYS.length + Long.SIZE - 1) / Long.SIZE];
+		this.profileName = profileName;
+	}
+	
+	/**
+	 * Method appending the javascript representation of an option defined on
+	 * this instance
+	 * @param buffer
+	 * @param key
+	 */
+	private void appendValue(StringBuffer buffer, CKeditorOptionKey key) {
+		switch(key.getType()) {
+			case BOOLEAN:
+				buffer.append((booleans & (1L << key.getSlot())) != 0);
+				break;
+			case FLOAT:
+				buffer.append(floats[key.getSlot()]);
+				break;
+			case INTEGER:
+				buffer.append(ints[key.getSlot()]);
+				break;
+			case LITERAL:
+				buffer.append(JsUtils.quotes((String) objects[key.getSlot()]));
+				break;
+			case STRING:
+				buffer.append(objects[key.getSlot()]);
+				break;
+			case LIST:
+				buffer.append(((ICollectionItemOptions) objects[key.getSlot()]).getJavascriptOption());
+				break;
+			default:
+				Object value = objects[key.getSlot()];
+				
+				if(value instanceof CKeditorToolbar && ((CKeditorToolbar) value).getToolbar() != null){
+					// The definition is declared once per page, and referenced by its name
+					compiledToolbar = CKeditorToolbarCompiler.compile(((CKeditorToolbar) value).getToolbar());
+					value = compiledToolbar;
+				}
+				
+				if(value instanceof IAppendableOption){
+					((IAppendableOption) value).appendJavascriptOption(buffer);
+					
+				} else {
+					buffer.append(((IComplexOption) value).getJavascriptOption());
+				}
+				break;
+		}
+	}
+	
+	/**
+	 * Method checking that the options can be modified
+	 */
+	private void checkModifiable() {
+		if(frozen){
+			throw new UnsupportedOperationException("The options of a profile cannot be modified");
+		}
+	}
+	
+	/**
+	 * Method checking the type of an option
+	 * @param key
+	 * @param type Expected type
+	 */
+	private void checkType(CKeditorOptionKey key, Type type) {
+		if(key.getType() != type){
+			throw new IllegalArgumentException("The option " + key.getKey() + " is not of type " + type);
+		}
+	}
+	
+	/**
+	 * @param key
+	 * @return true if the option is defined on this instance or on its profile
+	 */
+	boolean contains(CKeditorOptionKey key) {
+		return isDefined(key) || (getProfileOptions() != null && profileOptions.contains(key));
+	}
+	
+	/**
+	 * Method marking an option as defined on this instance
+	 * @param key
+	 */
+	private void define(CKeditorOptionKey key) {
+		defined[key.ordinal() / Long.SIZE] |= 1L << key.ordinal();
+		invalidate();
+	}
+	
+	/**
+	 * Method creating an unmodifiable copy of these options, with a computed
+	 * javascript representation
+	 * @return the copy
+	 */
+	CKeditorOptions freeze() {
+		if(profileName != null){
+			throw new IllegalArgumentException("Options based on a profile cannot be used to define a profile");
+		}
+		
+		CKeditorOptions copy = (CKeditorOptions) Objects.cloneObject(this);
+		copy.getJavaScriptOptions();
+		copy.frozen = true;
+		return copy;
+	}
+	
+	/**
+	 * Method retrieving a boolean option
+	 * @param key
+	 * @param defaultValue Value returned if the option is not defined
+	 * @return the value
+	 */
+	boolean getBoolean(CKeditorOptionKey key, boolean defaultValue) {
+		checkType(key, Type.BOOLEAN);
+		
+		if(isDefined(key)){
+			return (booleans & (1L << key.getSlot())) != 0;
+		}
+		
+		return getProfileOptions() == null ? defaultValue : profileOptions.getBoolean(key, defaultValue);
+	}
+	
+	/**
+	 * Method retrieving a complex option. As the returned instance can be
+	 * modified, the javascript representation is invalidated.
+	 * @param key
+	 * @return the value, or <code>null</code> if the option was not set
+	 */
+	IComplexOption getComplexOption(CKeditorOptionKey key) {
+		checkType(key, Type.COMPLEX);
+		IComplexOption complexOption = (IComplexOption) getObject(key);
+		
+		if(complexOption != null && !frozen){
+			if(!isDefined(key)){
+				// Copy of the option of the profile
+				complexOption = (IComplexOption) Objects.cloneObject(complexOption);
+				put(key, complexOption);
+			}
+			
+			invalidate();
+		}
+		
+		return complexOption;
+	}
+	
+	/**
+	 * @return the compiled custom toolbar referenced by the javascript 
+	 * representation, or <code>null</code>
+	 */
+	CKeditorCompiledToolbar getCompiledToolbar() {
+		getJavaScriptOptions();
+		
+		if(compiledToolbar == null && !isDefined(CKeditorOptionKey.TOOLBAR) && getProfileOptions() != null){
+			return profileOptions.getCompiledToolbar();
+		}
+		
+		return compiledToolbar;
+	}
+	
+	/**
+	 * @return the name of the configuration last computed by 
+	 * {@link #getJavaScriptConfiguration(String, String)}, from its hash
+	 */
+	String getConfigurationName() {
+		if(configurationName == null && configuration != null){
+			try {
+				configurationName = "config" + CKeditorAsset.digest(
+						ByteBuffer.wrap(configuration.getBytes("UTF-8")));
+				
+			} catch (UnsupportedEncodingException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+		
+		return configurationName;
+	}
+	
+	/**
+	 * Method retrieving a float option
+	 * @param key
+	 * @param defaultValue Value returned if the option is not defined
+	 * @return the value
+	 */
+	float getFloat(CKeditorOptionKey key, float defaultValue) {
+		checkType(key, Type.FLOAT);
+		
+		if(isDefined(key)){
+			return floats[key.getSlot()];
+		}
+		
+		return getProfileOptions() == null ? defaultValue : profileOptions.getFloat(key, defaultValue);
+	}
+	
+	/**
+	 * @return the storage of the floats
+	 */
+	private float[] getFloats() {
+		if(floats == null){
+			floats = new float[CKeditorOptionKey.FLOAT_SLOTS];
+		}
+		
+		return floats;
+	}
+	
+	/**
+	 * Method retrieving an integer option
+	 * @param key
+	 * @param defaultValue Value returned if the option is not defined
+	 * @return the value
+	 */
+	int getInt(CKeditorOptionKey key, int defaultValue) {
+		checkType(key, Type.INTEGER);
+		
+		if(isDefined(key)){
+			return ints[key.getSlot()];
+		}
+		
+		return getProfileOptions() == null ? defaultValue : profileOptions.getInt(key, defaultValue);
+	}
+	
+	/**
+	 * @return the storage of the integers
+	 */
+	private int[] getInts() {
+		if(ints == null){
+			ints = new int[CKeditorOptionKey.INTEGER_SLOTS];
+		}
+		
+		return ints;
+	}
+	
+	/**
+	 * Method computing the javascript configuration of the editor, kept until
+	 * the options are modified or the arguments change
+	 * @param customConfig Path of the configuration file holding the options
+	 * of the profile (null to render them)
+	 * @param language Language set on the editor over its options (can be null)
+	 * @return the configuration
+	 */
+	String getJavaScriptConfiguration(String customConfig, String language) {
+		String key = customConfig + "|" + language;
+		
+		if(configuration == null || !key.equals(configurationKey)){
+			String javascriptConfiguration;
+			
+			if(customConfig == null){
+				javascriptConfiguration = getJavaScriptOptions();
+				
+			} else {
+				// The options of the profile are read from the configuration file
+				String overrides = getJavaScriptOverrides();
+				javascriptConfiguration = overrides.substring(0, overrides.length() - 1) 
+					+ (overrides.length() > 2 ? ", " : "") + CKeditorOptionKey.CUSTOM_CONFIG.getKey() 
+					+ ": " + JsUtils.quotes(customConfig) + "}";
+			}
+			
+			if(language != null){
+				javascriptConfiguration = "jQuery.extend({}, " + javascriptConfiguration 
+					+ ", {language: " + JsUtils.quotes(language) + "})";
+			}
+			
+			configuration = javascriptConfiguration;
+			configurationKey = key;
+			configurationName = null;
+		}
+		
+		return configuration;
+	}
+	
+	/**
+	 * @return the javascript representation of the options
+	 */
+	public String getJavaScriptOptions() {
+		if(javascriptOptions == null){
+			if(getProfileOptions() == null){
+				javascriptOptions = render().toString();
+				
+			} else if(isOverridden()){
+				StringBuffer buffer = render();
+				buffer.insert(0, ", ").insert(0, profileOptions.getJavaScriptOptions());
+				buffer.insert(0, "jQuery.extend({}, ").append(')');
+				javascriptOptions = buffer.toString();
+				
+			} else {
+				javascriptOptions = profileOptions.getJavaScriptOptions();
+			}
+		}
+		
+		return javascriptOptions;
+	}
+	
+	/**
+	 * @return the javascript representation of the options defined on this
+	 * instance, without the ones of the profile
+	 */
+	public String getJavaScriptOverrides() {
+		if(javascriptOverrides == null){
+			javascriptOverrides = render().toString();
+		}
+		
+		return javascriptOverrides;
+	}
+	
+	/**
+	 * Method retrieving a list option. As the returned instance can be
+	 * modified, the javascript representation is invalidated.
+	 * @param key
+	 * @return the value, or <code>null</code> if the option was not set
+	 */
+	ICollectionItemOptions getListItemOptions(CKeditorOptionKey key) {
+		checkType(key, Type.LIST);
+		ICollectionItemOptions collectionItemOptions = (ICollectionItemOptions) getObject(key);
+		
+		if(collectionItemOptions != null && !frozen){
+			if(!isDefined(key)){
+				// Copy of the option of the profile
+				collectionItemOptions = (ICollectionItemOptions) Objects.cloneObject(collectionItemOptions);
+				put(key, collectionItemOptions);
+			}
+			
+			invalidate();
+		}
+		
+		return collectionItemOptions;
+	}
+	
+	/**
+	 * Method retrieving a literal option
+	 * @param key
+	 * @return the value, or <code>null</code> if the option was not set
+	 */
+	String getLiteral(CKeditorOptionKey key) {
+		checkType(key, Type.LITERAL);
+		return (String) getObject(key);
+	}
+	
+	/**
+	 * Method retrieving an option stored into the objects, from this instance 
+	 * or from the profile
+	 * @param key
+	 * @return the value, or <code>null</code> if the option was not set
+	 */
+	private Object getObject(CKeditorOptionKey key) {
+		if(isDefined(key)){
+			return objects[key.getSlot()];
+		}
+		
+		return getProfileOptions() == null ? null : profileOptions.getObject(key);
+	}
+	
+	/**
+	 * @return the storage of the objects
+	 */
+	private Object[] getObjects() {
+		if(objects == null){
+			objects = new Object[CKeditorOptionKey.OBJECT_SLOTS];
+		}
+		
+		return objects;
+	}
+	
+	/**
+	 * Method retrieving the wiQuery {@link Options} holding the options unknown
+	 * to the behavior. They are rendered after the other ones. The caller may 
+	 * modify them, so the javascript representation is invalidated.
+	 * @return the options
+	 */
+	Options getOptions() {
+		checkModifiable();
+		invalidate();
+		
+		if(extraOptions == null){
+			extraOptions = new Options();
+		}
+		
+		return extraOptions;
+	}
+	
+	/**
+	 * @return the options of the profile, or <code>null</code> if there is 
+	 * no profile
+	 */
+	private CKeditorOptions getProfileOptions() {
+		if(profileOptions == null && profileName != null){
+			profileOptions = CKeditorProfile.get(profileName).getOptions();
+		}
+		
+		return profileOptions;
+	}
+	
+	/**
+	 * @return the name of the profile, or <code>null</code> if there is 
+	 * no profile
+	 */
+	public String getProfileName() {
+		return profileName;
+	}
+	
+	/**
+	 * Method retrieving an option rendered as is
+	 * @param key
+	 * @return the value, or <code>null</code> if the option was not set
+	 */
+	String getString(CKeditorOptionKey key) {
+		checkType(key, Type.STRING);
+		return (String) getObject(key);
+	}
+	
+	/**
+	 * Method forgetting the computed javascript representation
+	 */
+	public void invalidate() {
+		compiledToolbar = null;
+		configuration = null;
+		configurationKey = null;
+		configurationName = null;
+		javascriptOptions = null;
+		javascriptOverrides = null;
+	}
+	
+	/**
+	 * @param key
+	 * @return true if the option is defined on this instance
+	 */
+	private boolean isDefined(CKeditorOptionKey key) {
+		return (defined[key.ordinal() / Long.SIZE] & (1L << key.ordinal())) != 0;
+	}
+	
+	/**
+	 * @return true if the options equal to the CKeditor defaults are not rendered
+	 */
+	public boolean isDefaultsElided() {
+		return defaultsElided;
+	}
+	
+	/**
+	 * @return true if an option is defined on this instance
+	 */
+	private boolean isOverridden() {
+		for(long word : defined) {
+			if(word != 0){
+				return true;
+			}
+		}
+		
+		return extraOptions != null;
+	}
+	
+	/**
+	 * Method retrieving a complex option without invalidating the javascript 
+	 * representation. The returned instance must not be modified.
+	 * @param key
+	 * @return the value, or <code>null</code> if the option was not set
+	 */
+	IComplexOption peekComplexOption(CKeditorOptionKey key) {
+		checkType(key, Type.COMPLEX);
+		return (IComplexOption) getObject(key);
+	}
+	
+	/**
+	 * Method putting a boolean option
+	 * @param key
+	 * @param value
+	 * @return the current instance
+	 */
+	CKeditorOptions put(CKeditorOptionKey key, boolean value) {
+		checkModifiable();
+		checkType(key, Type.BOOLEAN);
+		
+		if(value){
+			booleans |= 1L << key.getSlot();
+			
+		} else {
+			booleans &= ~(1L << key.getSlot());
+		}
+		
+		define(key);
+		return this;
+	}
+	
+	/**
+	 * Method putting a list option
+	 * @param key
+	 * @param value Value (the option is removed if null)
+	 * @return the current instance
+	 */
+	CKeditorOptions put(CKeditorOptionKey key, ICollectionItemOptions value) {
+		checkType(key, Type.LIST);
+		return putObject(key, value);
+	}
+	
+	/**
+	 * Method putting a complex option
+	 * @param key
+	 * @param value Value (the option is removed if null)
+	 * @return the current instance
+	 */
+	CKeditorOptions put(CKeditorOptionKey key, IComplexOption value) {
+		checkType(key, Type.COMPLEX);
+		return putObject(key, value);
+	}
+	
+	/**
+	 * Method putting a float option
+	 * @param key
+	 * @param value
+	 * @return the current instance
+	 */
+	CKeditorOptions put(CKeditorOptionKey key, float value) {
+		checkModifiable();
+		checkType(key, Type.FLOAT);
+		getFloats()[key.getSlot()] = value;
+		define(key);
+		return this;
+	}
+	
+	/**
+	 * Method putting an integer option
+	 * @param key
+	 * @param value
+	 * @return the current instance
+	 */
+	CKeditorOptions put(CKeditorOptionKey key, int value) {
+		checkModifiable();
+		checkType(key, Type.INTEGER);
+		getInts()[key.getSlot()] = value;
+		define(key);
+		return this;
+	}
+	
+	/**
+	 * Method putting an option rendered as is (not quoted)
+	 * @param key
+	 * @param value Value (the option is removed if null)
+	 * @return the current instance
+	 */
+	CKeditorOptions put(CKeditorOptionKey key, String value) {
+		checkType(key, Type.STRING);
+		return putObject(key, value);
+	}
+	
+	/**
+	 * Method putting a literal option (rendered quoted)
+	 * @param key
+	 * @param value Value (the option is removed if null)
+	 * @return the current instance
+	 */
+	CKeditorOptions putLiteral(CKeditorOptionKey key, String value) {
+		checkType(key, Type.LITERAL);
+		return putObject(key, value);
+	}
+	
+	/**
+	 * Method putting an option stored into the objects
+	 * @param key
+	 * @param value Value (the option is removed if null)
+	 * @return the current instance
+	 */
+	private CKeditorOptions putObject(CKeditorOptionKey key, Object value) {
+		checkModifiable();
+		
+		if(value == null){
+			if(objects != null){
+				objects[key.getSlot()] = null;
+			}
+			
+			defined[key.ordinal() / Long.SIZE] &= ~(1L << key.ordinal());
+			invalidate();
+			
+		} else {
+			getObjects()[key.getSlot()] = value;
+			define(key);
+		}
+		
+		return this;
+	}
+	
+	/**
+	 * Method rendering the options of this instance (without the profile)
+	 * @return the buffer containing the javascript representation
+	 */
+	private StringBuffer render() {
+		StringBuffer buffer = new StringBuffer();
+		buffer.append('{');
+		
+		boolean first = true;
+		for(CKeditorOptionKey key : KEYS) {
+			if(!isDefined(key)){
+				continue;
+			}
+			
+			int start = buffer.length();
+			
+			if(!first){
+				buffer.append(", ");
+			}
+			
+			buffer.append(key.getKey()).append(": ");
+			int valueStart = buffer.length();
+			appendValue(buffer, key);
+			
+			if(defaultsElided && (getProfileOptions() == null || !profileOptions.contains(key))
+					&& CKeditorDefaults.isDefault(key, buffer, valueStart)){
+				buffer.setLength(start);
+				
+			} else {
+				first = false;
+			}
+		}
+		
+		if(extraOptions != null){
+			// Removing the braces of the literal object rendered by wiQuery
+			String extra = extraOptions.getJavaScriptOptions().toString();
+			extra = extra.substring(extra.indexOf('{') + 1, extra.lastIndexOf('}')).trim();
+			
+			if(extra.length() > 0){
+				buffer.append(first ? "" : ", ").append(extra);
+			}
+		}
+		
+		buffer.append('}');
+		return buffer;
+	}
+	
+	/**
+	 * Method defining if the options equal to the CKeditor defaults are rendered
+	 * @param defaultsElided
+	 * @return the current instance
+	 */
+	public CKeditorOptions setDefaultsElided(boolean defaultsElided) {
+		checkModifiable();
+		this.defaultsElided = defaultsElided;
+		invalidate();
+		return this;
+	}
+	
+	/**
+	 * @return the compact serialized form of the options
+	 */
+	private Object writeReplace() {
+		return new SerializedForm(this);
+	}
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2009 WiQuery team
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.odlabs.wiquery.plugins.ckeditor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.wicket.Application;
+import org.apache.wicket.MetaDataKey;
+import org.odlabs.wiquery.plugins.ckeditor.resource.CKeditorAssets;
+import org.odlabs.wiquery.plugins.ckeditor.resource.CKeditorExport;
+import org.odlabs.wiquery.plugins.ckeditor.resource.CKeditorLanguagePack;
+import org.odlabs.wiquery.plugins.ckeditor.resource.CKeditorProfileConfig;
+import org.odlabs.wiquery.plugins.ckeditor.resource.CKeditorSkin;
+
+/**
+ * $Id: CKeditorProfile.java roche.jul $
+ * 
+ * <p>
+ * 	Immutable configuration of a CKeditor, registered once into the application
+ * 	and shared by all the {@link CKeditorBehavior} created with its name.
+ * </p>
+ * 
+ * <p>
+ * 	Usage, in the <code>init()</code> method of the application:
+ * 	<pre>
+ * 	CKeditorBehavior comment = new CKeditorBehavior();
+ * 	comment.setToolbar(new CKeditorToolbar(ToolbarType.BASIC));
+ * 	CKeditorProfile.register(this, new CKeditorProfile("comment", comment));
+ * 	</pre>
+ * 	and then <code>new CKeditorBehavior("comment")</code> in the pages. The
+ * 	behaviors only hold the name of the profile and the options they modify.
+ * 	The skin and the language of a registered profile (its default language
+ * 	when the language follows the browser) are kept in memory by 
+ * 	{@link CKeditorAssets}, until the profile is replaced.
+ * </p>
+ * 
+ * @author Julien Roche
+ * @since 1.1
+ */
+public final class CKeditorProfile {
+	// Constants
+	/** Key of the registered profiles into the application */
+	private static final MetaDataKey<Map<String, CKeditorProfile>> PROFILES_KEY =
+		new MetaDataKey<Map<String, CKeditorProfile>>() {
+			private static final long serialVersionUID = 1L;
+		};
+	
+	/**
+	 * Method retrieving a profile registered into the current application
+	 * @param name Name of the profile
+	 * @return the profile
+	 */
+	public static CKeditorProfile get(String name) {
+		Map<String, CKeditorProfile> profiles = Application.get().getMetaData(PROFILES_KEY);
+		CKeditorProfile profile = profiles == null ? null : profiles.get(name);
+		
+		if(profile == null){
+			throw new IllegalArgumentException("The CKeditor profile '" + name + "' is not registered");
+		}
+		
+		return profile;
+	}
+	
+	/**
+	 * Method registering a profile into the application, with its 
+	 * configuration file, exported when the application uses an export. A 
+	 * profile with the same name is replaced.
+	 * @param application Application
+	 * @param profile Profile to register
+	 */
+	public static synchronized void register(Application application, CKeditorProfile profile) {
+		Map<String, CKeditorProfile> profiles = application.getMetaData(PROFILES_KEY);
+		
+		if(profiles == null){
+			profiles = new ConcurrentHashMap<String, CKeditorProfile>();
+			application.setMetaData(PROFILES_KEY, profiles);
+		}
+		
+		CKeditorProfile previous = profiles.put(profile.getName(), profile);
+		CKeditorAssets.pin(profile.skinPath);
+		CKeditorAssets.pin(profile.languagePath);
+		
+		if(previous != null){
+			CKeditorAssets.unpin(previous.skinPath);
+			CKeditorAssets.unpin(previous.languagePath);
+		}
+		
+		CKeditorProfileConfig.Reference config = CKeditorProfileConfig.get(application, profile);
+		CKeditorExport export = CKeditorExport.get(application);
+		
+		if(export != null){
+			export.export(config);
+		}
+	}
+	
+	// Properties
+	private final String languagePath;
+	private final String name;
+	private final CKeditorOptions options;
+	private final String skinPath;
+	
+	/**
+	 * Constructor
+	 * @param name Name of the profile
+	 * @param template Behavior defining the options of the profile. The
+	 * options are copied, so later modifications of the template are not
+	 * reported into the profile
+	 */
+	public CKeditorProfile(String name, CKeditorBehavior template) {
+		super();
+		
+		if(name == null){
+			throw new NullPointerException("name cannot be null");
+		}
+		
+		this.name = name;
+		this.options = template.getOptions().freeze();
+		
+		String skin = options.getLiteral(CKeditorOptionKey.SKIN);
+		this.skinPath = CKeditorSkin.getStyleSheetPath(skin == null ? 
+				CKeditorSkin.DEFAULT_SKIN : skin.split(",")[0]);
+		
+		// The pack and the language files are pinned as one group
+		String language = options.getLiteral(CKeditorOptionKey.LANGUAGE);
+		
+		if(language == null || language.length() == 0){
+			language = options.getLiteral(CKeditorOptionKey.DEFAULT_LANGUAGE);
+		}
+		
+		this.languagePath = CKeditorLanguagePack.getPath(language == null ? 
+				CKeditorLanguagePack.DEFAULT_LANGUAGE : language);
+	}
+	
+	/**
+	 * @return the javascript representation of the options
+	 */
+	public String getJavaScriptOptions() {
+		return options.getJavaScriptOptions();
+	}
+	
+	/**
+	 * @return the name
+	 */
+	public String getName() {
+		return name;
+	}
+	
+	/**
+	 * @return the unmodifiable options
+	 */
+	CKeditorOptions getOptions() {
+		return options;
+	}
+}
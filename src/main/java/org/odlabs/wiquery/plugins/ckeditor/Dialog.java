@@ -23,8 +23,6 @@ package org.odlabs.wiquery.plugins.ckeditor;
 
 import java.io.Serializable;
 
-import org.odlabs.wiquery.core.options.Options;
-
 /**
  * $Id: Dialog.java roche.jul $
  * 
@@ -41,13 +39,13 @@ public class Dialog implements Serializable {
 	private static final long serialVersionUID = 2867339666944034372L;
 
 	// Variables
-	private Options options;
+	private CKeditorOptions options;
 	
 	/**
 	 * Default constructor
 	 * @param options Instance of the {@link options}
 	 */
-	protected Dialog(Options options) {
+	protected Dialog(CKeditorOptions options) {
 		super();
 		
 		this.options = options;
@@ -57,7 +55,7 @@ public class Dialog implements Serializable {
 	 * @return the dialog_backgroundCoverColor option
 	 */
 	public String getDialogBackgroundCoverColor() {
-		String text = options.getLiteral("dialog_backgroundCoverColor");
+		String text = options.getLiteral(CKeditorOptionKey.DIALOG_BACKGROUND_COVER_COLOR);
 		return text == null ? "white" : text;
 	}
 	
@@ -65,33 +63,21 @@ public class Dialog implements Serializable {
 	 * @return the dialog_magnetDistance option
 	 */
 	public float getDialogBackgroundCoverOpacity() {
-		if(options.get("dialog_backgroundCoverOpacity") == null){
-			return 0.5F;
-		}
-		
-		return options.getFloat("dialog_backgroundCoverOpacity");
+		return options.getFloat(CKeditorOptionKey.DIALOG_BACKGROUND_COVER_OPACITY, 0.5F);
 	}
 	
 	/**
 	 * @return the dialog_magnetDistance option
 	 */
 	public int getDialogMagnetDistance() {
-		if(options.get("dialog_magnetDistance") == null){
-			return 20;
-		}
-		
-		return options.getInt("dialog_magnetDistance");
+		return options.getInt(CKeditorOptionKey.DIALOG_MAGNET_DISTANCE, 20);
 	}
 	
 	/**
 	 * @return the dialog_startupFocusTab option
 	 */
 	public boolean isDialogStartupFocusTab() {
-		if(options.get("dialog_startupFocusTab") == null){
-			return false;
-		}
-		
-		return options.getBoolean("dialog_startupFocusTab");
+		return options.getBoolean(CKeditorOptionKey.DIALOG_STARTUP_FOCUS_TAB, false);
 	}
 	
 	/**
@@ -101,7 +87,7 @@ public class Dialog implements Serializable {
 	 * @return the current instance
 	 */
 	public Dialog setDialogBackgroundCoverColor(String dialog_backgroundCoverColor) {
-		options.putLiteral("dialog_backgroundCoverColor", dialog_backgroundCoverColor);
+		options.putLiteral(CKeditorOptionKey.DIALOG_BACKGROUND_COVER_COLOR, dialog_backgroundCoverColor);
 		return this;
 	}
 	
@@ -112,7 +98,7 @@ public class Dialog implements Serializable {
 	 * @return the current instance
 	 */
 	public Dialog setDialogBackgroundCoverOpacity(float dialog_backgroundCoverOpacity) {
-		options.put("dialog_backgroundCoverOpacity", dialog_backgroundCoverOpacity);
+		options.put(CKeditorOptionKey.DIALOG_BACKGROUND_COVER_OPACITY, dialog_backgroundCoverOpacity);
 		return this;
 	}
 	
@@ -123,7 +109,7 @@ public class Dialog implements Serializable {
 	 * @return the current instance
 	 */
 	public Dialog setDialogMagnetDistance(int dialog_magnetDistance) {
-		options.put("dialog_magnetDistance", dialog_magnetDistance);
+		options.put(CKeditorOptionKey.DIALOG_MAGNET_DISTANCE, dialog_magnetDistance);
 		return this;
 	}
 	
@@ -133,7 +119,7 @@ public class Dialog implements Serializable {
 	 * @return the current instance
 	 */
 	public Dialog setDialogStartupFocusTab(boolean dialog_startupFocusTab) {
-		options.put("dialog_startupFocusTab", dialog_startupFocusTab);
+		options.put(CKeditorOptionKey.DIALOG_STARTUP_FOCUS_TAB, dialog_startupFocusTab);
 		return this;
 	}
 }
@@ -23,8 +23,6 @@ package org.odlabs.wiquery.plugins.ckeditor;
 
 import java.io.Serializable;
 
-import org.odlabs.wiquery.core.options.Options;
-
 /**
  * $Id: FileBrowser.java roche.jul $
  * 
@@ -41,13 +39,13 @@ public class FileBrowser implements Serializable {
 	private static final long serialVersionUID = -9128796752150643216L;
 	
 	// Variables
-	private Options options;
+	private CKeditorOptions options;
 	
 	/**
 	 * Default constructor
 	 * @param options Instance of the {@link options}
 	 */
-	protected FileBrowser(Options options) {
+	protected FileBrowser(CKeditorOptions options) {
 		super();
 		
 		this.options = options;
@@ -57,7 +55,7 @@ public class FileBrowser implements Serializable {
 	 * @return the filebrowserBrowseUrl option
 	 */
 	public String getFilebrowserBrowseUrl() {
-		String text = options.getLiteral("filebrowserBrowseUrl");
+		String text = options.getLiteral(CKeditorOptionKey.FILEBROWSER_BROWSE_URL);
 		return text == null ? "" : text;
 	}
 	
@@ -65,7 +63,7 @@ public class FileBrowser implements Serializable {
 	 * @return the filebrowserFlashBrowseUrl option
 	 */
 	public String getFilebrowserFlashBrowseUrl() {
-		String text = options.getLiteral("filebrowserFlashBrowseUrl");
+		String text = options.getLiteral(CKeditorOptionKey.FILEBROWSER_FLASH_BROWSE_URL);
 		return text == null ? "" : text;
 	}
 	
@@ -73,7 +71,7 @@ public class FileBrowser implements Serializable {
 	 * @return the filebrowserFlashUploadUrl option
 	 */
 	public String getFilebrowserFlashUploadUrl() {
-		String text = options.getLiteral("filebrowserFlashUploadUrl");
+		String text = options.getLiteral(CKeditorOptionKey.FILEBROWSER_FLASH_UPLOAD_URL);
 		return text == null ? "" : text;
 	}
 	
@@ -81,7 +79,7 @@ public class FileBrowser implements Serializable {
 	 * @return the filebrowserImageBrowseLinkUrl option
 	 */
 	public String getFilebrowserImageBrowseLinkUrl() {
-		String text = options.getLiteral("filebrowserImageBrowseLinkUrl");
+		String text = options.getLiteral(CKeditorOptionKey.FILEBROWSER_IMAGE_BROWSE_LINK_URL);
 		return text == null ? "" : text;
 	}
 	
@@ -89,7 +87,7 @@ public class FileBrowser implements Serializable {
 	 * @return the filebrowserImageBrowseUrl option
 	 */
 	public String getFilebrowserImageBrowseUrl() {
-		String text = options.getLiteral("filebrowserImageBrowseUrl");
+		String text = options.getLiteral(CKeditorOptionKey.FILEBROWSER_IMAGE_BROWSE_URL);
 		return text == null ? "" : text;
 	}
 	
@@ -97,7 +95,7 @@ public class FileBrowser implements Serializable {
 	 * @return the filebrowserImageUploadUrl option
 	 */
 	public String getFilebrowserImageUploadUrl() {
-		String text = options.getLiteral("filebrowserImageUploadUrl");
+		String text = options.getLiteral(CKeditorOptionKey.FILEBROWSER_IMAGE_UPLOAD_URL);
 		return text == null ? "" : text;
 	}
 	
@@ -105,7 +103,7 @@ public class FileBrowser implements Serializable {
 	 * @return the filebrowserUploadUrl option
 	 */
 	public String getFilebrowserUploadUrl() {
-		String text = options.getLiteral("filebrowserUploadUrl");
+		String text = options.getLiteral(CKeditorOptionKey.FILEBROWSER_UPLOAD_URL);
 		return text == null ? "" : text;
 	}
 	
@@ -116,7 +114,7 @@ public class FileBrowser implements Serializable {
 	 * @return the current instance
 	 */
 	public FileBrowser setFilebrowserBrowseLinkUrl(String filebrowserImageBrowseLinkUrl) {
-		options.putLiteral("filebrowserImageBrowseLinkUrl", filebrowserImageBrowseLinkUrl);
+		options.putLiteral(CKeditorOptionKey.FILEBROWSER_IMAGE_BROWSE_LINK_URL, filebrowserImageBrowseLinkUrl);
 		return this;
 	}
 	
@@ -128,7 +126,7 @@ public class FileBrowser implements Serializable {
 	 * @return the current instance
 	 */
 	public FileBrowser setFilebrowserBrowseUrl(String filebrowserBrowseUrl) {
-		options.putLiteral("filebrowserBrowseUrl", filebrowserBrowseUrl);
+		options.putLiteral(CKeditorOptionKey.FILEBROWSER_BROWSE_URL, filebrowserBrowseUrl);
 		return this;
 	}
 	
@@ -139,7 +137,7 @@ public class FileBrowser implements Serializable {
 	 * @return the current instance
 	 */
 	public FileBrowser setFilebrowserFlashBrowseUrl(String filebrowserFlashBrowseUrl) {
-		options.putLiteral("filebrowserFlashBrowseUrl", filebrowserFlashBrowseUrl);
+		options.putLiteral(CKeditorOptionKey.FILEBROWSER_FLASH_BROWSE_URL, filebrowserFlashBrowseUrl);
 		return this;
 	}
 	
@@ -150,7 +148,7 @@ public class FileBrowser implements Serializable {
 	 * @return the current instance
 	 */
 	public FileBrowser setFilebrowserFlashUploadUrl(String filebrowserFlashUploadUrl) {
-		options.putLiteral("filebrowserFlashUploadUrl", filebrowserFlashUploadUrl);
+		options.putLiteral(CKeditorOptionKey.FILEBROWSER_FLASH_UPLOAD_URL, filebrowserFlashUploadUrl);
 		return this;
 	}
 	
@@ -161,7 +159,7 @@ public class FileBrowser implements Serializable {
 	 * @return the current instance
 	 */
 	public FileBrowser setFilebrowserImageBrowsedUrl(String filebrowserImageBrowseUrl) {
-		options.putLiteral("filebrowserImageBrowseUrl", filebrowserImageBrowseUrl);
+		options.putLiteral(CKeditorOptionKey.FILEBROWSER_IMAGE_BROWSE_URL, filebrowserImageBrowseUrl);
 		return this;
 	}
 	
@@ -172,7 +170,7 @@ public class FileBrowser implements Serializable {
 	 * @return the current instance
 	 */
 	public FileBrowser setFilebrowserImageUploadUrl(String filebrowserImageUploadUrl) {
-		options.putLiteral("filebrowserImageUploadUrl", filebrowserImageUploadUrl);
+		options.putLiteral(CKeditorOptionKey.FILEBROWSER_IMAGE_UPLOAD_URL, filebrowserImageUploadUrl);
 		return this;
 	}
 	
@@ -183,7 +181,7 @@ public class FileBrowser implements Serializable {
 	 * @return the current instance
 	 */
 	public FileBrowser setFilebrowserUploadUrl(String filebrowserUploadUrl) {
-		options.putLiteral("filebrowserUploadUrl", filebrowserUploadUrl);
+		options.putLiteral(CKeditorOptionKey.FILEBROWSER_UPLOAD_URL, filebrowserUploadUrl);
 		return this;
 	}
 }
@@ -23,7 +23,6 @@ package org.odlabs.wiquery.plugins.ckeditor;
 
 import java.io.Serializable;
 
-import org.odlabs.wiquery.core.options.Options;
 import org.odlabs.wiquery.plugins.ckeditor.options.StyleOption;
 
 /**
@@ -42,13 +41,13 @@ public class Font implements Serializable {
 	private static final long serialVersionUID = 4562535767008032816L;
 
 	// Variables
-	private Options options;
+	private CKeditorOptions options;
 	
 	/**
 	 * Default constructor
 	 * @param options Instance of the {@link options}
 	 */
-	protected Font(Options options) {
+	protected Font(CKeditorOptions options) {
 		super();
 		
 		this.options = options;
@@ -58,7 +57,7 @@ public class Font implements Serializable {
 	 * @return the font_defaultLabel option
 	 */
 	public String getFontDefaultLabel() {
-		String text = options.getLiteral("font_defaultLabel");
+		String text = options.getLiteral(CKeditorOptionKey.FONT_DEFAULT_LABEL);
 		return text == null ? "Arial" : text;
 	}
 	
@@ -69,7 +68,7 @@ public class Font implements Serializable {
 	 * @return the current instance
 	 */
 	public Font setFontDefaultLabel(String font_defaultLabel) {
-		options.putLiteral("font_defaultLabel", font_defaultLabel);
+		options.putLiteral(CKeditorOptionKey.FONT_DEFAULT_LABEL, font_defaultLabel);
 		return this;
 	}
 	
@@ -77,7 +76,7 @@ public class Font implements Serializable {
 	 * @return the font_names option
 	 */
 	public String getFontNames() {
-		String text = options.getLiteral("font_names");
+		String text = options.getLiteral(CKeditorOptionKey.FONT_NAMES);
 		return text == null ? "Arial;Times New Roman;Verdana" : text;
 	}
 	
@@ -88,7 +87,7 @@ public class Font implements Serializable {
 	 * @return the current instance
 	 */
 	public Font setFontNames(String font_names) {
-		options.putLiteral("font_names", font_names);
+		options.putLiteral(CKeditorOptionKey.FONT_NAMES, font_names);
 		return this;
 	}
 	
@@ -96,7 +95,7 @@ public class Font implements Serializable {
 	 * @return the font_style option
 	 */
 	public StyleOption getFontStyle() {
-		return (StyleOption) options.getComplexOption("font_style");
+		return (StyleOption) options.getComplexOption(CKeditorOptionKey.FONT_STYLE);
 	}
 	
 	/**
@@ -106,7 +105,7 @@ public class Font implements Serializable {
 	 * @return the current instance
 	 */
 	public Font setFontStyle(StyleOption font_style) {
-		options.put("font_style", font_style);
+		options.put(CKeditorOptionKey.FONT_STYLE, font_style);
 		return this;
 	}
 	
@@ -114,7 +113,7 @@ public class Font implements Serializable {
 	 * @return the fontSize_defaultLabel option
 	 */
 	public String getFontSizeDefaultLabel() {
-		String text = options.getLiteral("fontSize_defaultLabel");
+		String text = options.getLiteral(CKeditorOptionKey.FONT_SIZE_DEFAULT_LABEL);
 		return text == null ? "12px" : text;
 	}
 	
@@ -125,7 +124,7 @@ public class Font implements Serializable {
 	 * @return the current instance
 	 */
 	public Font setFontSizeDefaultLabel(String fontSize_defaultLabel) {
-		options.putLiteral("fontSize_defaultLabel", fontSize_defaultLabel);
+		options.putLiteral(CKeditorOptionKey.FONT_SIZE_DEFAULT_LABEL, fontSize_defaultLabel);
 		return this;
 	}
 	
@@ -133,7 +132,7 @@ public class Font implements Serializable {
 	 * @return the fontSize_sizes option
 	 */
 	public String getFontSizeSizes() {
-		String text = options.getLiteral("fontSize_sizes");
+		String text = options.getLiteral(CKeditorOptionKey.FONT_SIZE_SIZES);
 		return text == null ? "8/8px;9/9px;10/10px;11/11px;12/12px;14/14px;16/16px;18/18px;20/20px;22/22px;24/24px;26/26px;28/28px;36/36px;48/48px;72/72px" : text;
 	}
 	
@@ -144,7 +143,7 @@ public class Font implements Serializable {
 	 * @return the current instance
 	 */
 	public Font setFontSizeSizes(String fontSize_sizes) {
-		options.putLiteral("fontSize_sizes", fontSize_sizes);
+		options.putLiteral(CKeditorOptionKey.FONT_SIZE_SIZES, fontSize_sizes);
 		return this;
 	}
 	
@@ -152,7 +151,7 @@ public class Font implements Serializable {
 	 * @return the fontSize_style option
 	 */
 	public StyleOption getFontSizeStyle() {
-		return (StyleOption) options.getComplexOption("fontSize_style");
+		return (StyleOption) options.getComplexOption(CKeditorOptionKey.FONT_SIZE_STYLE);
 	}
 	
 	/**
@@ -162,7 +161,7 @@ public class Font implements Serializable {
 	 * @return the current instance
 	 */
 	public Font setFontSizeStyle(StyleOption fontSize_style) {
-		options.put("fontSize_style", fontSize_style);
+		options.put(CKeditorOptionKey.FONT_SIZE_STYLE, fontSize_style);
 		return this;
 	}
 }
@@ -23,7 +23,6 @@ package org.odlabs.wiquery.plugins.ckeditor;
 
 import java.io.Serializable;
 
-import org.odlabs.wiquery.core.options.Options;
 import org.odlabs.wiquery.plugins.ckeditor.options.FormatOption;
 import org.odlabs.wiquery.plugins.ckeditor.options.list.ListOptions;
 
@@ -43,13 +42,13 @@ public class Format implements Serializable {
 	private static final long serialVersionUID = 3677225892323447498L;
 
 	// Variables
-	private Options options;
+	private CKeditorOptions options;
 	
 	/**
 	 * Default constructor
 	 * @param options Instance of the {@link options}
 	 */
-	protected Format(Options options) {
+	protected Format(CKeditorOptions options) {
 		super();
 		
 		this.options = options;
@@ -59,119 +58,119 @@ public class Format implements Serializable {
 	 * @return the coreStyles_bold option
 	 */
 	public FormatOption getCoreStylesBold() {
-		return (FormatOption) options.getComplexOption("coreStyles_bold");
+		return (FormatOption) options.getComplexOption(CKeditorOptionKey.CORE_STYLES_BOLD);
 	}
 	
 	/**
 	 * @return the coreStyles_italic option
 	 */
 	public FormatOption getCoreStylesItalic() {
-		return (FormatOption) options.getComplexOption("coreStyles_italic");
+		return (FormatOption) options.getComplexOption(CKeditorOptionKey.CORE_STYLES_ITALIC);
 	}
 	
 	/**
 	 * @return the coreStyles_strike option
 	 */
 	public FormatOption getCoreStylesStrike() {
-		return (FormatOption) options.getComplexOption("coreStyles_strike");
+		return (FormatOption) options.getComplexOption(CKeditorOptionKey.CORE_STYLES_STRIKE);
 	}
 	
 	/**
 	 * @return the coreStyles_subscript option
 	 */
 	public FormatOption getCoreStylesSubscript() {
-		return (FormatOption) options.getComplexOption("coreStyles_subscript");
+		return (FormatOption) options.getComplexOption(CKeditorOptionKey.CORE_STYLES_SUBSCRIPT);
 	}
 	
 	/**
 	 * @return the coreStyles_superscript option
 	 */
 	public FormatOption getCoreStylesSuperscript() {
-		return (FormatOption) options.getComplexOption("coreStyles_superscript");
+		return (FormatOption) options.getComplexOption(CKeditorOptionKey.CORE_STYLES_SUPERSCRIPT);
 	}
 	
 	/**
 	 * @return the coreStyles_underline option
 	 */
 	public FormatOption getCoreStylesUnderline() {
-		return (FormatOption) options.getComplexOption("coreStyles_underline");
+		return (FormatOption) options.getComplexOption(CKeditorOptionKey.CORE_STYLES_UNDERLINE);
 	}
 	
 	/**
 	 * @return the format_address
 	 */
 	public FormatOption getFormatAddress() {
-		return (FormatOption) options.getComplexOption("format_address");
+		return (FormatOption) options.getComplexOption(CKeditorOptionKey.FORMAT_ADDRESS);
 	}
 	
 	/**
 	 * @return the format_div
 	 */
 	public FormatOption getFormatDiv() {
-		return (FormatOption) options.getComplexOption("format_div");
+		return (FormatOption) options.getComplexOption(CKeditorOptionKey.FORMAT_DIV);
 	}
 	
 	/**
 	 * @return the format_h1
 	 */
 	public FormatOption getFormatH1() {
-		return (FormatOption) options.getComplexOption("format_h1");
+		return (FormatOption) options.getComplexOption(CKeditorOptionKey.FORMAT_H1);
 	}
 	
 	/**
 	 * @return the format_h2
 	 */
 	public FormatOption getFormatH2() {
-		return (FormatOption) options.getComplexOption("format_h2");
+		return (FormatOption) options.getComplexOption(CKeditorOptionKey.FORMAT_H2);
 	}
 	
 	/**
 	 * @return the format_h3
 	 */
 	public FormatOption getFormatH3() {
-		return (FormatOption) options.getComplexOption("format_h3");
+		return (FormatOption) options.getComplexOption(CKeditorOptionKey.FORMAT_H3);
 	}
 	
 	/**
 	 * @return the format_h4
 	 */
 	public FormatOption getFormatH4() {
-		return (FormatOption) options.getComplexOption("format_h4");
+		return (FormatOption) options.getComplexOption(CKeditorOptionKey.FORMAT_H4);
 	}
 	
 	/**
 	 * @return the format_h5
 	 */
 	public FormatOption getFormatH5() {
-		return (FormatOption) options.getComplexOption("format_h5");
+		return (FormatOption) options.getComplexOption(CKeditorOptionKey.FORMAT_H5);
 	}
 	
 	/**
 	 * @return the format_h6
 	 */
 	public FormatOption getFormatH6() {
-		return (FormatOption) options.getComplexOption("format_h6");
+		return (FormatOption) options.getComplexOption(CKeditorOptionKey.FORMAT_H6);
 	}
 	
 	/**
 	 * @return the format_p
 	 */
 	public FormatOption getFormatP() {
-		return (FormatOption) options.getComplexOption("format_p");
+		return (FormatOption) options.getComplexOption(CKeditorOptionKey.FORMAT_P);
 	}
 	
 	/**
 	 * @return the format_pre
 	 */
 	public FormatOption getFormatPre() {
-		return (FormatOption) options.getComplexOption("format_pre");
+		return (FormatOption) options.getComplexOption(CKeditorOptionKey.FORMAT_PRE);
 	}
 	
 	/**
 	 * @return the format_tags option
 	 */
 	public String getFormatTags() {
-		String text = options.getLiteral("format_tags");
+		String text = options.getLiteral(CKeditorOptionKey.FORMAT_TAGS);
 		return text == null ? "p;h1;h2;h3;h4;h5;h6;pre;address;div" : text;
 	}
 	
@@ -179,7 +178,7 @@ public class Format implements Serializable {
 	 * @return the removeFormatTags option
 	 */
 	public ListOptions getRemoveFormatTags() {
-		Object object = options.getComplexOption("removeFormatTags");
+		Object object = options.getComplexOption(CKeditorOptionKey.REMOVE_FORMAT_TAGS);
 		
 		if(object == null){
 			return ListOptions.asList("b","big","code","del","dfn","em","font",
@@ -196,7 +195,7 @@ public class Format implements Serializable {
 	 * @return the current instance
 	 */
 	public Format setCoreStylesBold(FormatOption coreStyles_bold) {
-		options.put("coreStyles_bold", coreStyles_bold);
+		options.put(CKeditorOptionKey.CORE_STYLES_BOLD, coreStyles_bold);
 		return this;
 	}
 	
@@ -206,7 +205,7 @@ public class Format implements Serializable {
 	 * @return the current instance
 	 */
 	public Format setCoreStylesItalic(FormatOption coreStyles_italic) {
-		options.put("coreStyles_italic", coreStyles_italic);
+		options.put(CKeditorOptionKey.CORE_STYLES_ITALIC, coreStyles_italic);
 		return this;
 	}
 	
@@ -216,7 +215,7 @@ public class Format implements Serializable {
 	 * @return the current instance
 	 */
 	public Format setCoreStylesStrike(FormatOption coreStyles_strike) {
-		options.put("coreStyles_strike", coreStyles_strike);
+		options.put(CKeditorOptionKey.CORE_STYLES_STRIKE, coreStyles_strike);
 		return this;
 	}
 	
@@ -226,7 +225,7 @@ public class Format implements Serializable {
 	 * @return the current instance
 	 */
 	public Format setCoreStylesSubscript(FormatOption coreStyles_subscript) {
-		options.put("coreStyles_subscript", coreStyles_subscript);
+		options.put(CKeditorOptionKey.CORE_STYLES_SUBSCRIPT, coreStyles_subscript);
 		return this;
 	}
 	
@@ -236,7 +235,7 @@ public class Format implements Serializable {
 	 * @return the current instance
 	 */
 	public Format setCoreStylesSuperscript(FormatOption coreStyles_superscript) {
-		options.put("coreStyles_superscript", coreStyles_superscript);
+		options.put(CKeditorOptionKey.CORE_STYLES_SUPERSCRIPT, coreStyles_superscript);
 		return this;
 	}
 	
@@ -247,7 +246,7 @@ public class Format implements Serializable {
 	 * @return the current instance
 	 */
 	public Format setCoreStylesUnderline(FormatOption coreStyles_underline) {
-		options.put("coreStyles_underline", coreStyles_underline);
+		options.put(CKeditorOptionKey.CORE_STYLES_UNDERLINE, coreStyles_underline);
 		return this;
 	}
 	
@@ -257,7 +256,7 @@ public class Format implements Serializable {
 	 * @return the current instance
 	 */
 	public Format setFormatAddress(FormatOption format_address) {
-		options.put("format_address", format_address);
+		options.put(CKeditorOptionKey.FORMAT_ADDRESS, format_address);
 		return this;
 	}
 	
@@ -267,7 +266,7 @@ public class Format implements Serializable {
 	 * @return the current instance
 	 */
 	public Format setFormatDiv(FormatOption format_div) {
-		options.put("format_div", format_div);
+		options.put(CKeditorOptionKey.FORMAT_DIV, format_div);
 		return this;
 	}
 	
@@ -277,7 +276,7 @@ public class Format implements Serializable {
 	 * @return the current instance
 	 */
 	public Format setFormatH1(FormatOption format_h1) {
-		options.put("format_h1", format_h1);
+		options.put(CKeditorOptionKey.FORMAT_H1, format_h1);
 		return this;
 	}
 	
@@ -287,7 +286,7 @@ public class Format implements Serializable {
 	 * @return the current instance
 	 */
 	public Format setFormatH2(FormatOption format_h2) {
-		options.put("format_h2", format_h2);
+		options.put(CKeditorOptionKey.FORMAT_H2, format_h2);
 		return this;
 	}
 	
@@ -297,7 +296,7 @@ public class Format implements Serializable {
 	 * @return the current instance
 	 */
 	public Format setFormatH3(FormatOption format_h3) {
-		options.put("format_h3", format_h3);
+		options.put(CKeditorOptionKey.FORMAT_H3, format_h3);
 		return this;
 	}
 	
@@ -307,7 +306,7 @@ public class Format implements Serializable {
 	 * @return the current instance
 	 */
 	public Format setFormatH4(FormatOption format_h4) {
-		options.put("format_h4", format_h4);
+		options.put(CKeditorOptionKey.FORMAT_H4, format_h4);
 		return this;
 	}
 	
@@ -317,7 +316,7 @@ public class Format implements Serializable {
 	 * @return the current instance
 	 */
 	public Format setFormatH5(FormatOption format_h5) {
-		options.put("format_h5", format_h5);
+		options.put(CKeditorOptionKey.FORMAT_H5, format_h5);
 		return this;
 	}
 	
@@ -327,7 +326,7 @@ public class Format implements Serializable {
 	 * @return the current instance
 	 */
 	public Format setFormatH6(FormatOption format_h6) {
-		options.put("format_h6", format_h6);
+		options.put(CKeditorOptionKey.FORMAT_H6, format_h6);
 		return this;
 	}
 	
@@ -337,7 +336,7 @@ public class Format implements Serializable {
 	 * @return the current instance
 	 */
 	public Format setFormatP(FormatOption format_p) {
-		options.put("format_p", format_p);
+		options.put(CKeditorOptionKey.FORMAT_P, format_p);
 		return this;
 	}
 	
@@ -347,7 +346,7 @@ public class Format implements Serializable {
 	 * @return the current instance
 	 */
 	public Format setFormatPre(FormatOption format_pre) {
-		options.put("format_pre", format_pre);
+		options.put(CKeditorOptionKey.FORMAT_PRE, format_pre);
 		return this;
 	}
 	
@@ -361,7 +360,7 @@ public class Format implements Serializable {
 	 * @return the current instance
 	 */
 	public Format setFormatTags(String format_tags) {
-		options.putLiteral("format_tags", format_tags);
+		options.putLiteral(CKeditorOptionKey.FORMAT_TAGS, format_tags);
 		return this;
 	}
 	
@@ -372,7 +371,7 @@ public class Format implements Serializable {
 	 * @return the current instance
 	 */
 	public Format setRemoveFormatTags(ListOptions removeFormatTags) {
-		options.put("removeFormatTags", removeFormatTags);
+		options.put(CKeditorOptionKey.REMOVE_FORMAT_TAGS, removeFormatTags);
 		return this;
 	}
 }
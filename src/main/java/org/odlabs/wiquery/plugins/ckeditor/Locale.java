@@ -23,8 +23,6 @@ package org.odlabs.wiquery.plugins.ckeditor;
 
 import java.io.Serializable;
 
-import org.odlabs.wiquery.core.options.Options;
-
 /**
  * $Id: Locale.java roche.jul $
  * 
@@ -41,13 +39,13 @@ public class Locale implements Serializable {
 	private static final long serialVersionUID = 2595135312942325583L;
 
 	// Variables
-	private Options options;
+	private CKeditorOptions options;
 	
 	/**
 	 * Default constructor
 	 * @param options Instance of the {@link options}
 	 */
-	protected Locale(Options options) {
+	protected Locale(CKeditorOptions options) {
 		super();
 		
 		this.options = options;
@@ -57,7 +55,7 @@ public class Locale implements Serializable {
 	 * @return the contentsLangDirection option
 	 */
 	public String getContentsLangDirection() {
-		String text = options.getLiteral("contentsLangDirection");
+		String text = options.getLiteral(CKeditorOptionKey.CONTENTS_LANG_DIRECTION);
 		return text == null ? "ltr" : text;
 	}
 	
@@ -65,7 +63,7 @@ public class Locale implements Serializable {
 	 * @return the defaultLanguage option
 	 */
 	public String getDefaultLanguage() {
-		String text = options.getLiteral("defaultLanguage");
+		String text = options.getLiteral(CKeditorOptionKey.DEFAULT_LANGUAGE);
 		return text == null ? "en" : text;
 	}
 	
@@ -73,7 +71,7 @@ public class Locale implements Serializable {
 	 * @return the language option
 	 */
 	public String getLanguage() {
-		String text = options.getLiteral("language");
+		String text = options.getLiteral(CKeditorOptionKey.LANGUAGE);
 		return text == null ? "" : text;
 	}
 	
@@ -81,44 +79,28 @@ public class Locale implements Serializable {
 	 * @return the disableNativeSpellChecker option
 	 */
 	public boolean isDisableNativeSpellChecker() {
-		if(options.get("disableNativeSpellChecker") == null){
-			return true;
-		}
-		
-		return options.getBoolean("disableNativeSpellChecker");
+		return options.getBoolean(CKeditorOptionKey.DISABLE_NATIVE_SPELL_CHECKER, true);
 	}
 	
 	/**
 	 * @return the entities_greek option
 	 */
 	public boolean isEntitiesGreek() {
-		if(options.get("entities_greek") == null){
-			return true;
-		}
-		
-		return options.getBoolean("entities_greek");
+		return options.getBoolean(CKeditorOptionKey.ENTITIES_GREEK, true);
 	}
 	
 	/**
 	 * @return the entities_latin option
 	 */
 	public boolean isEntitiesLatin() {
-		if(options.get("entities_latin") == null){
-			return true;
-		}
-		
-		return options.getBoolean("entities_latin");
+		return options.getBoolean(CKeditorOptionKey.ENTITIES_LATIN, true);
 	}
 	
 	/**
 	 * @return the entities_processNumerical option
 	 */
 	public boolean isEntitiesProcessNumerical() {
-		if(options.get("entities_processNumerical") == null){
-			return false;
-		}
-		
-		return options.getBoolean("entities_processNumerical");
+		return options.getBoolean(CKeditorOptionKey.ENTITIES_PROCESS_NUMERICAL, false);
 	}
 	
 	/**
@@ -128,7 +110,7 @@ public class Locale implements Serializable {
 	 * @return the current instance
 	 */
 	public Locale setContentsLangDirection(String contentsLangDirection) {
-		options.putLiteral("contentsLangDirection", contentsLangDirection);
+		options.putLiteral(CKeditorOptionKey.CONTENTS_LANG_DIRECTION, contentsLangDirection);
 		return this;
 	}
 	
@@ -139,7 +121,7 @@ public class Locale implements Serializable {
 	 * @return the current instance
 	 */
 	public Locale setDefaultLanguage(String defaultLanguage) {
-		options.putLiteral("defaultLanguage", defaultLanguage);
+		options.putLiteral(CKeditorOptionKey.DEFAULT_LANGUAGE, defaultLanguage);
 		return this;
 	}
 	
@@ -150,7 +132,7 @@ public class Locale implements Serializable {
 	 * @return the current instance
 	 */
 	public Locale setDisableNativeSpellChecker(boolean disableNativeSpellChecker) {
-		options.put("disableNativeSpellChecker", disableNativeSpellChecker);
+		options.put(CKeditorOptionKey.DISABLE_NATIVE_SPELL_CHECKER, disableNativeSpellChecker);
 		return this;
 	}
 	
@@ -161,7 +143,7 @@ public class Locale implements Serializable {
 	 * @return the current instance
 	 */
 	public Locale setEntitiesGreek(boolean entities_greek) {
-		options.put("entities_greek", entities_greek);
+		options.put(CKeditorOptionKey.ENTITIES_GREEK, entities_greek);
 		return this;
 	}
 	
@@ -172,7 +154,7 @@ public class Locale implements Serializable {
 	 * @return the current instance
 	 */
 	public Locale setEntitiesLatin(boolean entities_latin) {
-		options.put("entities_latin", entities_latin);
+		options.put(CKeditorOptionKey.ENTITIES_LATIN, entities_latin);
 		return this;
 	}
 	
@@ -183,7 +165,7 @@ public class Locale implements Serializable {
 	 * @return the current instance
 	 */
 	public Locale setEntitiesProcessNumerical(boolean entities_processNumerical) {
-		options.put("entities_processNumerical", entities_processNumerical);
+		options.put(CKeditorOptionKey.ENTITIES_PROCESS_NUMERICAL, entities_processNumerical);
 		return this;
 	}
 	
@@ -194,7 +176,7 @@ public class Locale implements Serializable {
 	 * @return the current instance
 	 */
 	public Locale setLanguage(String language) {
-		options.putLiteral("language", language);
+		options.putLiteral(CKeditorOptionKey.LANGUAGE, language);
 		return this;
 	}
 }
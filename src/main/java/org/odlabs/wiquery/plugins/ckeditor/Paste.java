@@ -23,8 +23,6 @@ package org.odlabs.wiquery.plugins.ckeditor;
 
 import java.io.Serializable;
 
-import org.odlabs.wiquery.core.options.Options;
-
 /**
  * $Id: Paste.java roche.jul $
  * 
@@ -41,13 +39,13 @@ public class Paste implements Serializable {
 	private static final long serialVersionUID = 3529339607543884823L;
 
 	// Variables
-	private Options options;
+	private CKeditorOptions options;
 	
 	/**
 	 * Default constructor
 	 * @param options Instance of the {@link options}
 	 */
-	protected Paste(Options options) {
+	protected Paste(CKeditorOptions options) {
 		super();
 		
 		this.options = options;
@@ -57,7 +55,7 @@ public class Paste implements Serializable {
 	 * @return the pasteFromWordCleanupFile option
 	 */
 	public String getPasteFromWordCleanupFile() {
-		String text = options.getLiteral("pasteFromWordCleanupFile");
+		String text = options.getLiteral(CKeditorOptionKey.PASTE_FROM_WORD_CLEANUP_FILE);
 		return text == null ? "default" : text;
 	}
 	
@@ -65,44 +63,28 @@ public class Paste implements Serializable {
 	 * @return the forcePasteAsPlainText option
 	 */
 	public boolean isForcePasteAsPlainText() {
-		if(options.get("forcePasteAsPlainText") == null){
-			return false;
-		}
-		
-		return options.getBoolean("forcePasteAsPlainText");
+		return options.getBoolean(CKeditorOptionKey.FORCE_PASTE_AS_PLAIN_TEXT, false);
 	}
 	
 	/**
 	 * @return the pasteFromWordPromptCleanup option
 	 */
 	public boolean isPasteFromWordPromptCleanup() {
-		if(options.get("pasteFromWordPromptCleanup") == null){
-			return true;
-		}
-		
-		return options.getBoolean("pasteFromWordPromptCleanup");
+		return options.getBoolean(CKeditorOptionKey.PASTE_FROM_WORD_PROMPT_CLEANUP, true);
 	}
 	
 	/**
 	 * @return the pasteFromWordRemoveFontStyles option
 	 */
 	public boolean isPasteFromWordRemoveFontStyles() {
-		if(options.get("pasteFromWordRemoveFontStyles") == null){
-			return true;
-		}
-		
-		return options.getBoolean("pasteFromWordRemoveFontStyles");
+		return options.getBoolean(CKeditorOptionKey.PASTE_FROM_WORD_REMOVE_FONT_STYLES, true);
 	}
 	
 	/**
 	 * @return the pasteFromWordRemoveStyles option
 	 */
 	public boolean isPasteFromWordRemoveStyles() {
-		if(options.get("pasteFromWordRemoveStyles") == null){
-			return true;
-		}
-		
-		return options.getBoolean("pasteFromWordRemoveStyles");
+		return options.getBoolean(CKeditorOptionKey.PASTE_FROM_WORD_REMOVE_STYLES, true);
 	}
 	
 	/**
@@ -112,7 +94,7 @@ public class Paste implements Serializable {
 	 * @return the current instance
 	 */
 	public Paste setForcePasteAsPlainText(boolean forcePasteAsPlainText) {
-		options.put("forcePasteAsPlainText", forcePasteAsPlainText);
+		options.put(CKeditorOptionKey.FORCE_PASTE_AS_PLAIN_TEXT, forcePasteAsPlainText);
 		return this;
 	}
 	
@@ -123,7 +105,7 @@ public class Paste implements Serializable {
 	 * @return the current instance
 	 */
 	public Paste setPasteFromWordCleanupFile(String pasteFromWordCleanupFile) {
-		options.putLiteral("pasteFromWordCleanupFile", pasteFromWordCleanupFile);
+		options.putLiteral(CKeditorOptionKey.PASTE_FROM_WORD_CLEANUP_FILE, pasteFromWordCleanupFile);
 		return this;
 	}
 	
@@ -133,7 +115,7 @@ public class Paste implements Serializable {
 	 * @return the current instance
 	 */
 	public Paste setPasteFromWordPromptCleanup(boolean pasteFromWordPromptCleanup) {
-		options.put("pasteFromWordPromptCleanup", pasteFromWordPromptCleanup);
+		options.put(CKeditorOptionKey.PASTE_FROM_WORD_PROMPT_CLEANUP, pasteFromWordPromptCleanup);
 		return this;
 	}
 	
@@ -143,7 +125,7 @@ public class Paste implements Serializable {
 	 * @return the current instance
 	 */
 	public Paste setPasteFromWordRemoveFontStyles(boolean pasteFromWordRemoveFontStyles) {
-		options.put("pasteFromWordRemoveFontStyles", pasteFromWordRemoveFontStyles);
+		options.put(CKeditorOptionKey.PASTE_FROM_WORD_REMOVE_FONT_STYLES, pasteFromWordRemoveFontStyles);
 		return this;
 	}
 	
@@ -153,7 +135,7 @@ public class Paste implements Serializable {
 	 * @return the current instance
 	 */
 	public Paste setPasteFromWordRemoveStyles(boolean pasteFromWordRemoveStyles) {
-		options.put("pasteFromWordRemoveStyles", pasteFromWordRemoveStyles);
+		options.put(CKeditorOptionKey.PASTE_FROM_WORD_REMOVE_STYLES, pasteFromWordRemoveStyles);
 		return this;
 	}
 }
@@ -26,7 +26,6 @@ import java.io.Serializable;
 import org.odlabs.wiquery.core.options.ArrayItemOptions;
 import org.odlabs.wiquery.core.options.ICollectionItemOptions;
 import org.odlabs.wiquery.core.options.LiteralOption;
-import org.odlabs.wiquery.core.options.Options;
 
 /**
  * $Id: Picture.java roche.jul $
@@ -44,13 +43,13 @@ public class Picture implements Serializable {
 	private static final long serialVersionUID = -4894266289699516683L;
 
 	// Variables
-	private Options options;
+	private CKeditorOptions options;
 	
 	/**
 	 * Default constructor
 	 * @param options Instance of the {@link options}
 	 */
-	protected Picture(Options options) {
+	protected Picture(CKeditorOptions options) {
 		super();
 		
 		this.options = options;
@@ -60,7 +59,7 @@ public class Picture implements Serializable {
 	 * @return the image_previewText option
 	 */
 	public String getImagePreviewText() {
-		String text = options.getLiteral("image_previewText");
+		String text = options.getLiteral(CKeditorOptionKey.IMAGE_PREVIEW_TEXT);
 		return text == null ? "Lorem ipsum dolor..." : text;
 	}
 	
@@ -69,7 +68,7 @@ public class Picture implements Serializable {
 	 */
 	@SuppressWarnings("unchecked")
 	public ArrayItemOptions<LiteralOption> getSmileyDescriptions() {
-		ICollectionItemOptions coll = options.getListItemOptions("smiley_descriptions");
+		ICollectionItemOptions coll = options.getListItemOptions(CKeditorOptionKey.SMILEY_DESCRIPTIONS);
 		
 		if(coll == null){
 			ArrayItemOptions<LiteralOption> arr = new ArrayItemOptions<LiteralOption>();
@@ -105,7 +104,7 @@ public class Picture implements Serializable {
 	 */
 	@SuppressWarnings("unchecked")
 	public ArrayItemOptions<LiteralOption> getSmileyImages() {
-		ICollectionItemOptions coll = options.getListItemOptions("smiley_images");
+		ICollectionItemOptions coll = options.getListItemOptions(CKeditorOptionKey.SMILEY_IMAGES);
 		
 		if(coll == null){
 			ArrayItemOptions<LiteralOption> arr = new ArrayItemOptions<LiteralOption>();
@@ -140,7 +139,7 @@ public class Picture implements Serializable {
 	 * @return the smiley_path option
 	 */
 	public String getSmileyPath() {
-		String path = options.getLiteral("smiley_path");
+		String path = options.getLiteral(CKeditorOptionKey.SMILEY_PATH);
 		return path == null ? "/images/smileys/" : path;
 	}
 	
@@ -148,11 +147,7 @@ public class Picture implements Serializable {
 	 * @return the image_removeLinkByEmptyURL option
 	 */
 	public boolean isImageRemoveLinkByEmptyURL() {
-		if(options.get("image_removeLinkByEmptyURL") == null){
-			return true;
-		}
-		
-		return options.getBoolean("image_removeLinkByEmptyURL");
+		return options.getBoolean(CKeditorOptionKey.IMAGE_REMOVE_LINK_BY_EMPTY_URL, true);
 	}
 	
 	/**
@@ -161,7 +156,7 @@ public class Picture implements Serializable {
 	 * @return the current instance
 	 */
 	public Picture setImagePreviewText(String image_previewText) {
-		options.putLiteral("image_previewText", image_previewText);
+		options.putLiteral(CKeditorOptionKey.IMAGE_PREVIEW_TEXT, image_previewText);
 		return this;
 	}
 	
@@ -171,7 +166,7 @@ public class Picture implements Serializable {
 	 * @return the current instance
 	 */
 	public Picture setImageRemoveLinkByEmptyURL(boolean image_removeLinkByEmptyURL) {
-		options.put("image_removeLinkByEmptyURL", image_removeLinkByEmptyURL);
+		options.put(CKeditorOptionKey.IMAGE_REMOVE_LINK_BY_EMPTY_URL, image_removeLinkByEmptyURL);
 		return this;
 	}
 	
@@ -181,7 +176,7 @@ public class Picture implements Serializable {
 	 * @return the current instance
 	 */
 	public Picture setSmileyDescriptions(ArrayItemOptions<LiteralOption> smiley_descriptions) {
-		options.put("smiley_descriptions", smiley_descriptions);
+		options.put(CKeditorOptionKey.SMILEY_DESCRIPTIONS, smiley_descriptions);
 		return this;
 	}
 	
@@ -191,7 +186,7 @@ public class Picture implements Serializable {
 	 * @return the current instance
 	 */
 	public Picture setSmileyPath(ArrayItemOptions<LiteralOption> smiley_images) {
-		options.put("smiley_images", smiley_images);
+		options.put(CKeditorOptionKey.SMILEY_IMAGES, smiley_images);
 		return this;
 	}
 	
@@ -202,7 +197,7 @@ public class Picture implements Serializable {
 	 * @return the current instance
 	 */
 	public Picture setSmileyPath(String smiley_path) {
-		options.putLiteral("smiley_path", smiley_path);
+		options.putLiteral(CKeditorOptionKey.SMILEY_PATH, smiley_path);
 		return this;
 	}
 }
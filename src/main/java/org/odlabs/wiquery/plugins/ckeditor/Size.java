@@ -23,7 +23,6 @@ package org.odlabs.wiquery.plugins.ckeditor;
 
 import java.io.Serializable;
 
-import org.odlabs.wiquery.core.options.Options;
 import org.odlabs.wiquery.plugins.ckeditor.options.SizeOption;
 import org.odlabs.wiquery.plugins.ckeditor.options.SizeOption.SizeMetric;
 
@@ -43,13 +42,13 @@ public class Size implements Serializable {
 	private static final long serialVersionUID = 2156507594804689599L;
 
 	// Variables
-	private Options options;
+	private CKeditorOptions options;
 	
 	/**
 	 * Default constructor
 	 * @param options Instance of the {@link options}
 	 */
-	protected Size(Options options) {
+	protected Size(CKeditorOptions options) {
 		super();
 		
 		this.options = options;
@@ -59,7 +58,7 @@ public class Size implements Serializable {
 	 * @return the height option
 	 */
 	public SizeOption getHeight() {
-		SizeOption height = (SizeOption) options.getComplexOption("height");
+		SizeOption height = (SizeOption) options.getComplexOption(CKeditorOptionKey.HEIGHT);
 		return height == null ? new SizeOption(200, SizeMetric.PIXEL) : height;
 	}
 	
@@ -67,62 +66,42 @@ public class Size implements Serializable {
 	 * @return the resize_maxHeight option
 	 */
 	public int getResizeMaxHeight() {
-		if(options.get("resize_maxHeight") == null){
-			return 3000;
-		}
-		
-		return options.getInt("resize_maxHeight");
+		return options.getInt(CKeditorOptionKey.RESIZE_MAX_HEIGHT, 3000);
 	}
 	
 	/**
 	 * @return the resize_maxWidth option
 	 */
 	public int getResizeMaxWidth() {
-		if(options.get("resize_maxWidth") == null){
-			return 3000;
-		}
-		
-		return options.getInt("resize_maxWidth");
+		return options.getInt(CKeditorOptionKey.RESIZE_MAX_WIDTH, 3000);
 	}
 	
 	/**
 	 * @return the width option
 	 */
 	public SizeOption getWidth() {
-		return (SizeOption) options.getComplexOption("width");
+		return (SizeOption) options.getComplexOption(CKeditorOptionKey.WIDTH);
 	}
 	
 	/**
 	 * @return the disableObjectResizing option
 	 */
 	public boolean isDisableObjectResizing() {
-		if(options.get("disableObjectResizing") == null){
-			return false;
-		}
-		
-		return options.getBoolean("disableObjectResizing");
+		return options.getBoolean(CKeditorOptionKey.DISABLE_OBJECT_RESIZING, false);
 	}
 	
 	/**
 	 * @return the fullPage option
 	 */
 	public boolean isFullPage() {
-		if(options.get("fullPage") == null){
-			return false;
-		}
-		
-		return options.getBoolean("fullPage");
+		return options.getBoolean(CKeditorOptionKey.FULL_PAGE, false);
 	}
 	
 	/**
 	 * @return the resize_enabled option
 	 */
 	public boolean isResizeEnabled() {
-		if(options.get("resize_enabled") == null){
-			return true;
-		}
-		
-		return options.getBoolean("resize_enabled");
+		return options.getBoolean(CKeditorOptionKey.RESIZE_ENABLED, true);
 	}
 	
 	/**
@@ -132,7 +111,7 @@ public class Size implements Serializable {
 	 * @return the current instance
 	 */
 	public Size setDisableObjectResizing(boolean disableObjectResizing) {
-		options.put("disableObjectResizing", disableObjectResizing);
+		options.put(CKeditorOptionKey.DISABLE_OBJECT_RESIZING, disableObjectResizing);
 		return this;
 	}
 	
@@ -145,7 +124,7 @@ public class Size implements Serializable {
 	 * @return the current instance
 	 */
 	public Size setFullPage(boolean fullPage) {
-		options.put("fullPage", fullPage);
+		options.put(CKeditorOptionKey.FULL_PAGE, fullPage);
 		return this;
 	}
 	
@@ -155,7 +134,7 @@ public class Size implements Serializable {
 	 * @return the current instance
 	 */
 	public Size setHeight(SizeOption height) {
-		options.put("height", height);
+		options.put(CKeditorOptionKey.HEIGHT, height);
 		return this;
 	}
 	
@@ -165,7 +144,7 @@ public class Size implements Serializable {
 	 * @return the current instance
 	 */
 	public Size setResizeEnabled(boolean resize_enabled) {
-		options.put("resize_enabled", resize_enabled);
+		options.put(CKeditorOptionKey.RESIZE_ENABLED, resize_enabled);
 		return this;
 	}
 	
@@ -175,7 +154,7 @@ public class Size implements Serializable {
 	 * @return the current instance
 	 */
 	public Size setResizeMaxHeight(int resize_maxHeight) {
-		options.put("resize_maxHeight", resize_maxHeight);
+		options.put(CKeditorOptionKey.RESIZE_MAX_HEIGHT, resize_maxHeight);
 		return this;
 	}
 	
@@ -185,7 +164,7 @@ public class Size implements Serializable {
 	 * @return the current instance
 	 */
 	public Size setResizeMaxWidth(int resize_maxWidth) {
-		options.put("resize_maxWidth", resize_maxWidth);
+		options.put(CKeditorOptionKey.RESIZE_MAX_WIDTH, resize_maxWidth);
 		return this;
 	}
 	
@@ -195,7 +174,7 @@ public class Size implements Serializable {
 	 * @return the current instance
 	 */
 	public Size setWidth(SizeOption width) {
-		options.put("width", width);
+		options.put(CKeditorOptionKey.WIDTH, width);
 		return this;
 	}
 }
@@ -26,7 +26,6 @@ import java.io.Serializable;
 import org.odlabs.wiquery.core.options.ArrayItemOptions;
 import org.odlabs.wiquery.core.options.ICollectionItemOptions;
 import org.odlabs.wiquery.core.options.LiteralOption;
-import org.odlabs.wiquery.core.options.Options;
 import org.odlabs.wiquery.plugins.ckeditor.options.StyleOption;
 import org.odlabs.wiquery.plugins.ckeditor.options.list.ListOptions;
 
@@ -46,13 +45,13 @@ public class StyleSheet implements Serializable {
 	private static final long serialVersionUID = 6752535353008032816L;
 
 	// Variables
-	private Options options;
+	private CKeditorOptions options;
 	
 	/**
 	 * Default constructor
 	 * @param options Instance of the {@link options}
 	 */
-	protected StyleSheet(Options options) {
+	protected StyleSheet(CKeditorOptions options) {
 		super();
 		
 		this.options = options;
@@ -62,14 +61,14 @@ public class StyleSheet implements Serializable {
 	 * @return the StyleOption option
 	 */
 	public StyleOption getColorButtonBackStyle() {
-		return (StyleOption) options.getComplexOption("colorButton_backStyle");
+		return (StyleOption) options.getComplexOption(CKeditorOptionKey.COLOR_BUTTON_BACK_STYLE);
 	}
 	
 	/**
 	 * @return the list of colors button option
 	 */
 	public ListOptions getColorButtonColors() {
-		Object object = options.getComplexOption("colorButton_colors");
+		Object object = options.getComplexOption(CKeditorOptionKey.COLOR_BUTTON_COLORS);
 		
 		if(object == null){
 			return ListOptions.asList("000","800000","8B4513","2F4F4F","008080",
@@ -87,7 +86,7 @@ public class StyleSheet implements Serializable {
 	 * @return the StyleOption option
 	 */
 	public StyleOption getColorButtonForeStyle() {
-		return (StyleOption) options.getComplexOption("colorButton_foreStyle");
+		return (StyleOption) options.getComplexOption(CKeditorOptionKey.COLOR_BUTTON_FORE_STYLE);
 	}
 	
 	/**
@@ -95,7 +94,7 @@ public class StyleSheet implements Serializable {
 	 */
 	@SuppressWarnings("unchecked")
 	public ArrayItemOptions<LiteralOption> getContentsCss() {
-		ICollectionItemOptions coll = options.getListItemOptions("contentsCss");
+		ICollectionItemOptions coll = options.getListItemOptions(CKeditorOptionKey.CONTENTS_CSS);
 		
 		if(coll == null){
 			ArrayItemOptions<LiteralOption> arr = new ArrayItemOptions<LiteralOption>();
@@ -110,7 +109,7 @@ public class StyleSheet implements Serializable {
 	 * @return the skin option
 	 */
 	public String getSkin() {
-		String skin = options.getLiteral("skin");
+		String skin = options.getLiteral(CKeditorOptionKey.SKIN);
 		return skin == null ? "myskin,/customstuff/myskin/" : skin;
 	}
 	
@@ -118,7 +117,7 @@ public class StyleSheet implements Serializable {
 	 * @return the stylesSet option
 	 */
 	public String getStylesSet() {
-		String stylesSet = options.getLiteral("stylesSet");
+		String stylesSet = options.getLiteral(CKeditorOptionKey.STYLES_SET);
 		return stylesSet == null ? "default" : stylesSet;
 	}
 	
@@ -126,7 +125,7 @@ public class StyleSheet implements Serializable {
 	 * @return the templates option
 	 */
 	public String getTemplates() {
-		String templates = options.getLiteral("templates");
+		String templates = options.getLiteral(CKeditorOptionKey.TEMPLATES);
 		return templates == null ? "default" : templates;
 	}
 	
@@ -135,7 +134,7 @@ public class StyleSheet implements Serializable {
 	 */
 	@SuppressWarnings("unchecked")
 	public ArrayItemOptions<LiteralOption> getTemplatesFiles() {
-		ICollectionItemOptions coll = options.getListItemOptions("templates_files");
+		ICollectionItemOptions coll = options.getListItemOptions(CKeditorOptionKey.TEMPLATES_FILES);
 		
 		if(coll == null){
 			ArrayItemOptions<LiteralOption> arr = new ArrayItemOptions<LiteralOption>();
@@ -150,7 +149,7 @@ public class StyleSheet implements Serializable {
 	 * @return the theme option
 	 */
 	public String getTheme() {
-		String theme = options.getLiteral("theme");
+		String theme = options.getLiteral(CKeditorOptionKey.THEME);
 		return theme == null ? "default" : theme;
 	}
 	
@@ -158,22 +157,14 @@ public class StyleSheet implements Serializable {
 	 * @return the colorButton_enableMore option
 	 */
 	public boolean isColorButtonEnableMore() {
-		if(options.get("colorButton_enableMore") == null){
-			return false;
-		}
-		
-		return options.getBoolean("colorButton_enableMore");
+		return options.getBoolean(CKeditorOptionKey.COLOR_BUTTON_ENABLE_MORE, false);
 	}
 	
 	/**
 	 * @return the templates_replaceContent option
 	 */
 	public boolean isTemplatesReplaceContent() {
-		if(options.get("templates_replaceContent") == null){
-			return true;
-		}
-		
-		return options.getBoolean("templates_replaceContent");
+		return options.getBoolean(CKeditorOptionKey.TEMPLATES_REPLACE_CONTENT, true);
 	}
 	
 	/**
@@ -182,7 +173,7 @@ public class StyleSheet implements Serializable {
 	 * @return the current instance
 	 */
 	public StyleSheet setColorButtonBackStyle(StyleOption colorButton_backStyle) {
-		options.put("colorButton_backStyle", colorButton_backStyle);
+		options.put(CKeditorOptionKey.COLOR_BUTTON_BACK_STYLE, colorButton_backStyle);
 		return this;
 	}
 	
@@ -192,7 +183,7 @@ public class StyleSheet implements Serializable {
 	 * @return the current instance
 	 */
 	public StyleSheet setColorButtonColors(ListOptions colorButton_colors) {
-		options.put("colorButton_colors", colorButton_colors);
+		options.put(CKeditorOptionKey.COLOR_BUTTON_COLORS, colorButton_colors);
 		return this;
 	}
 	
@@ -202,7 +193,7 @@ public class StyleSheet implements Serializable {
 	 * @return the current instance
 	 */
 	public StyleSheet setColorButtonEnableMore(boolean colorButton_enableMore) {
-		options.put("colorButton_enableMore", colorButton_enableMore);
+		options.put(CKeditorOptionKey.COLOR_BUTTON_ENABLE_MORE, colorButton_enableMore);
 		return this;
 	}
 	
@@ -212,7 +203,7 @@ public class StyleSheet implements Serializable {
 	 * @return the current instance
 	 */
 	public StyleSheet setColorButtonForeStyle(StyleOption colorButton_foreStyle) {
-		options.put("colorButton_foreStyle", colorButton_foreStyle);
+		options.put(CKeditorOptionKey.COLOR_BUTTON_FORE_STYLE, colorButton_foreStyle);
 		return this;
 	}
 	
@@ -224,7 +215,7 @@ public class StyleSheet implements Serializable {
 	 * @return the current instance
 	 */
 	public StyleSheet setContentsCss(ArrayItemOptions<LiteralOption> contentsCss) {
-		options.put("contentsCss", contentsCss);
+		options.put(CKeditorOptionKey.CONTENTS_CSS, contentsCss);
 		return this;
 	}
 	
@@ -235,7 +226,7 @@ public class StyleSheet implements Serializable {
 	 * @return the current instance
 	 */
 	public StyleSheet setSkin(String skin) {
-		options.putLiteral("skin", skin);
+		options.putLiteral(CKeditorOptionKey.SKIN, skin);
 		return this;
 	}
 	
@@ -245,7 +236,7 @@ public class StyleSheet implements Serializable {
 	 * @return the current instance
 	 */
 	public StyleSheet setStylesSet(String stylesSet) {
-		options.putLiteral("stylesSet", stylesSet);
+		options.putLiteral(CKeditorOptionKey.STYLES_SET, stylesSet);
 		return this;
 	}
 	
@@ -255,7 +246,7 @@ public class StyleSheet implements Serializable {
 	 * @return the current instance
 	 */
 	public StyleSheet setTemplates(String templates) {
-		options.putLiteral("templates", templates);
+		options.putLiteral(CKeditorOptionKey.TEMPLATES, templates);
 		return this;
 	}
 	
@@ -265,7 +256,7 @@ public class StyleSheet implements Serializable {
 	 * @return the current instance
 	 */
 	public StyleSheet setTemplatesFiles(ArrayItemOptions<LiteralOption> templates_files) {
-		options.put("templates_files", templates_files);
+		options.put(CKeditorOptionKey.TEMPLATES_FILES, templates_files);
 		return this;
 	}
 	
@@ -276,7 +267,7 @@ public class StyleSheet implements Serializable {
 	 * @return the current instance
 	 */
 	public StyleSheet setTemplatesReplaceContent(boolean templates_replaceContent) {
-		options.put("templates_replaceContent", templates_replaceContent);
+		options.put(CKeditorOptionKey.TEMPLATES_REPLACE_CONTENT, templates_replaceContent);
 		return this;
 	}
 	
@@ -286,7 +277,7 @@ public class StyleSheet implements Serializable {
 	 * @return the current instance
 	 */
 	public StyleSheet setTheme(String theme) {
-		options.putLiteral("theme", theme);
+		options.putLiteral(CKeditorOptionKey.THEME, theme);
 		return this;
 	}
 }
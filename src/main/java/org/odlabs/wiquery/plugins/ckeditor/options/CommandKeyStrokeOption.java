@@ -63,16 +63,14 @@ public class CommandKeyStrokeOption extends KeyStrokeOption implements IComplexO
 
 	/**
 	 * {@inheritDoc}
-	 * @see org.odlabs.wiquery.core.options.IComplexOption#getJavascriptOption()
+	 * @see org.odlabs.wiquery.plugins.ckeditor.options.KeyStrokeOption#appendJavascriptOption(java.lang.StringBuffer)
 	 */
 	@Override
-	public CharSequence getJavascriptOption() {
-		StringBuffer buffer = new StringBuffer();
-		buffer.append("[");
-		buffer.append(super.getJavascriptOption());
-		buffer.append(", " + JsUtils.quotes(command));
-		buffer.append("]");
-		return buffer;
+	public void appendJavascriptOption(StringBuffer buffer) {
+		buffer.append('[');
+		super.appendJavascriptOption(buffer);
+		buffer.append(", ").append(JsUtils.quotes(command));
+		buffer.append(']');
 	}
 
 	/**
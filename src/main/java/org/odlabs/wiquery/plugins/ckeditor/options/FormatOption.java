@@ -25,7 +25,6 @@ import java.util.Map;
 import java.util.Map.Entry;
 
 import org.odlabs.wiquery.core.javascript.JsUtils;
-import org.odlabs.wiquery.core.options.IComplexOption;
 
 /**
  * $Id: FormatOption.java roche.jul $
@@ -37,7 +36,7 @@ import org.odlabs.wiquery.core.options.IComplexOption;
  * @author Julien Roche
  * @since 1.0
  */
-public class FormatOption implements IComplexOption {
+public class FormatOption implements IAppendableOption {
 	// Constants
 	/** Constant of serialization */
 	private static final long serialVersionUID = 7256572687230056118L;
@@ -73,6 +72,28 @@ public class FormatOption implements IComplexOption {
 		this.overrides = overrides;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * @see org.odlabs.wiquery.plugins.ckeditor.options.IAppendableOption#appendJavascriptOption(java.lang.StringBuffer)
+	 */
+	public void appendJavascriptOption(StringBuffer buffer) {
+		buffer.append("{ element: ").append(JsUtils.quotes(element.toString()));
+		
+		if(attributes != null && attributes.size() > 0){
+			buffer.append(", attributes: {");
+			for(Entry<String, String> entry : attributes.entrySet()) {
+				buffer.append(entry.getKey()).append(": ").append(JsUtils.quotes(entry.getValue())).append(',');
+			}
+			buffer.append('}');
+		}
+		
+		if(overrides != null){
+			buffer.append(", overrides: ").append(JsUtils.quotes(overrides));
+		}
+		
+		buffer.append('}');
+	}
+
 	/**
 	 * @return the attributes
 	 */
@@ -93,22 +114,7 @@ public class FormatOption implements IComplexOption {
 	 */
 	public CharSequence getJavascriptOption() {
 		StringBuffer buffer = new StringBuffer();
-		buffer.append("{ element: " + JsUtils.quotes(element.toString()));
-		
-		if(attributes != null && attributes.size() > 0){
-			buffer.append(", attributes: {");
-			for(Entry<String, String> entry : attributes.entrySet()) {
-				buffer.append(entry.getKey() + ": " + JsUtils.quotes(entry.getValue()) + ",");
-			}
-			buffer.append("}");
-		}
-		
-		if(overrides != null){
-			buffer.append(", overrides: " + JsUtils.quotes(overrides));
-		}
-		
-		buffer.append("}");
-		
+		appendJavascriptOption(buffer);
 		return buffer;
 	}
 	
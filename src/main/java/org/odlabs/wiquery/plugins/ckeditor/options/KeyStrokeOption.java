@@ -25,7 +25,6 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 
-import org.odlabs.wiquery.core.options.IComplexOption;
 import org.odlabs.wiquery.core.options.IListItemOption;
 
 /**
@@ -38,7 +37,7 @@ import org.odlabs.wiquery.core.options.IListItemOption;
  * @author Julien Roche
  * @since 1.0
  */
-public class KeyStrokeOption implements IComplexOption, IListItemOption {
+public class KeyStrokeOption implements IAppendableOption, IListItemOption {
 	/**
 	 * Enumeration of possible mask
 	 */
@@ -69,16 +68,23 @@ public class KeyStrokeOption implements IComplexOption, IListItemOption {
 
 	/**
 	 * {@inheritDoc}
-	 * @see org.odlabs.wiquery.core.options.IComplexOption#getJavascriptOption()
+	 * @see org.odlabs.wiquery.plugins.ckeditor.options.IAppendableOption#appendJavascriptOption(java.lang.StringBuffer)
 	 */
-	public CharSequence getJavascriptOption() {
-		StringBuffer buffer = new StringBuffer();
-		
+	public void appendJavascriptOption(StringBuffer buffer) {
 		for(KeyStrokeMask m : masks) {
-			buffer.append("CKEDITOR." + m.toString() + " + ");
+			buffer.append("CKEDITOR.").append(m.toString()).append(" + ");
 		}
 		
-		buffer.append(Integer.toString(keyCode));
+		buffer.append(keyCode);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see org.odlabs.wiquery.core.options.IComplexOption#getJavascriptOption()
+	 */
+	public CharSequence getJavascriptOption() {
+		StringBuffer buffer = new StringBuffer();
+		appendJavascriptOption(buffer);
 		return buffer;
 	}
 
@@ -21,7 +21,6 @@
  */
 package org.odlabs.wiquery.plugins.ckeditor.options;
 
-import org.odlabs.wiquery.core.options.IComplexOption;
 import org.odlabs.wiquery.core.options.IListItemOption;
 
 /**
@@ -34,7 +33,7 @@ import org.odlabs.wiquery.core.options.IListItemOption;
  * @author Julien Roche
  * @since 1.0
  */
-public class RegExpOption implements IComplexOption, IListItemOption {
+public class RegExpOption implements IAppendableOption, IListItemOption {
 	/**
 	 * Enumeration of possible flags
 	 */
@@ -58,16 +57,28 @@ public class RegExpOption implements IComplexOption, IListItemOption {
 		this.flag = flag;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * @see org.odlabs.wiquery.plugins.ckeditor.options.IAppendableOption#appendJavascriptOption(java.lang.StringBuffer)
+	 */
+	public void appendJavascriptOption(StringBuffer buffer) {
+		if(regExp != null){
+			buffer.append('/').append(regExp).append('/');
+			
+			if(flag != null){
+				buffer.append(flag.toString().toLowerCase());
+			}
+		}
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * @see org.odlabs.wiquery.core.options.IComplexOption#getJavascriptOption()
 	 */
 	public CharSequence getJavascriptOption() {
-		if(regExp == null){
-			return "";
-		}
-		
-		return "/" + regExp + "/" + (flag == null ? "" : flag.toString().toLowerCase()); 
+		StringBuffer buffer = new StringBuffer();
+		appendJavascriptOption(buffer);
+		return buffer;
 	}
 
 	/**
@@ -22,7 +22,6 @@
 package org.odlabs.wiquery.plugins.ckeditor.options;
 
 import org.odlabs.wiquery.core.javascript.JsUtils;
-import org.odlabs.wiquery.core.options.IComplexOption;
 
 /**
  * $Id: SizeOption.java roche.jul $
@@ -34,7 +33,7 @@ import org.odlabs.wiquery.core.options.IComplexOption;
  * @author Julien Roche
  * @since 1.0
  */
-public class SizeOption implements IComplexOption {
+public class SizeOption implements IAppendableOption {
 	public enum SizeMetric {
 		EM				("em"),
 		PIXEL			("px"),
@@ -73,13 +72,23 @@ public class SizeOption implements IComplexOption {
 		this.metric = metric;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * @see org.odlabs.wiquery.plugins.ckeditor.options.IAppendableOption#appendJavascriptOption(java.lang.StringBuffer)
+	 */
+	public void appendJavascriptOption(StringBuffer buffer) {
+		buffer.append(JsUtils.quotes(Integer.toString(value) 
+				+ (metric == null ? "" : metric.getValue())));
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * @see org.odlabs.wiquery.core.options.IComplexOption#getJavascriptOption()
 	 */
 	public CharSequence getJavascriptOption() {
-		return JsUtils.quotes(Integer.toString(value) 
-				+ (metric == null ? "" : metric.getValue()));
+		StringBuffer buffer = new StringBuffer();
+		appendJavascriptOption(buffer);
+		return buffer;
 	}
 
 	/**
@@ -25,7 +25,6 @@ import java.util.Map;
 import java.util.Map.Entry;
 
 import org.odlabs.wiquery.core.javascript.JsUtils;
-import org.odlabs.wiquery.core.options.IComplexOption;
 
 /**
  * $Id: FormatOption.java roche.jul $
@@ -37,7 +36,7 @@ import org.odlabs.wiquery.core.options.IComplexOption;
  * @author Julien Roche
  * @since 1.0
  */
-public class StyleOption implements IComplexOption {
+public class StyleOption implements IAppendableOption {
 	// Constants
 	/** Constant of serialization */
 	private static final long serialVersionUID = 7256572687230056118L;
@@ -73,39 +72,46 @@ public class StyleOption implements IComplexOption {
 		this.overrides = overrides;
 	}
 
-	/**
-	 * @return the DOM element
-	 */
-	public HtmlTagEnum getElement() {
-		return element;
-	}
-
 	/**
 	 * {@inheritDoc}
-	 * @see org.odlabs.wiquery.core.options.IComplexOption#getJavascriptOption()
+	 * @see org.odlabs.wiquery.plugins.ckeditor.options.IAppendableOption#appendJavascriptOption(java.lang.StringBuffer)
 	 */
-	public CharSequence getJavascriptOption() {
-		StringBuffer buffer = new StringBuffer();
-		buffer.append("{ element: " + JsUtils.quotes(element.toString()));
+	public void appendJavascriptOption(StringBuffer buffer) {
+		buffer.append("{ element: ").append(JsUtils.quotes(element.toString()));
 		
 		if(style != null && style.size() > 0){
 			buffer.append(", style: {");
 			for(Entry<String, String> entry : style.entrySet()) {
-				buffer.append(entry.getKey() + ": " + JsUtils.quotes(entry.getValue()) + ",");
+				buffer.append(entry.getKey()).append(": ").append(JsUtils.quotes(entry.getValue())).append(',');
 			}
-			buffer.append("}");
+			buffer.append('}');
 		}
 		
 		if(overrides != null && overrides.size() > 0){
 			buffer.append(", overrides: [{");
 			for(Entry<String, String> entry : overrides.entrySet()) {
-				buffer.append(entry.getKey() + ": " + JsUtils.quotes(entry.getValue()) + ",");
+				buffer.append(entry.getKey()).append(": ").append(JsUtils.quotes(entry.getValue())).append(',');
 			}
 			buffer.append("}]");
 		}
 		
-		buffer.append("}");
-		
+		buffer.append('}');
+	}
+
+	/**
+	 * @return the DOM element
+	 */
+	public HtmlTagEnum getElement() {
+		return element;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see org.odlabs.wiquery.core.options.IComplexOption#getJavascriptOption()
+	 */
+	public CharSequence getJavascriptOption() {
+		StringBuffer buffer = new StringBuffer();
+		appendJavascriptOption(buffer);
 		return buffer;
 	}
 
@@ -27,7 +27,7 @@ import java.util.Collection;
 import java.util.Iterator;
 
 import org.odlabs.wiquery.core.javascript.JsScope;
-import org.odlabs.wiquery.core.options.IComplexOption;
+import org.odlabs.wiquery.plugins.ckeditor.options.IAppendableOption;
 
 /**
  * $Id: ElementPathListOptions roche.jul $
@@ -39,7 +39,7 @@ import org.odlabs.wiquery.core.options.IComplexOption;
  * @author Julien Roche
  * @since 1.0
  */
-public class ElementPathListOptions extends ArrayList<JsScope> implements IComplexOption {
+public class ElementPathListOptions extends ArrayList<JsScope> implements IAppendableOption {
 	// Constants
 	/**	Constant of serialization */
 	private static final long serialVersionUID = 1779802328333735627L;
@@ -70,22 +70,30 @@ public class ElementPathListOptions extends ArrayList<JsScope> implements ICompl
 
 	/**
 	 * {@inheritDoc}
-	 * @see org.odlabs.wiquery.core.options.IComplexOption#getJavascriptOption()
+	 * @see org.odlabs.wiquery.plugins.ckeditor.options.IAppendableOption#appendJavascriptOption(java.lang.StringBuffer)
 	 */
-	public CharSequence getJavascriptOption() {
-		StringBuffer javascript = new StringBuffer();
-		javascript.append("[");
+	public void appendJavascriptOption(StringBuffer javascript) {
+		javascript.append('[');
 		
 		if(!isEmpty()){
 			Iterator<JsScope> iterator = iterator();
 			javascript.append(iterator.next().render());
 			
 			while(iterator.hasNext()){
-				javascript.append("," + iterator.next().render());
+				javascript.append(',').append(iterator.next().render());
 			}
 		}		
 		
-		javascript.append("]");
-		return javascript;
+		javascript.append(']');
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see org.odlabs.wiquery.core.options.IComplexOption#getJavascriptOption()
+	 */
+	public CharSequence getJavascriptOption() {
+		StringBuffer buffer = new StringBuffer();
+		appendJavascriptOption(buffer);
+		return buffer;
 	}
 }
@@ -26,7 +26,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 
-import org.odlabs.wiquery.core.options.IComplexOption;
+import org.odlabs.wiquery.plugins.ckeditor.options.IAppendableOption;
 
 /**
  * $Id: ListOptions.java roche.jul $
@@ -38,7 +38,7 @@ import org.odlabs.wiquery.core.options.IComplexOption;
  * @author Julien Roche
  * @since 1.0
  */
-public class ListOptions extends ArrayList<String> implements IComplexOption {
+public class ListOptions extends ArrayList<String> implements IAppendableOption {
 	// Constants
 	/**	Constant of serialization */
 	private static final long serialVersionUID = 1779802328333735627L;
@@ -69,22 +69,30 @@ public class ListOptions extends ArrayList<String> implements IComplexOption {
 
 	/**
 	 * {@inheritDoc}
-	 * @see org.odlabs.wiquery.core.options.IComplexOption#getJavascriptOption()
+	 * @see org.odlabs.wiquery.plugins.ckeditor.options.IAppendableOption#appendJavascriptOption(java.lang.StringBuffer)
 	 */
-	public CharSequence getJavascriptOption() {
-		StringBuffer javascript = new StringBuffer();
-		javascript.append("'");
+	public void appendJavascriptOption(StringBuffer javascript) {
+		javascript.append('\'');
 		
 		if(!isEmpty()){
 			Iterator<String> iterator = iterator();
 			javascript.append(iterator.next());
 			
 			while(iterator.hasNext()){
-				javascript.append("," + iterator.next());
+				javascript.append(',').append(iterator.next());
 			}
 		}		
 		
-		javascript.append("'");
-		return javascript;
+		javascript.append('\'');
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see org.odlabs.wiquery.core.options.IComplexOption#getJavascriptOption()
+	 */
+	public CharSequence getJavascriptOption() {
+		StringBuffer buffer = new StringBuffer();
+		appendJavascriptOption(buffer);
+		return buffer;
 	}
 }
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2009 WiQuery team
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.odlabs.wiquery.plugins.ckeditor.options.toolbar;
+
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * $Id: CKeditorCompiledToolbar.java roche.jul $
+ * 
+ * <p>
+ * 	Toolbar compiled by the {@link CKeditorToolbarCompiler}. The definition is 
+ * 	declared once per page into <code>window.wiQueryCKeditorToolbars</code> and
+ * 	the editors using it only reference it by its name.
+ * </p>
+ * 
+ * <p>
+ * 	Equal toolbars share the same instance in the whole application, even 
+ * 	after a deserialization. The behaviors keep the toolbar of the user as 
+ * 	their option, and compile it when their options are rendered.
+ * </p>
+ * 
+ * @author Julien Roche
+ * @since 1.1
+ */
+public final class CKeditorCompiledToolbar extends CKeditorToolbar {
+	/**
+	 * Serialized form of a compiled toolbar, compiled again when read
+	 * @author Julien Roche
+	 * @since 1.1
+	 */
+	private static final class SerializedForm implements Serializable {
+		// Constants
+		/** Constant of serialization */
+		private static final long serialVersionUID = 4409722396573102235L;
+		
+		// Properties
+		private final String definition;
+		
+		/**
+		 * Constructor
+		 * @param definition
+		 */
+		SerializedForm(String definition) {
+			super();
+			this.definition = definition;
+		}
+		
+		/**
+		 * @return the shared instance
+		 * @throws ObjectStreamException
+		 */
+		private Object readResolve() throws ObjectStreamException {
+			return CKeditorToolbarCompiler.intern(definition);
+		}
+	}
+	
+	// Constants
+	/** Constant of serialization */
+	private static final long serialVersionUID = -2719451325935706744L;
+	
+	/** Name of the javascript object holding the toolbar definitions */
+	public static final String TOOLBARS_VARIABLE = "window.wiQueryCKeditorToolbars";
+	
+	// Properties
+	private final String declaration;
+	private final String definition;
+	private final String name;
+	private final String reference;
+	
+	/**
+	 * Constructor
+	 * @param name Name of the toolbar
+	 * @param definition Javascript definition of the toolbar
+	 */
+	CKeditorCompiledToolbar(String name, String definition) {
+		super((List<CKeditorToolbarGroup>) null);
+		this.name = name;
+		this.definition = definition;
+		this.reference = TOOLBARS_VARIABLE + "." + name;
+		this.declaration = TOOLBARS_VARIABLE + " = " + TOOLBARS_VARIABLE + " || {}; " 
+			+ reference + " = " + definition + ";";
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @see org.odlabs.wiquery.plugins.ckeditor.options.toolbar.CKeditorToolbar#appendJavascriptOption(java.lang.StringBuffer)
+	 */
+	@Override
+	public void appendJavascriptOption(StringBuffer buffer) {
+		buffer.append(reference);
+	}
+	
+	/**
+	 * @return the javascript statement declaring the toolbar, to render once 
+	 * per page
+	 */
+	public String getDeclaration() {
+		return declaration;
+	}
+	
+	/**
+	 * @return the javascript definition of the toolbar
+	 */
+	public String getDefinition() {
+		return definition;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @see org.odlabs.wiquery.plugins.ckeditor.options.toolbar.CKeditorToolbar#getJavascriptOption()
+	 */
+	@Override
+	public CharSequence getJavascriptOption() {
+		return reference;
+	}
+	
+	/**
+	 * @return the name of the toolbar, computed from its definition
+	 */
+	public String getName() {
+		return name;
+	}
+	
+	/**
+	 * @return the serialized form
+	 * @throws ObjectStreamException
+	 */
+	private Object writeReplace() throws ObjectStreamException {
+		return new SerializedForm(definition);
+	}
+}
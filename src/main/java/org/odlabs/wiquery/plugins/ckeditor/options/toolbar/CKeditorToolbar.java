@@ -25,7 +25,7 @@ import java.util.Iterator;
 import java.util.List;
 
 import org.odlabs.wiquery.core.javascript.JsUtils;
-import org.odlabs.wiquery.core.options.IComplexOption;
+import org.odlabs.wiquery.plugins.ckeditor.options.IAppendableOption;
 
 /**
  * $Id: CKEditorToolbar.java roche.jul $
@@ -37,7 +37,7 @@ import org.odlabs.wiquery.core.options.IComplexOption;
  * @author Julien Roche
  * @since 1.0
  */
-public class CKeditorToolbar implements IComplexOption {
+public class CKeditorToolbar implements IAppendableOption {
 	/**
 	 * Enumeration of possible Toolbar	
 	 * @author Julien Roche
@@ -48,14 +48,14 @@ public class CKeditorToolbar implements IComplexOption {
 		FULL	("Full");
 		
 		// Properties
-		private final String value;
+		private final String javascriptValue;
 		
 		/**
 		 * Constructor
 		 * @param toolbarValue
 		 */
 		ToolbarType(String value){
-			this.value = value;
+			this.javascriptValue = JsUtils.quotes(value);
 		}
 
 		/**
@@ -64,7 +64,7 @@ public class CKeditorToolbar implements IComplexOption {
 		 */
 		@Override
 		public String toString() {
-			return JsUtils.quotes(value);
+			return javascriptValue;
 		}
 	}
 	
@@ -96,26 +96,55 @@ public class CKeditorToolbar implements IComplexOption {
 	
 	/**
 	 * {@inheritDoc}
-	 * @see org.odlabs.wiquery.core.options.IComplexOption#getJavascriptOption()
+	 * @see org.odlabs.wiquery.plugins.ckeditor.options.IAppendableOption#appendJavascriptOption(java.lang.StringBuffer)
 	 */
-	public CharSequence getJavascriptOption() {
+	public void appendJavascriptOption(StringBuffer buffer) {
 		if(toolbar != null){
-			StringBuffer buffer = new StringBuffer();
-			buffer.append("[");
+			buffer.append('[');
 			
 			if(toolbar.size() > 0){
 				Iterator<CKeditorToolbarGroup> iterator = toolbar.iterator();
-				buffer.append(iterator.next().getJavascriptOption());
+				iterator.next().appendJavascriptOption(buffer);
 				
 				while(iterator.hasNext()){
-					buffer.append(",'/'," + iterator.next().getJavascriptOption());
+					buffer.append(",'/',");
+					iterator.next().appendJavascriptOption(buffer);
 				}
 			}
 			
-			buffer.append("]");
+			buffer.append(']');
+			
+		} else {
+			buffer.append(toolbarType.toString());
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @see org.odlabs.wiquery.core.options.IComplexOption#getJavascriptOption()
+	 */
+	public CharSequence getJavascriptOption() {
+		if(toolbar != null){
+			StringBuffer buffer = new StringBuffer();
+			appendJavascriptOption(buffer);
 			return buffer;
 		}
 		
 		return toolbarType.toString();
 	}
+	
+	/**
+	 * @return the list of elements for the toolbar, or <code>null</code> for
+	 * a predefined toolbar
+	 */
+	public List<CKeditorToolbarGroup> getToolbar() {
+		return toolbar;
+	}
+	
+	/**
+	 * @return the type of toolbar, or <code>null</code> for a custom toolbar
+	 */
+	public ToolbarType getToolbarType() {
+		return toolbarType;
+	}
 }
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2009 WiQuery team
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.odlabs.wiquery.plugins.ckeditor.options.toolbar;
+
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.wicket.Application;
+import org.apache.wicket.MetaDataKey;
+
+/**
+ * $Id: CKeditorToolbarCompiler.java roche.jul $
+ * 
+ * <p>
+ * 	Compiler of custom toolbars. A toolbar is rendered once into its canonical
+ * 	javascript definition, and the {@link CKeditorCompiledToolbar} 
+ * 	representing this definition is shared by the whole application.
+ * </p>
+ * 
+ * <p>
+ * 	The compiled toolbars are kept into the application, and released with 
+ * 	it. Above {@link #MAX_TOOLBARS} definitions, or outside of an 
+ * 	application, the toolbars are compiled without being shared.
+ * </p>
+ * 
+ * @author Julien Roche
+ * @since 1.1
+ */
+public final class CKeditorToolbarCompiler {
+	// Constants
+	/** Length of the hash used into the name of the toolbars */
+	private static final int HASH_LENGTH = 12;
+	
+	/** Maximum number of compiled toolbars kept by an application */
+	public static final int MAX_TOOLBARS = 256;
+	
+	/** Key of the compiled toolbars, by definition, into the application */
+	private static final MetaDataKey<ConcurrentMap<String, CKeditorCompiledToolbar>> TOOLBARS_KEY =
+		new MetaDataKey<ConcurrentMap<String, CKeditorCompiledToolbar>>() {
+			private static final long serialVersionUID = 1L;
+		};
+	
+	/**
+	 * Method compiling a toolbar
+	 * @param toolbar Toolbar
+	 * @return the compiled toolbar, or the toolbar itself if it is a predefined
+	 * toolbar or if it is already compiled
+	 */
+	public static CKeditorToolbar compile(CKeditorToolbar toolbar) {
+		if(toolbar instanceof CKeditorCompiledToolbar || toolbar.getToolbar() == null){
+			return toolbar;
+		}
+		
+		return intern(toolbar.getJavascriptOption().toString());
+	}
+	
+	/**
+	 * Method compiling a toolbar
+	 * @param toolbar List of elements for the toolbar
+	 * @return the compiled toolbar
+	 */
+	public static CKeditorCompiledToolbar compile(List<CKeditorToolbarGroup> toolbar) {
+		return intern(new CKeditorToolbar(toolbar).getJavascriptOption().toString());
+	}
+	
+	/**
+	 * @return the compiled toolbars of the current application, or null 
+	 * outside of an application
+	 */
+	private static synchronized ConcurrentMap<String, CKeditorCompiledToolbar> getToolbars() {
+		if(!Application.exists()){
+			return null;
+		}
+		
+		Application application = Application.get();
+		ConcurrentMap<String, CKeditorCompiledToolbar> toolbars = application.getMetaData(TOOLBARS_KEY);
+		
+		if(toolbars == null){
+			toolbars = new ConcurrentHashMap<String, CKeditorCompiledToolbar>();
+			application.setMetaData(TOOLBARS_KEY, toolbars);
+		}
+		
+		return toolbars;
+	}
+	
+	/**
+	 * Method computing the name of a toolbar from its definition
+	 * @param definition
+	 * @return the name
+	 */
+	private static String hash(String definition) {
+		try {
+			byte[] digest = MessageDigest.getInstance("MD5").digest(definition.getBytes("UTF-8"));
+			StringBuffer buffer = new StringBuffer("t");
+			
+			for(int i = 0; i < HASH_LENGTH / 2; i++){
+				buffer.append(Character.forDigit((digest[i] >> 4) & 0xF, 16));
+				buffer.append(Character.forDigit(digest[i] & 0xF, 16));
+			}
+			
+			return buffer.toString();
+			
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+			
+		} catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	/**
+	 * Method retrieving the shared compiled toolbar of a definition
+	 * @param definition Javascript definition of the toolbar
+	 * @return the compiled toolbar
+	 */
+	static CKeditorCompiledToolbar intern(String definition) {
+		ConcurrentMap<String, CKeditorCompiledToolbar> toolbars = getToolbars();
+		CKeditorCompiledToolbar compiled = toolbars == null ? null : toolbars.get(definition);
+		
+		if(compiled == null){
+			compiled = new CKeditorCompiledToolbar(hash(definition), definition);
+			
+			if(toolbars == null || toolbars.size() >= MAX_TOOLBARS){
+				return compiled;
+			}
+			
+			CKeditorCompiledToolbar previous = toolbars.putIfAbsent(definition, compiled);
+			
+			if(previous != null){
+				compiled = previous;
+			}
+		}
+		
+		return compiled;
+	}
+	
+	/**
+	 * Private constructor
+	 */
+	private CKeditorToolbarCompiler() {
+		super();
+	}
+}
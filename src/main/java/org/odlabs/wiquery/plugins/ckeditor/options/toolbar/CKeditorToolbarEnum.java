@@ -21,6 +21,8 @@
  */
 package org.odlabs.wiquery.plugins.ckeditor.options.toolbar;
 
+import org.odlabs.wiquery.core.javascript.JsUtils;
+
 /**
  * $Id: CKEditorToolbarEnum.java roche.jul $
  * 
@@ -31,7 +33,7 @@ package org.odlabs.wiquery.plugins.ckeditor.options.toolbar;
  * @author Julien Roche
  * @since 1.0
  */
-public enum CKeditorToolbarEnum implements CKeditorToolbarEnumLabel {
+public enum CKeditorToolbarEnum implements CKeditorToolbarQuotedLabel {
 	ABOUT				("About"),
 	ANCHOR				("Anchor"),
 	BGCOLOR				("BGColor"),
@@ -92,6 +94,7 @@ public enum CKeditorToolbarEnum implements CKeditorToolbarEnumLabel {
 	UNLINK				("Unlink");
 	
 	// Properties
+	private final String javascriptValue;
 	private final String toolbarValue;
 	
 	/**
@@ -100,6 +103,15 @@ public enum CKeditorToolbarEnum implements CKeditorToolbarEnumLabel {
 	 */
 	CKeditorToolbarEnum(String toolbarValue){
 		this.toolbarValue = toolbarValue;
+		this.javascriptValue = JsUtils.quotes(toolbarValue);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see org.odlabs.wiquery.plugins.ckeditor.options.toolbar.CKeditorToolbarQuotedLabel#getJavascriptValue()
+	 */
+	public String getJavascriptValue() {
+		return javascriptValue;
 	}
 
 	/**
@@ -26,7 +26,7 @@ import java.util.Iterator;
 import java.util.List;
 
 import org.odlabs.wiquery.core.javascript.JsUtils;
-import org.odlabs.wiquery.core.options.IComplexOption;
+import org.odlabs.wiquery.plugins.ckeditor.options.IAppendableOption;
 
 /**
  * $Id: CKeditorToolbarGroup.java roche.jul $
@@ -34,54 +34,142 @@ import org.odlabs.wiquery.core.options.IComplexOption;
  * <p>
  * 	Group of toolbar elements
  * </p>
+ * 
+ * <p>
+ * 	When the group contains only {@link CKeditorToolbarQuotedLabel} (like the
+ * 	elements of {@link CKeditorToolbarEnum}), its javascript representation is
+ * 	kept and reused as long as the elements are the same.
+ * </p>
  *
  * @author Julien Roche
  * @since 1.0
  */
-public class CKeditorToolbarGroup extends ArrayList<List<? extends CKeditorToolbarEnumLabel>> implements IComplexOption {
+public class CKeditorToolbarGroup extends ArrayList<List<? extends CKeditorToolbarEnumLabel>> implements IAppendableOption {
 	// Constants
 	/** Constant of serialization */
 	private static final long serialVersionUID = -6331798744153129415L;
 	
+	// Properties
+	private transient String fragment;
+	private transient CKeditorToolbarEnumLabel[][] fragmentElements;
+	
 	/**
-	 * Method converting a list of elements in a charsquence
+	 * Method appending a list of elements into the buffer
+	 * @param buffer
 	 * @param elements
-	 * @return the charsequence
 	 */
-	private CharSequence getInternalJavascriptArray(List<? extends CKeditorToolbarEnumLabel> elements){
-		StringBuffer buffer = new StringBuffer();
-		buffer.append("[");
+	private void appendInternalJavascriptArray(StringBuffer buffer, List<? extends CKeditorToolbarEnumLabel> elements){
+		buffer.append('[');
 		
 		if(elements != null && elements.size() > 0){
 			Iterator<? extends CKeditorToolbarEnumLabel> iterator = elements.iterator();
-			buffer.append(JsUtils.quotes(iterator.next().getToolbarValue()));
+			appendInternalJavascriptValue(buffer, iterator.next());
 			
 			while(iterator.hasNext()){
-				buffer.append("," + JsUtils.quotes(iterator.next().getToolbarValue()));
+				buffer.append(',');
+				appendInternalJavascriptValue(buffer, iterator.next());
 			}
 		}
 		
-		buffer.append("]");
+		buffer.append(']');
+	}
+	
+	/**
+	 * Method appending the quoted value of an element into the buffer
+	 * @param buffer
+	 * @param element
+	 */
+	private void appendInternalJavascriptValue(StringBuffer buffer, CKeditorToolbarEnumLabel element){
+		if(element instanceof CKeditorToolbarQuotedLabel){
+			buffer.append(((CKeditorToolbarQuotedLabel) element).getJavascriptValue());
+			
+		} else {
+			buffer.append(JsUtils.quotes(element.getToolbarValue()));
+		}
+	}
+	
+	/**
+	 * Method copying the elements of the group, if they can be cached
+	 * @return the copy, or <code>null</code> if an element is not a 
+	 * {@link CKeditorToolbarQuotedLabel}
+	 */
+	private CKeditorToolbarEnumLabel[][] copyQuotedElements(){
+		CKeditorToolbarEnumLabel[][] copy = new CKeditorToolbarEnumLabel[size()][];
 		
-		return buffer;
+		for(int i = 0; i < copy.length; i++){
+			List<? extends CKeditorToolbarEnumLabel> elements = get(i);
+			copy[i] = new CKeditorToolbarEnumLabel[elements == null ? 0 : elements.size()];
+			
+			for(int j = 0; j < copy[i].length; j++){
+				if(!(elements.get(j) instanceof CKeditorToolbarQuotedLabel)){
+					return null;
+				}
+				
+				copy[i][j] = elements.get(j);
+			}
+		}
+		
+		return copy;
 	}
-
+	
+	/**
+	 * @return true if the kept fragment still represents the elements of the group
+	 */
+	private boolean isFragmentUpToDate(){
+		if(fragmentElements == null || fragmentElements.length != size()){
+			return false;
+		}
+		
+		for(int i = 0; i < fragmentElements.length; i++){
+			List<? extends CKeditorToolbarEnumLabel> elements = get(i);
+			
+			if(fragmentElements[i].length != (elements == null ? 0 : elements.size())){
+				return false;
+			}
+			
+			for(int j = 0; j < fragmentElements[i].length; j++){
+				if(fragmentElements[i][j] != elements.get(j)){
+					return false;
+				}
+			}
+		}
+		
+		return true;
+	}
+	
 	/**
 	 * {@inheritDoc}
-	 * @see org.odlabs.wiquery.core.options.IComplexOption#getJavascriptOption()
+	 * @see org.odlabs.wiquery.plugins.ckeditor.options.IAppendableOption#appendJavascriptOption(java.lang.StringBuffer)
 	 */
-	public final CharSequence getJavascriptOption(){
-		StringBuffer buffer = new StringBuffer();
-
+	public final void appendJavascriptOption(StringBuffer buffer) {
+		if(isFragmentUpToDate()){
+			buffer.append(fragment);
+			return;
+		}
+		
+		int start = buffer.length();
+		
 		if(size() > 0){
 			Iterator<List<? extends CKeditorToolbarEnumLabel>> iterator = iterator();
-			buffer.append(getInternalJavascriptArray(iterator.next()));
+			appendInternalJavascriptArray(buffer, iterator.next());
 			
 			while(iterator.hasNext()){
-				buffer.append("," + getInternalJavascriptArray(iterator.next()));
+				buffer.append(',');
+				appendInternalJavascriptArray(buffer, iterator.next());
 			}
 		}
 		
+		fragmentElements = copyQuotedElements();
+		fragment = fragmentElements == null ? null : buffer.substring(start);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see org.odlabs.wiquery.core.options.IComplexOption#getJavascriptOption()
+	 */
+	public final CharSequence getJavascriptOption(){
+		StringBuffer buffer = new StringBuffer();
+		appendJavascriptOption(buffer);
 		return buffer;
 	}
 }
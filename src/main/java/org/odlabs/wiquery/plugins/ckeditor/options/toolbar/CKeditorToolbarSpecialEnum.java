@@ -21,6 +21,8 @@
  */
 package org.odlabs.wiquery.plugins.ckeditor.options.toolbar;
 
+import org.odlabs.wiquery.core.javascript.JsUtils;
+
 /**
  * $Id: CKEditorToolbarEnum.java roche.jul $
  * 
@@ -31,10 +33,11 @@ package org.odlabs.wiquery.plugins.ckeditor.options.toolbar;
  * @author Julien Roche
  * @since 1.0
  */
-public enum CKeditorToolbarSpecialEnum implements CKeditorToolbarEnumLabel {
+public enum CKeditorToolbarSpecialEnum implements CKeditorToolbarQuotedLabel {
 	SEPERATOR			("-");
 	
 	// Properties
+	private final String javascriptValue;
 	private final String toolbarValue;
 	
 	/**
@@ -43,6 +46,15 @@ public enum CKeditorToolbarSpecialEnum implements CKeditorToolbarEnumLabel {
 	 */
 	CKeditorToolbarSpecialEnum(String toolbarValue){
 		this.toolbarValue = toolbarValue;
+		this.javascriptValue = JsUtils.quotes(toolbarValue);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see org.odlabs.wiquery.plugins.ckeditor.options.toolbar.CKeditorToolbarQuotedLabel#getJavascriptValue()
+	 */
+	public String getJavascriptValue() {
+		return javascriptValue;
 	}
 
 	/**
@@ -0,0 +1,444 @@
+/*
+ * Copyright (c) 2009 WiQuery team
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.odlabs.wiquery.plugins.ckeditor.resource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import org.odlabs.wiquery.plugins.ckeditor.CKeditorBehavior;
+
+/**
+ * $Id: CKeditorAsset.java roche.jul $
+ * 
+ * <p>
+ * 	Immutable content of a file of the CKeditor tree, with its compressed
+ * 	variants. The <code>.gz</code> and <code>.br</code> files generated by
+ * 	the build are used, so the files of the tree are not compressed at 
+ * 	runtime. Only the generated assets, and the files of a tree built 
+ * 	without the <code>gzip</code> command, get their gzip variant computed 
+ * 	once, at loading. The hash of the content is used by the 
+ * 	<code>ETag</code> headers. The contents are kept outside of
+ * 	the heap, into direct buffers, so they do not weigh on the collections.
+ * </p>
+ * 
+ * @author Julien Roche
+ * @since 1.1
+ */
+public final class CKeditorAsset {
+	// Constants
+	/** Size of the buffers used to read the files */
+	private static final int BUFFER_SIZE = 8192;
+	
+	/** Length of the digests, in hexadecimal characters */
+	private static final int DIGEST_LENGTH = 16;
+	
+	/**
+	 * $Id: CKeditorAsset.java roche.jul $
+	 * 
+	 * <p>
+	 * 	Digest of an asset, with its available encodings: all that is needed
+	 * 	to answer a revalidation, without the content
+	 * </p>
+	 * 
+	 * @author Julien Roche
+	 * @since 1.1
+	 */
+	public static final class Digest {
+		// Properties
+		private final boolean brotli;
+		private final boolean compressible;
+		private final String digest;
+		private final boolean gzip;
+		
+		/**
+		 * Constructor
+		 * @param asset Asset
+		 */
+		private Digest(CKeditorAsset asset) {
+			super();
+			this.digest = asset.digest;
+			this.compressible = asset.isCompressible();
+			this.brotli = asset.brotli != null;
+			this.gzip = asset.gzip != null;
+		}
+		
+		/**
+		 * @param encoding Encoding of the response
+		 * @return the quoted entity tag of the content with this encoding
+		 */
+		public String getETag(CKeditorEncoding encoding) {
+			return CKeditorAsset.getETag(digest, encoding);
+		}
+		
+		/**
+		 * @return true if the asset gains to be compressed
+		 */
+		public boolean isCompressible() {
+			return compressible;
+		}
+		
+		/**
+		 * Method choosing the encoding of a response
+		 * @param acceptEncoding Value of the <code>Accept-Encoding</code> 
+		 * header (can be null)
+		 * @return the smallest encoding accepted by the client and available
+		 * for the asset
+		 */
+		public CKeditorEncoding negotiate(String acceptEncoding) {
+			return compressible ? CKeditorEncoding.negotiate(acceptEncoding, brotli, gzip) 
+					: CKeditorEncoding.IDENTITY;
+		}
+	}
+	
+	/**
+	 * Method creating an asset from a generated content
+	 * @param path Path of the asset, relative to the CKeditor tree
+	 * @param content Content
+	 * @param lastModified Last modification time, in milliseconds
+	 * @return the asset
+	 */
+	public static CKeditorAsset create(String path, byte[] content, long lastModified) {
+		String contentType = getContentType(path);
+		byte[] gzip = isCompressible(contentType) ? gzip(content) : null;
+		return new CKeditorAsset(path, contentType, lastModified, content, gzip, null);
+	}
+	
+	/**
+	 * Method computing the digest of a content
+	 * @param content Content, left unchanged
+	 * @return the hexadecimal digest
+	 */
+	public static String digest(ByteBuffer content) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("MD5");
+			digest.update(content.duplicate());
+			byte[] hash = digest.digest();
+			StringBuffer value = new StringBuffer(DIGEST_LENGTH);
+			
+			for(int i = 0; i < DIGEST_LENGTH / 2; i++){
+				value.append(Character.forDigit((hash[i] >> 4) & 0xF, 16));
+				value.append(Character.forDigit(hash[i] & 0xF, 16));
+			}
+			
+			return value.toString();
+			
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	/**
+	 * Method retrieving the content type of a file
+	 * @param path Path of the file
+	 * @return the content type
+	 */
+	public static String getContentType(String path) {
+		String extension = path.substring(path.lastIndexOf('.') + 1).toLowerCase();
+		
+		if("js".equals(extension)){
+			return "text/javascript";
+			
+		} else if("css".equals(extension)){
+			return "text/css";
+			
+		} else if("html".equals(extension) || "htm".equals(extension)){
+			return "text/html";
+			
+		} else if("txt".equals(extension)){
+			return "text/plain";
+			
+		} else if("png".equals(extension)){
+			return "image/png";
+			
+		} else if("gif".equals(extension)){
+			return "image/gif";
+			
+		} else if("jpg".equals(extension) || "jpeg".equals(extension)){
+			return "image/jpeg";
+		}
+		
+		return "application/octet-stream";
+	}
+	
+	/**
+	 * Method computing the strong entity tag of a content. Each encoding is
+	 * a different representation, so it gets its own tag.
+	 * @param digest Digest of the content
+	 * @param encoding Encoding of the response
+	 * @return the quoted entity tag
+	 */
+	static String getETag(String digest, CKeditorEncoding encoding) {
+		return encoding == CKeditorEncoding.IDENTITY 
+			? "\"" + digest + "\"" 
+			: "\"" + digest + "-" + encoding.getName() + "\"";
+	}
+	
+	/**
+	 * Method compressing a content with gzip
+	 * @param content Content
+	 * @return the compressed content, or null if it is not smaller
+	 */
+	private static byte[] gzip(byte[] content) {
+		try {
+			ByteArrayOutputStream buffer = new ByteArrayOutputStream(content.length / 3 + 64);
+			GZIPOutputStream out = new GZIPOutputStream(buffer, BUFFER_SIZE) {
+				{
+					def.setLevel(Deflater.BEST_COMPRESSION);
+				}
+			};
+			out.write(content);
+			out.close();
+			
+			return buffer.size() < content.length ? buffer.toByteArray() : null;
+			
+		} catch (IOException e) {
+			throw new IllegalStateException("Unable to compress the content", e);
+		}
+	}
+	
+	/**
+	 * @param contentType Content type
+	 * @return true if a file of this type gains to be compressed
+	 */
+	private static boolean isCompressible(String contentType) {
+		return contentType.startsWith("text/");
+	}
+	
+	/**
+	 * Method loading an asset from the classpath
+	 * @param path Path of the asset, relative to the CKeditor tree
+	 * @return the asset, or null if the file does not exist
+	 */
+	public static CKeditorAsset load(String path) {
+		URL url = CKeditorBehavior.class.getResource(path);
+		
+		if(url == null){
+			return null;
+		}
+		
+		try {
+			URLConnection connection = url.openConnection();
+			long lastModified = connection.getLastModified();
+			byte[] content = read(connection.getInputStream());
+			String contentType = getContentType(path);
+			byte[] gzip = null;
+			byte[] brotli = null;
+			
+			if(isCompressible(contentType)){
+				brotli = read(CKeditorBehavior.class.getResource(path + CKeditorEncoding.BROTLI.getExtension()));
+				gzip = read(CKeditorBehavior.class.getResource(path + CKeditorEncoding.GZIP.getExtension()));
+				
+				if(gzip == null){
+					// Tree built without the gzip command
+					gzip = gzip(content);
+				}
+			}
+			
+			return new CKeditorAsset(path, contentType, lastModified, content, gzip, brotli);
+			
+		} catch (IOException e) {
+			throw new IllegalStateException("Unable to read the CKeditor file " + path, e);
+		}
+	}
+	
+	/**
+	 * Method reading a stream fully
+	 * @param in Stream, closed at the end
+	 * @return the content
+	 * @throws IOException
+	 */
+	static byte[] read(InputStream in) throws IOException {
+		try {
+			ByteArrayOutputStream out = new ByteArrayOutputStream(BUFFER_SIZE);
+			byte[] buffer = new byte[BUFFER_SIZE];
+			int read;
+			
+			while((read = in.read(buffer)) != -1){
+				out.write(buffer, 0, read);
+			}
+			
+			return out.toByteArray();
+			
+		} finally {
+			in.close();
+		}
+	}
+	
+	/**
+	 * Method copying a content outside of the heap
+	 * @param bytes Content (can be null)
+	 * @return a read only direct buffer, or null
+	 */
+	private static ByteBuffer toDirectBuffer(byte[] bytes) {
+		if(bytes == null){
+			return null;
+		}
+		
+		ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+		buffer.put(bytes);
+		buffer.flip();
+		return buffer.asReadOnlyBuffer();
+	}
+	
+	/**
+	 * Method reading an optional file
+	 * @param url Url of the file (can be null)
+	 * @return the content, or null
+	 * @throws IOException
+	 */
+	private static byte[] read(URL url) throws IOException {
+		return url == null ? null : read(url.openStream());
+	}
+	
+	// Properties
+	private final ByteBuffer brotli;
+	private final ByteBuffer content;
+	private final String contentType;
+	private final String digest;
+	private final Digest digestWithEncodings;
+	private final ByteBuffer gzip;
+	private final long lastModified;
+	private final String path;
+	
+	/**
+	 * Constructor
+	 * @param path Path of the asset
+	 * @param contentType Content type
+	 * @param lastModified Last modification time
+	 * @param content Content
+	 * @param gzip Gzip variant (can be null)
+	 * @param brotli Brotli variant (can be null)
+	 */
+	private CKeditorAsset(String path, String contentType, long lastModified,
+			byte[] content, byte[] gzip, byte[] brotli) {
+		super();
+		this.path = path;
+		this.contentType = contentType;
+		this.lastModified = lastModified;
+		this.content = toDirectBuffer(content);
+		this.gzip = toDirectBuffer(gzip);
+		this.brotli = toDirectBuffer(brotli);
+		this.digest = digest(this.content);
+		this.digestWithEncodings = new Digest(this);
+	}
+	
+	/**
+	 * @param encoding Encoding
+	 * @return a read only view of the content with this encoding, or null
+	 * if the asset does not have it
+	 */
+	public ByteBuffer getContent(CKeditorEncoding encoding) {
+		ByteBuffer buffer = getBuffer(encoding);
+		return buffer == null ? null : buffer.duplicate();
+	}
+	
+	/**
+	 * @param encoding Encoding
+	 * @return the shared buffer of the content with this encoding, or null
+	 */
+	private ByteBuffer getBuffer(CKeditorEncoding encoding) {
+		switch (encoding) {
+		case BROTLI:
+			return brotli;
+		case GZIP:
+			return gzip;
+		default:
+			return content;
+		}
+	}
+	
+	/**
+	 * @return the content type
+	 */
+	public String getContentType() {
+		return contentType;
+	}
+	
+	/**
+	 * @return the digest of the asset, with its available encodings
+	 */
+	public Digest getDigest() {
+		return digestWithEncodings;
+	}
+	
+	/**
+	 * @param encoding Encoding of the response
+	 * @return the quoted entity tag of the content with this encoding
+	 */
+	public String getETag(CKeditorEncoding encoding) {
+		return getETag(digest, encoding);
+	}
+	
+	/**
+	 * @return the last modification time, in milliseconds
+	 */
+	public long getLastModified() {
+		return lastModified;
+	}
+	
+	/**
+	 * @param encoding Encoding
+	 * @return the length of the content with this encoding, or -1
+	 */
+	public int getLength(CKeditorEncoding encoding) {
+		ByteBuffer buffer = getBuffer(encoding);
+		return buffer == null ? -1 : buffer.capacity();
+	}
+	
+	/**
+	 * @return the number of bytes kept in memory by the asset
+	 */
+	public long getMemory() {
+		return content.capacity() + (gzip == null ? 0 : gzip.capacity()) 
+			+ (brotli == null ? 0 : brotli.capacity());
+	}
+	
+	/**
+	 * @return the path, relative to the CKeditor tree
+	 */
+	public String getPath() {
+		return path;
+	}
+	
+	/**
+	 * @param encoding Encoding
+	 * @return true if the asset has a content with this encoding
+	 */
+	public boolean hasEncoding(CKeditorEncoding encoding) {
+		return getBuffer(encoding) != null;
+	}
+	
+	/**
+	 * @return true if the asset gains to be compressed
+	 */
+	public boolean isCompressible() {
+		return isCompressible(contentType);
+	}
+}
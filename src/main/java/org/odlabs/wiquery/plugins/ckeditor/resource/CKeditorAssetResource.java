@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2009 WiQuery team
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.odlabs.wiquery.plugins.ckeditor.resource;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.wicket.Request;
+import org.apache.wicket.RequestCycle;
+import org.apache.wicket.Response;
+import org.apache.wicket.markup.html.WebResource;
+import org.apache.wicket.protocol.http.WebRequest;
+import org.apache.wicket.protocol.http.WebResponse;
+import org.apache.wicket.protocol.http.servlet.AbortWithWebErrorCodeException;
+import org.apache.wicket.util.resource.IResourceStream;
+
+/**
+ * $Id: CKeditorAssetResource.java roche.jul $
+ * 
+ * <p>
+ * 	Shared resource serving a file of the CKeditor tree, compressed with the
+ * 	best encoding accepted by the browser. The <code>ETag</code> is the hash 
+ * 	of the content, and a matching <code>If-None-Match</code> is answered 
+ * 	with a 304 status before any content is streamed. The digest of an 
+ * 	asset loaded once is kept by {@link CKeditorAssets}, so the asset is
+ * 	not loaded again, after its eviction, to answer a revalidation.
+ * </p>
+ * 
+ * @author Julien Roche
+ * @since 1.1
+ */
+public class CKeditorAssetResource extends WebResource {
+	// Constants
+	/** Cache duration of the immutable resources, in seconds (one year) */
+	public static final int IMMUTABLE_CACHE_DURATION = 31536000;
+	
+	/** Constant of serialization */
+	private static final long serialVersionUID = 1L;
+	
+	/** Stream resolved by the current request, reused by its headers */
+	private static final ThreadLocal<CKeditorAssetStream> STREAM = new ThreadLocal<CKeditorAssetStream>();
+	
+	/**
+	 * Method retrieving a header of the current request
+	 * @param name Name of the header
+	 * @return the value, or null if there is no request or no header
+	 */
+	static String getHeader(String name) {
+		RequestCycle requestCycle = RequestCycle.get();
+		Request request = requestCycle == null ? null : requestCycle.getRequest();
+		
+		if(request instanceof WebRequest){
+			return ((WebRequest) request).getHttpServletRequest().getHeader(name);
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Method checking the <code>If-None-Match</code> header of a request
+	 * @param ifNoneMatch Value of the header (can be null)
+	 * @param etag Entity tag of the content
+	 * @return true if the client already has the content
+	 */
+	static boolean isNotModified(String ifNoneMatch, String etag) {
+		if(ifNoneMatch == null){
+			return false;
+		}
+		
+		for(String token : ifNoneMatch.split(",")) {
+			String value = token.trim();
+			
+			// If-None-Match uses the weak comparison
+			if(value.startsWith("W/")){
+				value = value.substring(2);
+			}
+			
+			if("*".equals(value) || value.equals(etag)){
+				return true;
+			}
+		}
+		
+		return false;
+	}
+	
+	// Properties
+	private final boolean immutable;
+	private final String path;
+	
+	/**
+	 * Constructor
+	 * @param path Path of the file, relative to the CKeditor tree
+	 */
+	public CKeditorAssetResource(String path) {
+		this(path, false);
+	}
+	
+	/**
+	 * Constructor
+	 * @param path Path of the file, relative to the CKeditor tree
+	 * @param immutable True if the resource is served under a fingerprint, 
+	 * so the browsers can keep it forever
+	 */
+	public CKeditorAssetResource(String path, boolean immutable) {
+		super();
+		this.path = path;
+		this.immutable = immutable;
+		setCacheable(true);
+	}
+	
+	/**
+	 * @return the asset
+	 */
+	private CKeditorAsset getAsset() {
+		CKeditorAsset asset = loadAsset();
+		
+		if(asset == null){
+			throw new AbortWithWebErrorCodeException(HttpServletResponse.SC_NOT_FOUND);
+		}
+		
+		return asset;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @see org.apache.wicket.markup.html.WebResource#getCacheDuration()
+	 */
+	@Override
+	protected int getCacheDuration() {
+		return immutable ? IMMUTABLE_CACHE_DURATION : super.getCacheDuration();
+	}
+	
+	/**
+	 * @return the path
+	 */
+	public String getPath() {
+		return path;
+	}
+	
+	/**
+	 * Method retrieving the asset to serve
+	 * @return the asset, or null if it does not exist
+	 */
+	protected CKeditorAsset loadAsset() {
+		return CKeditorAssets.get(path);
+	}
+	
+	/**
+	 * @return true if the resource is served under a fingerprint
+	 */
+	public boolean isImmutable() {
+		return immutable;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @see org.apache.wicket.Resource#getResourceStream()
+	 */
+	@Override
+	public IResourceStream getResourceStream() {
+		String acceptEncoding = getHeader("Accept-Encoding");
+		String ifNoneMatch = getHeader("If-None-Match");
+		
+		// The digest of an asset already loaded is enough to revalidate it
+		CKeditorAsset.Digest digest = ifNoneMatch == null ? null : CKeditorAssets.getDigest(path);
+		
+		if(digest != null){
+			checkNotModified(ifNoneMatch, digest, digest.negotiate(acceptEncoding));
+		}
+		
+		CKeditorAsset asset = getAsset();
+		CKeditorEncoding encoding = asset.getDigest().negotiate(acceptEncoding);
+		checkNotModified(ifNoneMatch, asset.getDigest(), encoding);
+		
+		CKeditorAssetStream stream = new CKeditorAssetStream(asset, encoding);
+		STREAM.set(stream);
+		return stream;
+	}
+	
+	/**
+	 * Method answering with a 304 status when the client already has the
+	 * content
+	 * @param ifNoneMatch Value of the <code>If-None-Match</code> header (can
+	 * be null)
+	 * @param digest Digest of the asset
+	 * @param encoding Encoding of the response
+	 */
+	private void checkNotModified(String ifNoneMatch, CKeditorAsset.Digest digest, 
+			CKeditorEncoding encoding) {
+		if(isNotModified(ifNoneMatch, digest.getETag(encoding))){
+			// The headers are sent with the 304 status, without the content
+			Response response = RequestCycle.get().getResponse();
+			
+			if(response instanceof WebResponse){
+				super.setHeaders((WebResponse) response);
+				setHeaders((WebResponse) response, digest, encoding);
+			}
+			
+			throw new AbortWithWebErrorCodeException(HttpServletResponse.SC_NOT_MODIFIED);
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @see org.apache.wicket.markup.html.WebResource#setHeaders(org.apache.wicket.protocol.http.WebResponse)
+	 */
+	@Override
+	protected void setHeaders(WebResponse response) {
+		super.setHeaders(response);
+		
+		// The asset and the encoding were resolved with the stream
+		CKeditorAssetStream stream = STREAM.get();
+		STREAM.remove();
+		
+		if(stream != null && path.equals(stream.getAsset().getPath())){
+			setHeaders(response, stream.getAsset().getDigest(), stream.getEncoding());
+			
+		} else {
+			CKeditorAsset asset = getAsset();
+			setHeaders(response, asset.getDigest(), 
+					asset.getDigest().negotiate(getHeader("Accept-Encoding")));
+		}
+	}
+	
+	/**
+	 * Method setting the headers of a response
+	 * @param response Response
+	 * @param digest Digest of the asset
+	 * @param encoding Encoding of the response
+	 */
+	private void setHeaders(WebResponse response, CKeditorAsset.Digest digest, CKeditorEncoding encoding) {
+		response.setHeader("ETag", digest.getETag(encoding));
+		
+		if(immutable){
+			response.setHeader("Cache-Control", "public, max-age=" + IMMUTABLE_CACHE_DURATION + ", immutable");
+		}
+		
+		if(digest.isCompressible()){
+			response.setHeader("Vary", "Accept-Encoding");
+			
+			if(encoding != CKeditorEncoding.IDENTITY){
+				response.setHeader("Content-Encoding", encoding.getName());
+			}
+		}
+	}
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2009 WiQuery team
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.odlabs.wiquery.plugins.ckeditor.resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import org.apache.wicket.util.resource.AbstractResourceStream;
+import org.apache.wicket.util.time.Time;
+
+/**
+ * $Id: CKeditorAssetStream.java roche.jul $
+ * 
+ * <p>
+ * 	Resource stream reading the content of a {@link CKeditorAsset} with the
+ * 	given encoding, without copy.
+ * </p>
+ * 
+ * @author Julien Roche
+ * @since 1.1
+ */
+public class CKeditorAssetStream extends AbstractResourceStream {
+	// Constants
+	/** Constant of serialization */
+	private static final long serialVersionUID = 1L;
+	
+	/**
+	 * $Id: CKeditorAssetStream.java roche.jul $
+	 * 
+	 * <p>
+	 * 	Input stream over a byte buffer
+	 * </p>
+	 * 
+	 * @author Julien Roche
+	 * @since 1.1
+	 */
+	private static class ByteBufferInputStream extends InputStream {
+		// Properties
+		private final ByteBuffer buffer;
+		
+		/**
+		 * Constructor
+		 * @param buffer Buffer to read
+		 */
+		public ByteBufferInputStream(ByteBuffer buffer) {
+			super();
+			this.buffer = buffer;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 * @see java.io.InputStream#available()
+		 */
+		@Override
+		public int available() {
+			return buffer.remaining();
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 * @see java.io.InputStream#read()
+		 */
+		@Override
+		public int read() {
+			return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 * @see java.io.InputStream#read(byte[], int, int)
+		 */
+		@Override
+		public int read(byte[] bytes, int offset, int length) {
+			if(length == 0){
+				return 0;
+			}
+			
+			if(!buffer.hasRemaining()){
+				return -1;
+			}
+			
+			int read = Math.min(length, buffer.remaining());
+			buffer.get(bytes, offset, read);
+			return read;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 * @see java.io.InputStream#skip(long)
+		 */
+		@Override
+		public long skip(long n) {
+			int skipped = (int) Math.max(0L, Math.min(n, buffer.remaining()));
+			buffer.position(buffer.position() + skipped);
+			return skipped;
+		}
+	}
+	
+	// Properties
+	private final transient CKeditorAsset asset;
+	private final CKeditorEncoding encoding;
+	
+	/**
+	 * Constructor
+	 * @param asset Asset to read
+	 * @param encoding Encoding of the content, available for the asset
+	 */
+	public CKeditorAssetStream(CKeditorAsset asset, CKeditorEncoding encoding) {
+		super();
+		this.asset = asset;
+		this.encoding = encoding;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @see org.apache.wicket.util.resource.IResourceStream#close()
+	 */
+	public void close() throws IOException {
+		// Nothing to release
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @see org.apache.wicket.util.resource.AbstractResourceStream#getContentType()
+	 */
+	@Override
+	public String getContentType() {
+		return asset.getContentType();
+	}
+	
+	/**
+	 * @return the asset
+	 */
+	public CKeditorAsset getAsset() {
+		return asset;
+	}
+	
+	/**
+	 * @return the encoding of the content
+	 */
+	public CKeditorEncoding getEncoding() {
+		return encoding;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @see org.apache.wicket.util.resource.IResourceStream#getInputStream()
+	 */
+	public InputStream getInputStream() {
+		return new ByteBufferInputStream(asset.getContent(encoding));
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @see org.apache.wicket.util.resource.AbstractResourceStream#lastModifiedTime()
+	 */
+	@Override
+	public Time lastModifiedTime() {
+		return Time.milliseconds(asset.getLastModified());
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @see org.apache.wicket.util.resource.AbstractResourceStream#length()
+	 */
+	@Override
+	public long length() {
+		return asset.getLength(encoding);
+	}
+}
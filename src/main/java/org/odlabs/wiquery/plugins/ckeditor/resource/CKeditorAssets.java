@@ -0,0 +1,496 @@
+/*
+ * Copyright (c) 2009 WiQuery team
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.odlabs.wiquery.plugins.ckeditor.resource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.wicket.Application;
+
+/**
+ * $Id: CKeditorAssets.java roche.jul $
+ * 
+ * <p>
+ * 	Cache of the CKeditor assets. The files of the tree are read at their 
+ * 	first request, and shared by all the applications of the class loader. 
+ * 	The generated assets are registered into it.
+ * </p>
+ * 
+ * <p>
+ * 	Each application installing the plugin gives its own memory budget. As
+ * 	the assets are shared, the cache is bounded by the largest of them (the
+ * 	default budget when no application gave one).
+ * </p>
+ * 
+ * <p>
+ * 	The digests of the assets are kept once loaded, even after their 
+ * 	eviction, so a revalidation is answered without loading them again.
+ * </p>
+ * 
+ * <p>
+ * 	The cache is bounded by a memory budget. Above it, the least recently 
+ * 	used assets are evicted by groups: a skin goes with all its files, a 
+ * 	language with its file, its pack and the files of the plugins. The 
+ * 	groups pinned by {@link CKeditorInitializer} (the core, the adapter and
+ * 	the default skin) and by the registered profiles (their skin and their
+ * 	language) are not evicted. The pins are counted, so a group can be evicted again once
+ * 	all of them are released.
+ * </p>
+ * 
+ * @author Julien Roche
+ * @since 1.1
+ */
+public final class CKeditorAssets {
+	// Constants
+	/** Loaded assets, by path */
+	private static final ConcurrentMap<String, Entry> ASSETS =
+		new ConcurrentHashMap<String, Entry>();
+	
+	/** Counter ordering the accesses to the assets */
+	private static final AtomicLong CLOCK = new AtomicLong();
+	
+	/** Digests of the assets loaded once, by path, never evicted */
+	private static final ConcurrentMap<String, CKeditorAsset.Digest> DIGESTS =
+		new ConcurrentHashMap<String, CKeditorAsset.Digest>();
+	
+	/** Default memory budget, in bytes */
+	public static final long DEFAULT_MEMORY_BUDGET = 16L * 1024L * 1024L;
+	
+	/** Number of assets evicted */
+	private static final AtomicLong EVICTIONS = new AtomicLong();
+	
+	/** Lock of the evictions */
+	private static final Object EVICTION_LOCK = new Object();
+	
+	/** Number of requests finding their asset into the cache */
+	private static final AtomicLong HITS = new AtomicLong();
+	
+	/** Pattern of the files of a language */
+	private static final Pattern LANGUAGE_PATTERN = 
+		Pattern.compile("(?:plugins/[^/]+/)?lang/(?:pack/)?([a-z]+(?:-[a-z]+)?)\\.js");
+	
+	/** Number of bytes kept by the loaded assets */
+	private static final AtomicLong MEMORY = new AtomicLong();
+	
+	/** Memory budgets of the applications, by application key */
+	private static final ConcurrentMap<String, Long> MEMORY_BUDGETS = 
+		new ConcurrentHashMap<String, Long>();
+	
+	/** Name of the parameter giving the memory budget */
+	public static final String MEMORY_BUDGET_PARAMETER = "wiquery.ckeditor.cache.memoryBudget";
+	
+	/** Number of requests loading their asset */
+	private static final AtomicLong MISSES = new AtomicLong();
+	
+	/** Pinned groups, with their number of pins (guarded by the eviction lock) */
+	private static final Map<String, Integer> PINNED = new HashMap<String, Integer>();
+	
+	/** Pattern of the files of a skin */
+	private static final Pattern SKIN_PATTERN = Pattern.compile("(skins/[^/]+/).*");
+	
+	/** Byte order mark of the UTF-8 files */
+	static final String UTF8_BOM = "\uFEFF";
+	
+	/** Memory budget of the cache, in bytes */
+	private static volatile long memoryBudget = DEFAULT_MEMORY_BUDGET;
+	
+	/**
+	 * Method appending a text file of the tree to a generated content, 
+	 * without its byte order mark
+	 * @param out Generated content
+	 * @param path Path of the file
+	 * @return the last modification time of the file
+	 */
+	static long append(ByteArrayOutputStream out, String path) {
+		CKeditorAsset asset = get(path);
+		
+		if(asset == null){
+			throw new IllegalStateException("The CKeditor file " + path + " does not exist");
+		}
+		
+		ByteBuffer content = asset.getContent(CKeditorEncoding.IDENTITY);
+		
+		if(content.remaining() >= 3 && content.get(0) == (byte) 0xEF 
+				&& content.get(1) == (byte) 0xBB && content.get(2) == (byte) 0xBF){
+			content.position(3);
+		}
+		
+		byte[] bytes = new byte[content.remaining()];
+		content.get(bytes);
+		out.write(bytes, 0, bytes.length);
+		out.write('\n');
+		return asset.getLastModified();
+	}
+	
+	/**
+	 * Method retrieving an asset
+	 * @param path Path of the asset, relative to the CKeditor tree
+	 * @return the asset, or null if it does not exist
+	 */
+	public static CKeditorAsset get(String path) {
+		CKeditorAsset asset = lookup(path);
+		
+		if(asset == null){
+			asset = CKeditorAsset.load(path);
+			
+			if(asset != null){
+				asset = register(asset);
+			}
+		}
+		
+		return asset;
+	}
+	
+	/**
+	 * Method evicting the least recently used groups of assets, until the
+	 * cache fits into its budget
+	 */
+	private static void evict() {
+		synchronized (EVICTION_LOCK) {
+			if(MEMORY.get() <= memoryBudget){
+				return;
+			}
+			
+			Map<String, List<String>> groups = new HashMap<String, List<String>>();
+			final Map<String, Long> accesses = new HashMap<String, Long>();
+			
+			for(Map.Entry<String, Entry> asset : ASSETS.entrySet()) {
+				String group = asset.getValue().group;
+				
+				if(PINNED.containsKey(group)){
+					continue;
+				}
+				
+				List<String> paths = groups.get(group);
+				Long access = accesses.get(group);
+				
+				if(paths == null){
+					paths = new ArrayList<String>();
+					groups.put(group, paths);
+				}
+				
+				paths.add(asset.getKey());
+				
+				if(access == null || access.longValue() < asset.getValue().access){
+					accesses.put(group, Long.valueOf(asset.getValue().access));
+				}
+			}
+			
+			List<String> order = new ArrayList<String>(groups.keySet());
+			Collections.sort(order, new Comparator<String>() {
+				public int compare(String group1, String group2) {
+					return accesses.get(group1).compareTo(accesses.get(group2));
+				}
+			});
+			
+			for(String group : order) {
+				if(MEMORY.get() <= memoryBudget){
+					break;
+				}
+				
+				for(String path : groups.get(group)) {
+					Entry entry = ASSETS.remove(path);
+					
+					if(entry != null){
+						MEMORY.addAndGet(-entry.asset.getMemory());
+						EVICTIONS.incrementAndGet();
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 * @param path Path of an asset
+	 * @return the digest of the asset, even evicted, or null if it was never
+	 * loaded
+	 */
+	public static CKeditorAsset.Digest getDigest(String path) {
+		return DIGESTS.get(path);
+	}
+	
+	/**
+	 * @return the number of assets evicted
+	 */
+	public static long getEvictions() {
+		return EVICTIONS.get();
+	}
+	
+	/**
+	 * @param path Path of an asset
+	 * @return the group of the asset, evicted and pinned as a whole
+	 */
+	static String getGroup(String path) {
+		Matcher matcher = SKIN_PATTERN.matcher(path);
+		
+		if(matcher.matches()){
+			return matcher.group(1);
+		}
+		
+		matcher = LANGUAGE_PATTERN.matcher(path);
+		return matcher.matches() ? "lang/" + matcher.group(1) : path;
+	}
+	
+	/**
+	 * @return the number of requests finding their asset into the cache
+	 */
+	public static long getHits() {
+		return HITS.get();
+	}
+	
+	/**
+	 * @return the number of bytes kept by the loaded assets
+	 */
+	public static long getMemory() {
+		return MEMORY.get();
+	}
+	
+	/**
+	 * @return the memory budget of the cache, in bytes
+	 */
+	public static long getMemoryBudget() {
+		return memoryBudget;
+	}
+	
+	/**
+	 * @param application Application
+	 * @return the memory budget given by the application, otherwise the 
+	 * budget of the cache, in bytes
+	 */
+	public static long getMemoryBudget(Application application) {
+		Long budget = MEMORY_BUDGETS.get(application.getApplicationKey());
+		return budget == null ? memoryBudget : budget.longValue();
+	}
+	
+	/**
+	 * @return the number of requests not finding their asset into the cache
+	 */
+	public static long getMisses() {
+		return MISSES.get();
+	}
+	
+	/**
+	 * Method retrieving an asset already loaded or registered
+	 * @param path Path of the asset
+	 * @return the asset, or null
+	 */
+	public static CKeditorAsset lookup(String path) {
+		Entry entry = ASSETS.get(path);
+		
+		if(entry == null){
+			MISSES.incrementAndGet();
+			return null;
+		}
+		
+		HITS.incrementAndGet();
+		entry.touch();
+		return entry.asset;
+	}
+	
+	/**
+	 * @param path Path of an asset, loaded or not
+	 * @return true if the group of the asset is pinned
+	 */
+	public static boolean isPinned(String path) {
+		synchronized (EVICTION_LOCK) {
+			return PINNED.containsKey(getGroup(path));
+		}
+	}
+	
+	/**
+	 * Method pinning the group of an asset, so it is not evicted until it is
+	 * unpinned as many times
+	 * @param path Path of the asset, loaded or not
+	 */
+	public static void pin(String path) {
+		String group = getGroup(path);
+		
+		synchronized (EVICTION_LOCK) {
+			Integer count = PINNED.get(group);
+			PINNED.put(group, Integer.valueOf(count == null ? 1 : count.intValue() + 1));
+		}
+	}
+	
+	/**
+	 * Method registering a generated asset, unless an asset with the same
+	 * path was registered in the meantime
+	 * @param asset Asset
+	 * @return the registered asset
+	 */
+	public static CKeditorAsset register(CKeditorAsset asset) {
+		Entry existing = ASSETS.putIfAbsent(asset.getPath(), new Entry(asset));
+		
+		if(existing != null){
+			existing.touch();
+			return existing.asset;
+		}
+		
+		DIGESTS.put(asset.getPath(), asset.getDigest());
+		
+		if(MEMORY.addAndGet(asset.getMemory()) > memoryBudget){
+			evict();
+		}
+		
+		return asset;
+	}
+	
+	/**
+	 * Method releasing the memory budget of an application
+	 * @param application Application
+	 */
+	public static void removeMemoryBudget(Application application) {
+		removeMemoryBudget(application.getApplicationKey());
+	}
+	
+	/**
+	 * Method releasing the memory budget of an application
+	 * @param applicationKey Key of the application
+	 */
+	static void removeMemoryBudget(String applicationKey) {
+		MEMORY_BUDGETS.remove(applicationKey);
+		updateMemoryBudget();
+	}
+	
+	/**
+	 * Method giving the memory budget of an application
+	 * @param application Application
+	 * @param budget Budget, in bytes
+	 */
+	public static void setMemoryBudget(Application application, long budget) {
+		setMemoryBudget(application.getApplicationKey(), budget);
+	}
+	
+	/**
+	 * Method giving the memory budget of an application
+	 * @param applicationKey Key of the application
+	 * @param budget Budget, in bytes
+	 */
+	static void setMemoryBudget(String applicationKey, long budget) {
+		MEMORY_BUDGETS.put(applicationKey, Long.valueOf(budget));
+		updateMemoryBudget();
+	}
+	
+	/**
+	 * Method computing the memory budget of the cache from the budgets of the
+	 * applications, and evicting the assets above it
+	 */
+	private static void updateMemoryBudget() {
+		synchronized (EVICTION_LOCK) {
+			long budget = MEMORY_BUDGETS.isEmpty() ? DEFAULT_MEMORY_BUDGET : 0L;
+			
+			for(Long applicationBudget : MEMORY_BUDGETS.values()) {
+				budget = Math.max(budget, applicationBudget.longValue());
+			}
+			
+			memoryBudget = budget;
+		}
+		
+		evict();
+	}
+	
+	/**
+	 * Method releasing a pin of the group of an asset. Once all its pins are
+	 * released, the group is evicted as the other ones.
+	 * @param path Path of the asset, loaded or not
+	 */
+	public static void unpin(String path) {
+		String group = getGroup(path);
+		
+		synchronized (EVICTION_LOCK) {
+			Integer count = PINNED.get(group);
+			
+			if(count == null){
+				return;
+				
+			} else if(count.intValue() > 1){
+				PINNED.put(group, Integer.valueOf(count.intValue() - 1));
+				return;
+			}
+			
+			PINNED.remove(group);
+		}
+		
+		evict();
+	}
+	
+	/**
+	 * Method appending a text to a generated content, in UTF-8
+	 * @param out Generated content
+	 * @param text Text
+	 */
+	static void write(ByteArrayOutputStream out, String text) {
+		try {
+			byte[] bytes = text.getBytes("UTF-8");
+			out.write(bytes, 0, bytes.length);
+			
+		} catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	/**
+	 * Constructor
+	 */
+	private CKeditorAssets() {
+		super();
+	}
+	
+	/**
+	 * Asset of the cache, with its last access
+	 */
+	private static final class Entry {
+		// Properties
+		private volatile long access;
+		private final CKeditorAsset asset;
+		private final String group;
+		
+		/**
+		 * Constructor
+		 * @param asset Asset
+		 */
+		private Entry(CKeditorAsset asset) {
+			super();
+			this.asset = asset;
+			this.group = getGroup(asset.getPath());
+			this.access = CLOCK.incrementAndGet();
+		}
+		
+		/**
+		 * Method recording an access to the asset
+		 */
+		private void touch() {
+			access = CLOCK.incrementAndGet();
+		}
+	}
+}
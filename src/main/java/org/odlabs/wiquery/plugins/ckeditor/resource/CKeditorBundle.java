@@ -0,0 +1,450 @@
+/*
+ * Copyright (c) 2009 WiQuery team
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.odlabs.wiquery.plugins.ckeditor.resource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.wicket.Application;
+import org.apache.wicket.MetaDataKey;
+import org.apache.wicket.markup.html.resources.JavascriptResourceReference;
+import org.odlabs.wiquery.plugins.ckeditor.CKeditorBehavior;
+
+/**
+ * $Id: CKeditorBundle.java roche.jul $
+ * 
+ * <p>
+ * 	Resource serving CKeditor with the files it would load after the page:
+ * 	the additional plugins and the dialogs opened by the buttons of the 
+ * 	toolbar. The bundles are shared by the editors with the same plugins.
+ * </p>
+ * 
+ * <p>
+ * 	The references of the bundles are kept into the application, and 
+ * 	released with it. Above {@link #MAX_BUNDLES} toolbars and plugins, or
+ * 	outside of an application, the bundles are resolved without being kept.
+ * </p>
+ * 
+ * <p>
+ * 	The bundle finds the base path of CKeditor from its own script tag, and
+ * 	CKeditor is only evaluated once if several bundles are used into a page.
+ * </p>
+ * 
+ * @author Julien Roche
+ * @since 1.1
+ */
+public class CKeditorBundle extends CKeditorAssetResource {
+	/**
+	 * $Id: CKeditorBundle.java roche.jul $
+	 * 
+	 * <p>
+	 * 	Reference of a bundle, registering it into the application on its
+	 * 	first use
+	 * </p>
+	 * 
+	 * @author Julien Roche
+	 * @since 1.1
+	 */
+	static class Reference extends JavascriptResourceReference {
+		// Constants
+		/** Constant of serialization */
+		private static final long serialVersionUID = 1L;
+		
+		// Properties
+		private final String[] files;
+		private final String path;
+		
+		/**
+		 * Constructor
+		 * @param path Path of the bundle, served under the fingerprint of the
+		 * tree when the plugin is installed
+		 * @param files Files of the bundle
+		 */
+		public Reference(String path, String[] files) {
+			super(CKeditorBehavior.class, CKeditorResourceTree.getServedPath(path));
+			this.path = path;
+			this.files = files;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 * @see org.apache.wicket.ResourceReference#newResource()
+		 */
+		@Override
+		protected CKeditorBundle newResource() {
+			// The hash only covers the names of the files: without the 
+			// fingerprint, the bundle changes under the same url
+			return new CKeditorBundle(path, files, !path.equals(getName()));
+		}
+	}
+	
+	// Constants
+	/** Predefined toolbars of CKeditor */
+	private static final Map<String, String> TOOLBARS = new HashMap<String, String>();
+	
+	/** Base path detection, as CKeditor does it with its own script tag */
+	private static final String BASE_PATH = "if(!window.CKEDITOR_BASEPATH){(function(){"
+		+ "var s=document.getElementsByTagName('script');for(var i=s.length-1;i>=0;i--){"
+		+ "var m=s[i].src.match(/(^|.*[\\\\\\/])bundle\\/[0-9a-f]+\\.js(?:\\?.*)?$/i);"
+		+ "if(m){window.CKEDITOR_BASEPATH=m[1];break;}}})();}\n";
+	
+	/** Key of the references of the bundles, by options, into the application */
+	private static final MetaDataKey<ConcurrentMap<String, JavascriptResourceReference>> BUNDLES_KEY = 
+		new MetaDataKey<ConcurrentMap<String, JavascriptResourceReference>>() {
+			private static final long serialVersionUID = 1L;
+		};
+	
+	/** Length of the hash used into the name of the bundles */
+	private static final int HASH_LENGTH = 12;
+	
+	/** Pattern of the elements of a toolbar */
+	private static final Pattern ITEM_PATTERN = Pattern.compile("'([A-Za-z]+)'");
+	
+	/** Plugin and files needed by the elements of a toolbar */
+	private static final Map<String, String[]> ITEMS = new HashMap<String, String[]>();
+	
+	/** Maximum number of bundle references kept by an application */
+	public static final int MAX_BUNDLES = 256;
+	
+	/** Prefix of the paths of the bundles */
+	public static final String PREFIX = "bundle/";
+	
+	/** Constant of serialization */
+	private static final long serialVersionUID = 1L;
+	
+	static {
+		TOOLBARS.put("Basic", "[['Bold','Italic','-','NumberedList','BulletedList','-','Link','Unlink','-','About']]");
+		TOOLBARS.put("Full", "[['Source','-','Save','NewPage','Preview','-','Templates'],"
+				+ "['Cut','Copy','Paste','PasteText','PasteFromWord','-','Print','SpellChecker','Scayt'],"
+				+ "['Undo','Redo','-','Find','Replace','-','SelectAll','RemoveFormat'],"
+				+ "['Form','Checkbox','Radio','TextField','Textarea','Select','Button','ImageButton','HiddenField'],'/',"
+				+ "['Bold','Italic','Underline','Strike','-','Subscript','Superscript'],"
+				+ "['NumberedList','BulletedList','-','Outdent','Indent','Blockquote','CreateDiv'],"
+				+ "['JustifyLeft','JustifyCenter','JustifyRight','JustifyBlock'],['Link','Unlink','Anchor'],"
+				+ "['Image','Flash','Table','HorizontalRule','Smiley','SpecialChar','PageBreak'],'/',"
+				+ "['Styles','Format','Font','FontSize'],['TextColor','BGColor'],['Maximize','ShowBlocks','-','About']]");
+		
+		item("About", "about", "dialogs/about.js");
+		item("Anchor", "link", "dialogs/anchor.js");
+		item("BGColor", "colordialog", "dialogs/colordialog.js");
+		item("Button", "forms", "dialogs/button.js");
+		item("Checkbox", "forms", "dialogs/checkbox.js");
+		item("CreateDiv", "div", "dialogs/div.js");
+		item("Find", "find", "dialogs/find.js");
+		item("Flash", "flash", "dialogs/flash.js");
+		item("Form", "forms", "dialogs/form.js");
+		item("HiddenField", "forms", "dialogs/hiddenfield.js");
+		item("Image", "image", "dialogs/image.js");
+		item("ImageButton", "image", "dialogs/image.js");
+		item("Link", "link", "dialogs/link.js");
+		item("Paste", "clipboard", "dialogs/paste.js");
+		item("PasteFromWord", "pastefromword", "filter/default.js");
+		item("PasteText", "pastetext", "dialogs/pastetext.js");
+		item("Radio", "forms", "dialogs/radio.js");
+		item("Replace", "find", "dialogs/find.js");
+		item("Scayt", "scayt", "dialogs/options.js");
+		item("Select", "forms", "dialogs/select.js");
+		item("Smiley", "smiley", "dialogs/smiley.js");
+		item("SpecialChar", "specialchar", "dialogs/specialchar.js");
+		item("SpellChecker", "wsc", "dialogs/wsc.js");
+		item("Table", "table", "dialogs/table.js", "../tabletools/dialogs/tableCell.js");
+		item("Templates", "templates", "dialogs/templates.js");
+		item("TextColor", "colordialog", "dialogs/colordialog.js");
+		item("TextField", "forms", "dialogs/textfield.js");
+		item("Textarea", "forms", "dialogs/textarea.js");
+		item("UIColor", "uicolor", "dialogs/uicolor.js");
+	}
+	
+	/**
+	 * Method retrieving the bundle needed by an editor
+	 * @param toolbar Javascript definition of the toolbar (null for the 
+	 * default toolbar)
+	 * @param removePlugins Removed plugins (can be null)
+	 * @param extraPlugins Additional plugins, separated by commas (can be null)
+	 * @return the reference of the bundle, or null if CKeditor does not need 
+	 * other files
+	 */
+	public static JavascriptResourceReference get(CharSequence toolbar, 
+			Collection<String> removePlugins, String extraPlugins) {
+		// The references differ whether the plugin is installed or not
+		String key = CKeditorResourceTree.getServedPath("") + "|" + toolbar + "|" 
+			+ removePlugins + "|" + extraPlugins;
+		ConcurrentMap<String, JavascriptResourceReference> bundles = getBundles();
+		JavascriptResourceReference reference = bundles == null ? null : bundles.get(key);
+		
+		if(reference == null){
+			String[] files = getFiles(toolbar == null ? "'Full'" : toolbar, 
+					removePlugins, extraPlugins);
+			reference = files.length == 0 ? 
+					CKeditorBehavior.WIQUERY_CKEDITOR_JS : new Reference(getPath(files), files);
+			
+			if(bundles != null && bundles.size() < MAX_BUNDLES){
+				JavascriptResourceReference previous = bundles.putIfAbsent(key, reference);
+				
+				if(previous != null){
+					reference = previous;
+				}
+			}
+		}
+		
+		return reference == CKeditorBehavior.WIQUERY_CKEDITOR_JS ? null : reference;
+	}
+	
+	/**
+	 * @return the references of the bundles of the current application, or
+	 * null outside of an application
+	 */
+	private static synchronized ConcurrentMap<String, JavascriptResourceReference> getBundles() {
+		if(!Application.exists()){
+			return null;
+		}
+		
+		Application application = Application.get();
+		ConcurrentMap<String, JavascriptResourceReference> bundles = application.getMetaData(BUNDLES_KEY);
+		
+		if(bundles == null){
+			bundles = new ConcurrentHashMap<String, JavascriptResourceReference>();
+			application.setMetaData(BUNDLES_KEY, bundles);
+		}
+		
+		return bundles;
+	}
+	
+	/**
+	 * Method computing the files needed by an editor
+	 * @param toolbar Javascript definition of the toolbar
+	 * @param removePlugins Removed plugins (can be null)
+	 * @param extraPlugins Additional plugins (can be null)
+	 * @return the files, the plugins first
+	 */
+	private static String[] getFiles(CharSequence toolbar, Collection<String> removePlugins,
+			String extraPlugins) {
+		Set<String> removed = new TreeSet<String>();
+		Set<String> extra = split(extraPlugins);
+		
+		if(removePlugins != null){
+			for(String plugin : removePlugins) {
+				removed.addAll(split(plugin));
+			}
+		}
+		Set<String> plugins = new TreeSet<String>();
+		Set<String> dialogs = new TreeSet<String>();
+		
+		for(String plugin : extra) {
+			String path = "plugins/" + plugin + "/plugin.js";
+			
+			if(!removed.contains(plugin) && CKeditorAssets.get(path) != null){
+				plugins.add(path);
+			}
+		}
+		
+		String definition = TOOLBARS.containsKey(unquote(toolbar)) ? 
+				TOOLBARS.get(unquote(toolbar)) : toolbar.toString();
+		Matcher matcher = ITEM_PATTERN.matcher(definition);
+		
+		while(matcher.find()){
+			String[] item = ITEMS.get(matcher.group(1));
+			
+			if(item == null || removed.contains(item[0])){
+				continue;
+			}
+			
+			// The plugins outside of ckeditor.js must be loaded
+			if(CKeditorAssets.get("plugins/" + item[0] + "/plugin.js") != null 
+					&& !extra.contains(item[0])){
+				continue;
+			}
+			
+			for(int i = 1; i < item.length; i++){
+				dialogs.add(item[i]);
+			}
+		}
+		
+		String[] files = new String[plugins.size() + dialogs.size()];
+		int index = 0;
+		
+		for(String path : plugins) {
+			files[index++] = path;
+		}
+		
+		for(String path : dialogs) {
+			files[index++] = path;
+		}
+		
+		return files;
+	}
+	
+	/**
+	 * Method computing the path of a bundle from its files
+	 * @param files Files of the bundle
+	 * @return the path
+	 */
+	private static String getPath(String[] files) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("MD5");
+			
+			for(String file : files) {
+				digest.update(file.getBytes("UTF-8"));
+				digest.update((byte) 0);
+			}
+			
+			byte[] hash = digest.digest();
+			StringBuffer buffer = new StringBuffer(PREFIX);
+			
+			for(int i = 0; i < HASH_LENGTH / 2; i++){
+				buffer.append(Character.forDigit((hash[i] >> 4) & 0xF, 16));
+				buffer.append(Character.forDigit(hash[i] & 0xF, 16));
+			}
+			
+			return buffer.append(".js").toString();
+			
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+			
+		} catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	/**
+	 * Method declaring the files needed by an element of the toolbar
+	 * @param name Name of the element
+	 * @param plugin Plugin of the element
+	 * @param files Files, relative to the plugin
+	 */
+	private static void item(String name, String plugin, String... files) {
+		String[] item = new String[files.length + 1];
+		item[0] = plugin;
+		
+		for(int i = 0; i < files.length; i++){
+			item[i + 1] = files[i].startsWith("../") ? 
+					"plugins/" + files[i].substring(3) : "plugins/" + plugin + "/" + files[i];
+		}
+		
+		ITEMS.put(name, item);
+	}
+	
+	/**
+	 * @param value List of names, separated by commas or spaces (can be null)
+	 * @return the names
+	 */
+	private static Set<String> split(String value) {
+		Set<String> names = new TreeSet<String>();
+		
+		if(value != null){
+			for(String name : value.split("[,\\s]+")) {
+				if(name.length() > 0){
+					names.add(name);
+				}
+			}
+		}
+		
+		return names;
+	}
+	
+	/**
+	 * @param value Javascript value
+	 * @return the value without its quotes
+	 */
+	private static String unquote(CharSequence value) {
+		String text = value.toString().trim();
+		
+		if(text.length() > 1 && text.charAt(0) == '\'' && text.charAt(text.length() - 1) == '\''){
+			return text.substring(1, text.length() - 1);
+		}
+		
+		return text;
+	}
+	
+	// Properties
+	private final String[] files;
+	
+	/**
+	 * Constructor
+	 * @param path Path of the bundle
+	 * @param files Files of the bundle, the plugins first
+	 * @param immutable True if the bundle is served under the fingerprint of
+	 * the tree, so the browsers can keep it forever
+	 */
+	CKeditorBundle(String path, String[] files, boolean immutable) {
+		super(path, immutable);
+		this.files = files;
+	}
+	
+	/**
+	 * Method creating the content of the bundle
+	 * @return the asset
+	 */
+	private CKeditorAsset createAsset() {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(393216);
+		
+		// The bundle keeps the byte order mark, so it is read as UTF-8
+		// whatever the encoding of the page
+		CKeditorAssets.write(out, CKeditorAssets.UTF8_BOM);
+		CKeditorAssets.write(out, BASE_PATH);
+		CKeditorAssets.write(out, "if(!window.CKEDITOR){\n");
+		long lastModified = CKeditorAssets.append(out, CKeditorResourceTree.ANCHOR);
+		CKeditorAssets.write(out, "}\n");
+		
+		for(String file : files) {
+			if(file.endsWith("/plugin.js")){
+				String plugin = file.substring("plugins/".length(), file.length() - "/plugin.js".length());
+				CKeditorAssets.write(out, "if(!CKEDITOR.plugins.get('" + plugin + "')){\n");
+				lastModified = Math.max(lastModified, CKeditorAssets.append(out, file));
+				CKeditorAssets.write(out, "}\n");
+				
+			} else {
+				lastModified = Math.max(lastModified, CKeditorAssets.append(out, file));
+			}
+		}
+		
+		return CKeditorAsset.create(getPath(), out.toByteArray(), lastModified);
+	}
+	
+	/**
+	 * @return the files of the bundle, added to ckeditor.js
+	 */
+	public String[] getFiles() {
+		return files.clone();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @see org.odlabs.wiquery.plugins.ckeditor.resource.CKeditorAssetResource#loadAsset()
+	 */
+	@Override
+	protected CKeditorAsset loadAsset() {
+		CKeditorAsset asset = CKeditorAssets.lookup(getPath());
+		return asset == null ? CKeditorAssets.register(createAsset()) : asset;
+	}
+}
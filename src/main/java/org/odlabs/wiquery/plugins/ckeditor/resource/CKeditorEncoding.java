@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2009 WiQuery team
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.odlabs.wiquery.plugins.ckeditor.resource;
+
+/**
+ * $Id: CKeditorEncoding.java roche.jul $
+ * 
+ * <p>
+ * 	Enumeration of the content encodings of the CKeditor resources
+ * </p>
+ * 
+ * @author Julien Roche
+ * @since 1.1
+ */
+public enum CKeditorEncoding {
+	/** Brotli, available when a <code>.br</code> file was generated at build */
+	BROTLI			("br", ".br"),
+	/** Gzip, from a <code>.gz</code> file or compressed once at loading */
+	GZIP			("gzip", ".gz"),
+	/** No encoding */
+	IDENTITY		("identity", "");
+	
+	/**
+	 * Method choosing the encoding of a response
+	 * @param acceptEncoding Value of the <code>Accept-Encoding</code> header
+	 * (can be null)
+	 * @param asset Asset to send
+	 * @return the smallest encoding accepted by the client and available
+	 * for the asset
+	 */
+	public static CKeditorEncoding negotiate(String acceptEncoding, CKeditorAsset asset) {
+		return asset.getDigest().negotiate(acceptEncoding);
+	}
+	
+	/**
+	 * Method choosing the encoding of a response
+	 * @param acceptEncoding Value of the <code>Accept-Encoding</code> header
+	 * (can be null)
+	 * @param brotliAvailable True if a brotli variant is available
+	 * @param gzipAvailable True if a gzip variant is available
+	 * @return the smallest encoding accepted by the client and available. The
+	 * <code>*</code> coding only applies to the codings not listed, so an 
+	 * explicit <code>q=0</code> is kept.
+	 */
+	public static CKeditorEncoding negotiate(String acceptEncoding, boolean brotliAvailable, 
+			boolean gzipAvailable) {
+		if(acceptEncoding == null){
+			return IDENTITY;
+		}
+		
+		Boolean any = null;
+		Boolean brotli = null;
+		Boolean gzip = null;
+		
+		for(String token : acceptEncoding.split(",")) {
+			String[] parts = token.split(";");
+			String coding = parts[0].trim().toLowerCase();
+			boolean accepted = true;
+			
+			for(int i = 1; i < parts.length; i++){
+				String parameter = parts[i].trim();
+				
+				if(parameter.startsWith("q=")){
+					try {
+						accepted = Float.parseFloat(parameter.substring(2)) > 0F;
+						
+					} catch (NumberFormatException e) {
+						accepted = false;
+					}
+				}
+			}
+			
+			if(BROTLI.getName().equals(coding)){
+				brotli = Boolean.valueOf(accepted);
+				
+			} else if(GZIP.getName().equals(coding) || "x-gzip".equals(coding)){
+				gzip = Boolean.valueOf(accepted);
+				
+			} else if("*".equals(coding)){
+				any = Boolean.valueOf(accepted);
+			}
+		}
+		
+		if(brotliAvailable && Boolean.TRUE.equals(brotli == null ? any : brotli)){
+			return BROTLI;
+		}
+		
+		if(gzipAvailable && Boolean.TRUE.equals(gzip == null ? any : gzip)){
+			return GZIP;
+		}
+		
+		return IDENTITY;
+	}
+	
+	// Properties
+	private final String extension;
+	private final String name;
+	
+	/**
+	 * Constructor
+	 * @param name Name of the encoding, as used by the HTTP headers
+	 * @param extension Extension of the precompressed files
+	 */
+	CKeditorEncoding(String name, String extension) {
+		this.name = name;
+		this.extension = extension;
+	}
+	
+	/**
+	 * @return the extension of the precompressed files
+	 */
+	public String getExtension() {
+		return extension;
+	}
+	
+	/**
+	 * @return the name of the encoding, as used by the HTTP headers
+	 */
+	public String getName() {
+		return name;
+	}
+}
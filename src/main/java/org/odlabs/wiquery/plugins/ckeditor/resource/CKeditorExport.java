@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2009 WiQuery team
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.odlabs.wiquery.plugins.ckeditor.resource;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.wicket.Application;
+import org.apache.wicket.MetaDataKey;
+import org.apache.wicket.ResourceReference;
+
+/**
+ * $Id: CKeditorExport.java roche.jul $
+ * 
+ * <p>
+ * 	Export of the CKeditor tree into a directory served by the front web
+ * 	server (or by {@link CKeditorFilter}). The files are written
+ * 	under the fingerprint of the tree, with their <code>.gz</code> and 
+ * 	<code>.br</code> variants, and the behaviors reference them under a 
+ * 	static prefix instead of the Wicket resources.
+ * </p>
+ * 
+ * <p>
+ * 	Usage, in the <code>init()</code> method of the application:
+ * 	<pre>
+ * 	CKeditorExport.install(this, new File("/var/www/static/ckeditor"), "/static/ckeditor/");
+ * 	</pre>
+ * 	with, for nginx, <code>gzip_static on;</code> and a far future expiry on 
+ * 	this location.
+ * </p>
+ * 
+ * @author Julien Roche
+ * @since 1.1
+ */
+public final class CKeditorExport {
+	// Constants
+	/** Key of the export into the application */
+	private static final MetaDataKey<CKeditorExport> EXPORT_KEY =
+		new MetaDataKey<CKeditorExport>() {
+			private static final long serialVersionUID = 1L;
+		};
+	
+	/**
+	 * @return the export of the current application, or null if the tree is
+	 * served by Wicket
+	 */
+	public static CKeditorExport get() {
+		return Application.exists() ? get(Application.get()) : null;
+	}
+	
+	/**
+	 * @param application Application
+	 * @return the export of the application, or null if the tree is served 
+	 * by Wicket
+	 */
+	public static CKeditorExport get(Application application) {
+		return application.getMetaData(EXPORT_KEY);
+	}
+	
+	/**
+	 * Method exporting the CKeditor tree and switching the application to it.
+	 * The configuration files of the profiles already registered are 
+	 * exported with it.
+	 * @param application Application
+	 * @param directory Directory served by the front web server
+	 * @param staticPrefix Url of this directory, as used into the pages
+	 * (for example <code>/static/ckeditor/</code>)
+	 * @return the export
+	 */
+	public static CKeditorExport install(Application application, File directory, String staticPrefix) {
+		CKeditorExport export = new CKeditorExport(directory, staticPrefix);
+		export.extract();
+		
+		for(CKeditorProfileConfig.Reference reference : CKeditorProfileConfig.getReferences(application)) {
+			export.export(reference);
+		}
+		
+		application.setMetaData(EXPORT_KEY, export);
+		return export;
+	}
+	
+	/**
+	 * Method writing a file, unless it was already written with the same 
+	 * length (the directory of the fingerprint only changes with the tree)
+	 * @param file File
+	 * @param content Content
+	 * @throws IOException
+	 */
+	private static void write(File file, ByteBuffer content) throws IOException {
+		if(file.isFile() && file.length() == content.remaining()){
+			return;
+		}
+		
+		File parent = file.getParentFile();
+		
+		if(!parent.isDirectory() && !parent.mkdirs()){
+			throw new IOException("Unable to create the directory " + parent);
+		}
+		
+		// The file is replaced at once, as it can be served meanwhile
+		File temp = new File(parent, file.getName() + ".tmp");
+		FileOutputStream out = new FileOutputStream(temp);
+		
+		try {
+			FileChannel channel = out.getChannel();
+			
+			while(content.hasRemaining()){
+				channel.write(content);
+			}
+			
+		} finally {
+			out.close();
+		}
+		
+		if(!temp.renameTo(file) && !(file.delete() && temp.renameTo(file))){
+			throw new IOException("Unable to write the file " + file);
+		}
+	}
+	
+	// Properties
+	private final File directory;
+	private final ConcurrentMap<String, Boolean> exported;
+	private final String staticPrefix;
+	
+	/**
+	 * Constructor
+	 * @param directory Directory served by the front web server
+	 * @param staticPrefix Url of this directory
+	 */
+	private CKeditorExport(File directory, String staticPrefix) {
+		super();
+		
+		if(directory == null){
+			throw new NullPointerException("directory cannot be null");
+		}
+		
+		if(staticPrefix == null){
+			throw new NullPointerException("staticPrefix cannot be null");
+		}
+		
+		this.directory = directory;
+		this.staticPrefix = staticPrefix.endsWith("/") ? staticPrefix : staticPrefix + "/";
+		this.exported = new ConcurrentHashMap<String, Boolean>();
+	}
+	
+	/**
+	 * Method exporting an asset
+	 * @param asset Asset
+	 * @param path Path of the file, relative to the tree
+	 */
+	private void export(CKeditorAsset asset, String path) {
+		try {
+			for(CKeditorEncoding encoding : CKeditorEncoding.values()) {
+				ByteBuffer content = asset.getContent(encoding);
+				
+				if(content != null){
+					write(new File(directory, CKeditorResourceTree.getFingerprintedPath(path) 
+							+ encoding.getExtension()), content);
+				}
+			}
+			
+			exported.put(path, Boolean.TRUE);
+			
+		} catch (IOException e) {
+			throw new IllegalStateException("Unable to export the CKeditor file " + path 
+					+ " into " + directory, e);
+		}
+	}
+	
+	/**
+	 * Method exporting a generated resource, a bundle or the configuration 
+	 * file of a profile, unless it is already exported. The files of the 
+	 * tree are exported at the installation.
+	 * @param reference Reference of the resource, under its own path or under
+	 * the fingerprint of the tree
+	 */
+	public void export(ResourceReference reference) {
+		String path = getPath(reference);
+		
+		if(exported.containsKey(path)){
+			return;
+			
+		} else if(reference instanceof CKeditorBundle.Reference){
+			export(((CKeditorBundle.Reference) reference).newResource().loadAsset(), path);
+			
+		} else if(reference instanceof CKeditorProfileConfig.Reference){
+			export(((CKeditorProfileConfig.Reference) reference).newResource().loadAsset(), path);
+		}
+	}
+	
+	/**
+	 * Method extracting the tree, the skins and the language packs
+	 */
+	private void extract() {
+		for(String path : CKeditorResourceTree.list()) {
+			// The files are not kept into the cache, as they will not be 
+			// served by the application
+			String skin = CKeditorSkin.getSkin(path);
+			export(skin == null ? CKeditorAsset.load(path) : new CKeditorSkin(skin, false).loadAsset(), path);
+		}
+		
+		for(String skin : CKeditorSkin.getSkins()) {
+			export(new CKeditorSkin(skin, true).loadAsset(), CKeditorSkin.getStyleSheetPath(skin));
+		}
+		
+		for(String code : CKeditorLanguagePack.getLanguages()) {
+			export(new CKeditorLanguagePack(code).loadAsset(), CKeditorLanguagePack.getPath(code));
+		}
+	}
+	
+	/**
+	 * @return the directory served by the front web server
+	 */
+	public File getDirectory() {
+		return directory;
+	}
+	
+	/**
+	 * @param reference Reference of a resource, under its own path or under
+	 * the fingerprint of the tree
+	 * @return the path of the resource, relative to the tree
+	 */
+	private String getPath(ResourceReference reference) {
+		String name = reference.getName();
+		String prefix = CKeditorResourceTree.getFingerprintedPath("");
+		return name.startsWith(prefix) ? name.substring(prefix.length()) : name;
+	}
+	
+	/**
+	 * @return the url of the directory
+	 */
+	public String getStaticPrefix() {
+		return staticPrefix;
+	}
+	
+	/**
+	 * Method computing the url of a resource of the fingerprinted tree. A
+	 * generated resource must be exported first (see 
+	 * {@link #export(ResourceReference)}).
+	 * @param reference Reference of the resource, under its own path or under
+	 * the fingerprint of the tree
+	 * @return the url
+	 */
+	public String getUrl(ResourceReference reference) {
+		return staticPrefix + CKeditorResourceTree.getFingerprintedPath(getPath(reference));
+	}
+}
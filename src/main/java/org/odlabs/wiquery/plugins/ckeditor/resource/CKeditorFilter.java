@@ -0,0 +1,566 @@
+/*
+ * Copyright (c) 2009 WiQuery team
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.odlabs.wiquery.plugins.ckeditor.resource;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * $Id: CKeditorFilter.java roche.jul $
+ * 
+ * <p>
+ * 	Servlet filter serving the directory written by {@link CKeditorExport},
+ * 	for the applications without a front web server. The files are mapped 
+ * 	in memory once and written from these buffers, without copying them into
+ * 	the heap, or handed to the container when it supports sendfile (Tomcat
+ * 	with the NIO or APR connector). The mapping is kept as long as the last
+ * 	modification time of the file is unchanged. The <code>Range</code>, 
+ * 	<code>If-None-Match</code> and <code>If-Modified-Since</code> headers 
+ * 	are supported, with the hash of the content as <code>ETag</code>.
+ * </p>
+ * 
+ * <p>
+ * 	Usage, into the <code>web.xml</code> file, before the Wicket filter:
+ * 	<pre>
+ * 	&lt;filter&gt;
+ * 		&lt;filter-name&gt;ckeditor&lt;/filter-name&gt;
+ * 		&lt;filter-class&gt;org.odlabs.wiquery.plugins.ckeditor.resource.CKeditorFilter&lt;/filter-class&gt;
+ * 		&lt;init-param&gt;
+ * 			&lt;param-name&gt;directory&lt;/param-name&gt;
+ * 			&lt;param-value&gt;/var/cache/myapp/ckeditor&lt;/param-value&gt;
+ * 		&lt;/init-param&gt;
+ * 	&lt;/filter&gt;
+ * 	&lt;filter-mapping&gt;
+ * 		&lt;filter-name&gt;ckeditor&lt;/filter-name&gt;
+ * 		&lt;url-pattern&gt;/ckeditor/*&lt;/url-pattern&gt;
+ * 	&lt;/filter-mapping&gt;
+ * 	</pre>
+ * 	and, in the <code>init()</code> method of the application:
+ * 	<pre>
+ * 	CKeditorExport.install(this, new File("/var/cache/myapp/ckeditor"), 
+ * 		getServletContext().getContextPath() + "/ckeditor/");
+ * 	</pre>
+ * </p>
+ * 
+ * @author Julien Roche
+ * @since 1.1
+ */
+public class CKeditorFilter implements Filter {
+	// Constants
+	/** Default prefix of the urls served by the filter, relative to the context */
+	public static final String DEFAULT_PREFIX = "/ckeditor/";
+	
+	/** Name of the parameter giving the directory of the export */
+	public static final String DIRECTORY_PARAMETER = "directory";
+	
+	/** Name of the parameter giving the prefix of the urls */
+	public static final String PREFIX_PARAMETER = "prefix";
+	
+	/** Request attributes of the sendfile support of Tomcat */
+	private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+	private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+	private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+	private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+	
+	/**
+	 * Method retrieving a date header
+	 * @param request Request
+	 * @param name Name of the header
+	 * @return the date, or -1 if the header is missing or is not a date
+	 */
+	private static long getDateHeader(HttpServletRequest request, String name) {
+		try {
+			return request.getDateHeader(name);
+			
+		} catch (IllegalArgumentException e) {
+			return -1;
+		}
+	}
+	
+	/**
+	 * Method mapping a file in memory
+	 * @param file File
+	 * @return the read only buffer
+	 * @throws IOException
+	 */
+	private static MappedByteBuffer map(File file) throws IOException {
+		FileInputStream in = new FileInputStream(file);
+		
+		try {
+			FileChannel channel = in.getChannel();
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			
+		} finally {
+			// The mapping stays valid once the channel is closed
+			in.close();
+		}
+	}
+	
+	/**
+	 * Method parsing the <code>Range</code> header. Only the single ranges
+	 * are served partially, the multiple ones are answered with the whole 
+	 * file, as allowed by the HTTP specification.
+	 * @param header Value of the header (can be null)
+	 * @param length Length of the content
+	 * @return the range, {@link Range#UNSATISFIABLE}, or null if the whole
+	 * content must be sent
+	 */
+	static Range parseRange(String header, long length) {
+		if(header == null || !header.startsWith("bytes=") || header.indexOf(',') >= 0){
+			return null;
+		}
+		
+		String spec = header.substring("bytes=".length()).trim();
+		int dash = spec.indexOf('-');
+		
+		if(dash < 0){
+			return null;
+		}
+		
+		try {
+			String first = spec.substring(0, dash).trim();
+			String last = spec.substring(dash + 1).trim();
+			long start;
+			long end;
+			
+			if(first.length() == 0){
+				long suffix = Long.parseLong(last);
+				
+				if(suffix <= 0){
+					return Range.UNSATISFIABLE;
+				}
+				
+				start = Math.max(0, length - suffix);
+				end = length - 1;
+				
+			} else {
+				start = Long.parseLong(first);
+				end = length - 1;
+				
+				if(last.length() > 0){
+					long value = Long.parseLong(last);
+					
+					if(value < start){
+						return null;
+					}
+					
+					end = Math.min(value, end);
+				}
+			}
+			
+			return start >= length ? Range.UNSATISFIABLE : new Range(start, end);
+			
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+	
+	// Properties
+	private File directory;
+	private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+	private String prefix;
+	
+	/**
+	 * {@inheritDoc}
+	 * @see javax.servlet.Filter#destroy()
+	 */
+	public void destroy() {
+		entries.clear();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @see javax.servlet.Filter#doFilter(javax.servlet.ServletRequest, javax.servlet.ServletResponse, javax.servlet.FilterChain)
+	 */
+	public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) 
+			throws IOException, ServletException {
+		HttpServletRequest httpRequest = (HttpServletRequest) request;
+		HttpServletResponse httpResponse = (HttpServletResponse) response;
+		String method = httpRequest.getMethod();
+		String uri = httpRequest.getRequestURI().substring(httpRequest.getContextPath().length());
+		
+		if(!uri.startsWith(prefix) || !("GET".equals(method) || "HEAD".equals(method))){
+			chain.doFilter(request, response);
+			return;
+		}
+		
+		Entry entry = getEntry(uri.substring(prefix.length()));
+		
+		if(entry == null){
+			httpResponse.sendError(HttpServletResponse.SC_NOT_FOUND);
+			return;
+		}
+		
+		CKeditorEncoding encoding = CKeditorEncoding.IDENTITY;
+		
+		if(entry.isCompressible()){
+			httpResponse.setHeader("Vary", "Accept-Encoding");
+			encoding = CKeditorEncoding.negotiate(httpRequest.getHeader("Accept-Encoding"),
+					entry.hasEncoding(CKeditorEncoding.BROTLI), entry.hasEncoding(CKeditorEncoding.GZIP));
+		}
+		
+		// The exported files are all under the fingerprint of the tree
+		httpResponse.setHeader("Cache-Control", "public, max-age=" 
+				+ CKeditorAssetResource.IMMUTABLE_CACHE_DURATION + ", immutable");
+		httpResponse.setDateHeader("Last-Modified", entry.getLastModified());
+		httpResponse.setHeader("Accept-Ranges", "bytes");
+		
+		String etag = entry.getETag(encoding);
+		httpResponse.setHeader("ETag", etag);
+		
+		if(isNotModified(httpRequest.getHeader("If-None-Match"), 
+				getDateHeader(httpRequest, "If-Modified-Since"), etag, entry.getLastModified())){
+			httpResponse.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+			return;
+		}
+		
+		httpResponse.setContentType(entry.getContentType());
+		
+		if(encoding != CKeditorEncoding.IDENTITY){
+			httpResponse.setHeader("Content-Encoding", encoding.getName());
+		}
+		
+		Variant variant = entry.getVariant(encoding);
+		long length = variant.getContent().capacity();
+		Range range = null;
+		
+		if(isRangeApplicable(httpRequest.getHeader("If-Range"), 
+				getDateHeader(httpRequest, "If-Range"), etag, entry.getLastModified())){
+			range = parseRange(httpRequest.getHeader("Range"), length);
+		}
+		
+		if(range == Range.UNSATISFIABLE){
+			httpResponse.setHeader("Content-Range", "bytes */" + length);
+			httpResponse.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+			return;
+		}
+		
+		if(range == null){
+			range = new Range(0, length - 1);
+			
+		} else {
+			httpResponse.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+			httpResponse.setHeader("Content-Range", "bytes " + range.start + "-" + range.end + "/" + length);
+		}
+		
+		httpResponse.setHeader("Content-Length", Long.toString(range.getLength()));
+		
+		if("GET".equals(method)){
+			send(httpRequest, httpResponse, variant, range);
+		}
+	}
+	
+	/**
+	 * Method retrieving the files of a path
+	 * @param path Path, relative to the directory
+	 * @return the entry, or null if the file does not exist
+	 * @throws IOException
+	 */
+	private Entry getEntry(String path) throws IOException {
+		// The missing files are not cached, so the map cannot grow with
+		// the urls requested
+		if(path.length() == 0 || path.endsWith("/") || path.indexOf("..") >= 0
+				|| path.indexOf('\\') >= 0 || path.endsWith(".tmp")){
+			return null;
+		}
+		
+		File file = new File(directory, path);
+		long lastModified = file.lastModified();
+		
+		if(lastModified == 0L || !file.isFile()){
+			entries.remove(path);
+			return null;
+		}
+		
+		// The entry is kept while the file is unchanged. The export writes
+		// the file after its compressed variants.
+		Entry entry = entries.get(path);
+		
+		if(entry != null && entry.getLastModified() == lastModified){
+			return entry;
+		}
+		
+		Map<CKeditorEncoding, Variant> variants = new EnumMap<CKeditorEncoding, Variant>(CKeditorEncoding.class);
+		
+		for(CKeditorEncoding encoding : CKeditorEncoding.values()) {
+			File variant = new File(directory, path + encoding.getExtension());
+			
+			if(variant.isFile()){
+				variants.put(encoding, new Variant(variant, map(variant)));
+			}
+		}
+		
+		entry = new Entry(CKeditorAsset.getContentType(path), lastModified, 
+				CKeditorAsset.digest(variants.get(CKeditorEncoding.IDENTITY).getContent()), variants);
+		entries.put(path, entry);
+		return entry;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @see javax.servlet.Filter#init(javax.servlet.FilterConfig)
+	 */
+	public void init(FilterConfig filterConfig) throws ServletException {
+		String directoryParameter = filterConfig.getInitParameter(DIRECTORY_PARAMETER);
+		String prefixParameter = filterConfig.getInitParameter(PREFIX_PARAMETER);
+		
+		if(directoryParameter == null){
+			throw new ServletException("The parameter '" + DIRECTORY_PARAMETER + "' of the filter "
+					+ filterConfig.getFilterName() + " is required");
+		}
+		
+		directory = new File(directoryParameter);
+		prefix = prefixParameter == null ? DEFAULT_PREFIX : prefixParameter;
+		
+		if(!prefix.startsWith("/")){
+			prefix = "/" + prefix;
+		}
+		
+		if(!prefix.endsWith("/")){
+			prefix = prefix + "/";
+		}
+	}
+	
+	/**
+	 * Method checking the conditional headers of a request
+	 * @param ifNoneMatch Value of the <code>If-None-Match</code> header (can 
+	 * be null)
+	 * @param ifModifiedSince Date of the <code>If-Modified-Since</code> 
+	 * header, or -1
+	 * @param etag Entity tag of the response
+	 * @param lastModified Last modification time of the file
+	 * @return true if the client already has the content
+	 */
+	static boolean isNotModified(String ifNoneMatch, long ifModifiedSince, String etag, long lastModified) {
+		// If-Modified-Since is ignored when an entity tag is given
+		if(ifNoneMatch != null){
+			return CKeditorAssetResource.isNotModified(ifNoneMatch, etag);
+		}
+		
+		return ifModifiedSince != -1 && lastModified / 1000 <= ifModifiedSince / 1000;
+	}
+	
+	/**
+	 * Method checking the <code>If-Range</code> header
+	 * @param ifRange Value of the header (can be null)
+	 * @param ifRangeDate Date of the header, or -1 if it is not a date
+	 * @param etag Entity tag of the response
+	 * @param lastModified Last modification time of the file
+	 * @return true if the <code>Range</code> header can be honoured
+	 */
+	static boolean isRangeApplicable(String ifRange, long ifRangeDate, String etag, long lastModified) {
+		if(ifRange == null){
+			return true;
+		}
+		
+		if(ifRange.startsWith("\"") || ifRange.startsWith("W/")){
+			// If-Range uses the strong comparison
+			return ifRange.equals(etag);
+		}
+		
+		return ifRangeDate != -1 && ifRangeDate / 1000 == lastModified / 1000;
+	}
+	
+	/**
+	 * Method sending a range of a file
+	 * @param request Request
+	 * @param response Response
+	 * @param variant File to send
+	 * @param range Range to send
+	 * @throws IOException
+	 */
+	private void send(HttpServletRequest request, HttpServletResponse response, Variant variant, Range range)
+			throws IOException {
+		if(Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))){
+			// The container writes the file from the kernel once the
+			// filter returns
+			request.setAttribute(SENDFILE_FILENAME, variant.getFile().getAbsolutePath());
+			request.setAttribute(SENDFILE_START, Long.valueOf(range.start));
+			request.setAttribute(SENDFILE_END, Long.valueOf(range.end + 1));
+			return;
+		}
+		
+		ByteBuffer content = variant.getContent().duplicate();
+		content.limit((int) range.end + 1);
+		content.position((int) range.start);
+		WritableByteChannel channel = Channels.newChannel(response.getOutputStream());
+		
+		while(content.hasRemaining()){
+			channel.write(content);
+		}
+	}
+	
+	/**
+	 * Files of a path of the export, with their content type
+	 */
+	private static final class Entry {
+		// Properties
+		private final String contentType;
+		private final String digest;
+		private final long lastModified;
+		private final Map<CKeditorEncoding, Variant> variants;
+		
+		/**
+		 * Constructor
+		 * @param contentType Content type
+		 * @param lastModified Last modification time of the file
+		 * @param digest Digest of the content
+		 * @param variants Files of each available encoding
+		 */
+		private Entry(String contentType, long lastModified, String digest, 
+				Map<CKeditorEncoding, Variant> variants) {
+			super();
+			this.contentType = contentType;
+			this.digest = digest;
+			this.lastModified = lastModified;
+			this.variants = variants;
+		}
+		
+		/**
+		 * @return the content type
+		 */
+		public String getContentType() {
+			return contentType;
+		}
+		
+		/**
+		 * @param encoding Encoding of the response
+		 * @return the quoted entity tag of the file with this encoding
+		 */
+		public String getETag(CKeditorEncoding encoding) {
+			return CKeditorAsset.getETag(digest, encoding);
+		}
+		
+		/**
+		 * @return the last modification time
+		 */
+		public long getLastModified() {
+			return lastModified;
+		}
+		
+		/**
+		 * @param encoding Encoding
+		 * @return the file with this encoding, or null
+		 */
+		public Variant getVariant(CKeditorEncoding encoding) {
+			return variants.get(encoding);
+		}
+		
+		/**
+		 * @param encoding Encoding
+		 * @return true if a file exists with this encoding
+		 */
+		public boolean hasEncoding(CKeditorEncoding encoding) {
+			return variants.containsKey(encoding);
+		}
+		
+		/**
+		 * @return true if the file gains to be compressed
+		 */
+		public boolean isCompressible() {
+			return contentType.startsWith("text/");
+		}
+	}
+	
+	/**
+	 * Range of bytes requested by a client
+	 */
+	static final class Range {
+		/** Range which cannot be satisfied */
+		static final Range UNSATISFIABLE = new Range(-1, -1);
+		
+		// Properties
+		final long end;
+		final long start;
+		
+		/**
+		 * Constructor
+		 * @param start First byte
+		 * @param end Last byte, inclusive
+		 */
+		Range(long start, long end) {
+			super();
+			this.start = start;
+			this.end = end;
+		}
+		
+		/**
+		 * @return the number of bytes
+		 */
+		long getLength() {
+			return end - start + 1;
+		}
+	}
+	
+	/**
+	 * File of an encoding, mapped in memory
+	 */
+	private static final class Variant {
+		// Properties
+		private final MappedByteBuffer content;
+		private final File file;
+		
+		/**
+		 * Constructor
+		 * @param file File
+		 * @param content Content of the file
+		 */
+		private Variant(File file, MappedByteBuffer content) {
+			super();
+			this.file = file;
+			this.content = content;
+		}
+		
+		/**
+		 * @return the content
+		 */
+		public MappedByteBuffer getContent() {
+			return content;
+		}
+		
+		/**
+		 * @return the file
+		 */
+		public File getFile() {
+			return file;
+		}
+	}
+}
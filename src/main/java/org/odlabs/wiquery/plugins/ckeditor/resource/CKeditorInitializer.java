@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2009 WiQuery team
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.odlabs.wiquery.plugins.ckeditor.resource;
+
+import org.apache.wicket.Application;
+import org.apache.wicket.MetaDataKey;
+import org.apache.wicket.SharedResources;
+import org.apache.wicket.protocol.http.WebApplication;
+import org.odlabs.wiquery.plugins.ckeditor.CKeditorBehavior;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * $Id: CKeditorInitializer.java roche.jul $
+ * 
+ * <p>
+ * 	Installation of the plugin into an application. It is not declared into
+ * 	a <code>wicket.properties</code> file: the application opts in from its
+ * 	<code>init()</code> method:
+ * 	<pre>
+ * 	CKeditorInitializer.install(this);
+ * 	</pre>
+ * 	Without it, the files of the CKeditor tree are served by Wicket under 
+ * 	their own paths.
+ * </p>
+ * 
+ * <p>
+ * 	The installation registers the files of the CKeditor tree as shared 
+ * 	resources, so the references used by the {@link CKeditorBehavior} and
+ * 	the files loaded by CKeditor itself are served by 
+ * 	{@link CKeditorAssetResource}, and the {@link CKeditorLanguagePack} of 
+ * 	each language. The tree is registered twice: under its own paths, and 
+ * 	under the fingerprint of its content with the skins served by 
+ * 	{@link CKeditorSkin}. The cache of {@link CKeditorAssets} is bounded by
+ * 	the budget given to the application by the 
+ * 	<code>wiquery.ckeditor.cache.memoryBudget</code> parameter. If the
+ * 	<code>wiquery.ckeditor.warmup.memoryBudget</code> parameter is set, the
+ * 	resources are then loaded in the background by {@link CKeditorWarmUp}.
+ * </p>
+ * 
+ * @author Julien Roche
+ * @since 1.1
+ */
+public final class CKeditorInitializer {
+	// Constants
+	/** Key of the installation into the application */
+	private static final MetaDataKey<Boolean> INSTALLED_KEY =
+		new MetaDataKey<Boolean>() {
+			private static final long serialVersionUID = 1L;
+		};
+	
+	/** Logger */
+	private static final Logger LOGGER = LoggerFactory.getLogger(CKeditorInitializer.class);
+	
+	/**
+	 * Method retrieving a numeric parameter of the plugin, from the 
+	 * parameters of the Wicket filter, otherwise from the system properties
+	 * @param application Application
+	 * @param name Name of the parameter
+	 * @param defaultValue Default value
+	 * @return the value
+	 */
+	static long getParameter(Application application, String name, long defaultValue) {
+		String value = null;
+		
+		if(application instanceof WebApplication){
+			value = ((WebApplication) application).getInitParameter(name);
+		}
+		
+		if(value == null){
+			value = System.getProperty(name);
+		}
+		
+		if(value == null){
+			return defaultValue;
+		}
+		
+		try {
+			return Long.parseLong(value.trim());
+			
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("The parameter " + name + " must be a number: " + value, e);
+		}
+	}
+	
+	/**
+	 * Method installing the plugin into an application, from its 
+	 * <code>init()</code> method. If the CKeditor tree cannot be listed, the
+	 * files stay served by Wicket under their own paths.
+	 * @param application Application
+	 */
+	public static void install(Application application) {
+		if(Boolean.TRUE.equals(application.getMetaData(INSTALLED_KEY))){
+			return;
+			
+		} else if(CKeditorResourceTree.getFingerprint() == null){
+			LOGGER.warn("The CKeditor tree cannot be listed, it is served by Wicket under its own paths");
+			return;
+		}
+		
+		SharedResources sharedResources = application.getSharedResources();
+		CKeditorAssets.setMemoryBudget(application, getParameter(application, 
+				CKeditorAssets.MEMORY_BUDGET_PARAMETER, CKeditorAssets.DEFAULT_MEMORY_BUDGET));
+		pin(true);
+		
+		for(String path : CKeditorResourceTree.list()) {
+			sharedResources.add(CKeditorBehavior.class, path, null, null,
+					new CKeditorAssetResource(path));
+			sharedResources.add(CKeditorBehavior.class, CKeditorResourceTree.getFingerprintedPath(path), 
+					null, null, newImmutableResource(path));
+		}
+		
+		for(String skin : CKeditorSkin.getSkins()) {
+			sharedResources.add(CKeditorBehavior.class, 
+					CKeditorResourceTree.getFingerprintedPath(CKeditorSkin.getStyleSheetPath(skin)), 
+					null, null, new CKeditorSkin(skin, true));
+		}
+		
+		for(String code : CKeditorLanguagePack.getLanguages()) {
+			sharedResources.add(CKeditorBehavior.class, 
+					CKeditorResourceTree.getFingerprintedPath(CKeditorLanguagePack.getPath(code)), 
+					null, null, new CKeditorLanguagePack(code, true));
+		}
+		
+		application.setMetaData(INSTALLED_KEY, Boolean.TRUE);
+		new CKeditorWarmUp(CKeditorWarmUp.getMemoryBudget(application)).start();
+	}
+	
+	/**
+	 * @return true if the plugin is installed into the current application,
+	 * so the tree is served under its fingerprint
+	 */
+	public static boolean isInstalled() {
+		return Application.exists() 
+			&& Boolean.TRUE.equals(Application.get().getMetaData(INSTALLED_KEY));
+	}
+	
+	/**
+	 * Method creating the resource serving a file under the fingerprint of
+	 * the tree
+	 * @param path Path of the file
+	 * @return the resource
+	 */
+	private static CKeditorAssetResource newImmutableResource(String path) {
+		String skin = CKeditorSkin.getSkin(path);
+		return skin == null ? new CKeditorAssetResource(path, true) : new CKeditorSkin(skin, false);
+	}
+	
+	/**
+	 * Method pinning or unpinning the resources used by all the editors: the
+	 * core of CKeditor, the adapter and the default skin
+	 * @param pinned true to pin the resources, false to unpin them
+	 */
+	private static void pin(boolean pinned) {
+		String[] paths = {CKeditorResourceTree.ANCHOR, "jquery-ckeditor-adapter.js", 
+				CKeditorSkin.getStyleSheetPath(CKeditorSkin.DEFAULT_SKIN)};
+		
+		for(String path : paths) {
+			if(pinned){
+				CKeditorAssets.pin(path);
+				
+			} else {
+				CKeditorAssets.unpin(path);
+			}
+		}
+	}
+	
+	/**
+	 * Method releasing the memory budget and the pinned resources of an 
+	 * application, from its <code>onDestroy()</code> method
+	 * @param application Application
+	 */
+	public static void uninstall(Application application) {
+		if(Boolean.TRUE.equals(application.getMetaData(INSTALLED_KEY))){
+			application.setMetaData(INSTALLED_KEY, null);
+			CKeditorAssets.removeMemoryBudget(application);
+			pin(false);
+		}
+	}
+	
+	/**
+	 * Constructor
+	 */
+	private CKeditorInitializer() {
+		super();
+	}
+}
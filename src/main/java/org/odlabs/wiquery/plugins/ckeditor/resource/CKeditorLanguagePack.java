@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2009 WiQuery team
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.odlabs.wiquery.plugins.ckeditor.resource;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.wicket.markup.html.resources.JavascriptResourceReference;
+import org.odlabs.wiquery.plugins.ckeditor.CKeditorBehavior;
+
+/**
+ * $Id: CKeditorLanguagePack.java roche.jul $
+ * 
+ * <p>
+ * 	Resource serving, in a single response, the language file of CKeditor
+ * 	and the matching language files of the plugins. The strings of a plugin
+ * 	not loaded yet are kept until its registration, so CKeditor does not
+ * 	request them.
+ * </p>
+ * 
+ * @author Julien Roche
+ * @since 1.1
+ */
+public class CKeditorLanguagePack extends CKeditorAssetResource {
+	// Constants
+	/** Default language of CKeditor */
+	public static final String DEFAULT_LANGUAGE = "en";
+	
+	/** Pattern of the language files of CKeditor */
+	private static final Pattern LANGUAGE_PATTERN = Pattern.compile("lang/([a-z]+(-[a-z]+)?)\\.js");
+	
+	/** Pattern of the language files of the plugins */
+	private static final Pattern PLUGIN_LANGUAGE_PATTERN = 
+		Pattern.compile("plugins/([^/]+)/lang/([a-z]+(-[a-z]+)?)\\.js");
+	
+	/** Header of the plugin language files, deferring their registration */
+	private static final String PLUGINS_HEADER = "(function(){var p=CKEDITOR.plugins,s=p.setLang;"
+		+ "p.setLang=function(n,c,e){if(p.get(n)){s.call(p,n,c,e);}else{"
+		+ "CKEDITOR.on(n+'PluginReady',function(v){var l=v.data.lang||(v.data.lang={});l[c]=e;});}};\n";
+	
+	/** Footer of the plugin language files */
+	private static final String PLUGINS_FOOTER = "p.setLang=s;})();\n";
+	
+	/** Prefix of the paths of the language packs */
+	public static final String PREFIX = "lang/pack/";
+	
+	/** Constant of serialization */
+	private static final long serialVersionUID = 1L;
+	
+	/** Languages of CKeditor and of its plugins, read once from the tree */
+	private static volatile Languages languages;
+	
+	/**
+	 * $Id: CKeditorLanguagePack.java roche.jul $
+	 * 
+	 * <p>
+	 * 	Reference of a language pack, registering it into the application on
+	 * 	its first use
+	 * </p>
+	 * 
+	 * @author Julien Roche
+	 * @since 1.1
+	 */
+	static class Reference extends JavascriptResourceReference {
+		// Constants
+		/** Constant of serialization */
+		private static final long serialVersionUID = 1L;
+		
+		// Properties
+		private final String code;
+		
+		/**
+		 * Constructor
+		 * @param code Language code of CKeditor
+		 */
+		public Reference(String code) {
+			super(CKeditorBehavior.class, CKeditorResourceTree.getServedPath(getPath(code)));
+			this.code = code;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 * @see org.apache.wicket.ResourceReference#newResource()
+		 */
+		@Override
+		protected CKeditorLanguagePack newResource() {
+			// Without the fingerprint, the pack changes under the same url
+			return new CKeditorLanguagePack(code, !getPath(code).equals(getName()));
+		}
+	}
+	
+	/**
+	 * $Id: CKeditorLanguagePack.java roche.jul $
+	 * 
+	 * <p>
+	 * 	Languages available into the CKeditor tree
+	 * </p>
+	 * 
+	 * @author Julien Roche
+	 * @since 1.1
+	 */
+	private static class Languages {
+		// Properties
+		private final Set<String> editor = new TreeSet<String>();
+		private final Map<String, Set<String>> plugins = new HashMap<String, Set<String>>();
+		
+		/**
+		 * Constructor
+		 */
+		public Languages() {
+			super();
+			
+			for(String path : CKeditorResourceTree.list()) {
+				Matcher matcher = LANGUAGE_PATTERN.matcher(path);
+				
+				if(matcher.matches()){
+					editor.add(matcher.group(1));
+					continue;
+				}
+				
+				matcher = PLUGIN_LANGUAGE_PATTERN.matcher(path);
+				
+				if(matcher.matches()){
+					Set<String> codes = plugins.get(matcher.group(1));
+					
+					if(codes == null){
+						codes = new TreeSet<String>();
+						plugins.put(matcher.group(1), codes);
+					}
+					
+					codes.add(matcher.group(2));
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Method creating the content of a language pack
+	 * @param code Language code of CKeditor
+	 * @return the asset
+	 */
+	static CKeditorAsset createAsset(String code) {
+		Languages available = getAvailableLanguages();
+		ByteArrayOutputStream out = new ByteArrayOutputStream(32768);
+		
+		// The pack keeps the byte order mark, so it is read as UTF-8
+		// whatever the encoding of the page
+		CKeditorAssets.write(out, CKeditorAssets.UTF8_BOM);
+		long lastModified = CKeditorAssets.append(out, "lang/" + code + ".js");
+		
+		if(!available.plugins.isEmpty()){
+			CKeditorAssets.write(out, PLUGINS_HEADER);
+			
+			for(Map.Entry<String, Set<String>> plugin : available.plugins.entrySet()) {
+				// As CKeditor, the first language of the plugin is used when
+				// the plugin is not translated
+				String pluginCode = plugin.getValue().contains(code) ? code : 
+					plugin.getValue().contains(DEFAULT_LANGUAGE) ? DEFAULT_LANGUAGE : null;
+				
+				if(pluginCode != null){
+					lastModified = Math.max(lastModified, CKeditorAssets.append(out, 
+							"plugins/" + plugin.getKey() + "/lang/" + pluginCode + ".js"));
+				}
+			}
+			
+			CKeditorAssets.write(out, PLUGINS_FOOTER);
+		}
+		
+		return CKeditorAsset.create(getPath(code), out.toByteArray(), lastModified);
+	}
+	
+	/**
+	 * @return the languages available into the tree
+	 */
+	private static Languages getAvailableLanguages() {
+		if(languages == null){
+			languages = new Languages();
+		}
+		
+		return languages;
+	}
+	
+	/**
+	 * @return the language codes of CKeditor
+	 */
+	public static Set<String> getLanguages() {
+		return Collections.unmodifiableSet(getAvailableLanguages().editor);
+	}
+	
+	/**
+	 * @param code Language code of CKeditor
+	 * @return the path of the language pack, relative to the CKeditor tree
+	 */
+	public static String getPath(String code) {
+		return PREFIX + code + ".js";
+	}
+	
+	/**
+	 * @param code Language code of CKeditor
+	 * @return the reference of the language pack, served under the fingerprint
+	 * of the tree when the plugin is installed
+	 */
+	public static JavascriptResourceReference getReference(String code) {
+		return new Reference(code);
+	}
+	
+	/**
+	 * Method resolving the language used by an editor, as CKeditor does it 
+	 * with the language of the browser
+	 * @param language Language of the editor (can be null or empty)
+	 * @param defaultLanguage Default language of the editor (can be null)
+	 * @param locale Locale of the user (can be null)
+	 * @return the language code, available into the tree
+	 */
+	public static String resolve(String language, String defaultLanguage, Locale locale) {
+		Set<String> codes = getAvailableLanguages().editor;
+		
+		if(language != null && language.length() > 0){
+			if(codes.contains(language)){
+				return language;
+			}
+			
+		} else if(locale != null){
+			String code = locale.getLanguage().toLowerCase();
+			String country = locale.getCountry().toLowerCase();
+			
+			if("iw".equals(code)){
+				// Old code of the hebrew, still used by java
+				code = "he";
+			}
+			
+			if(country.length() > 0 && codes.contains(code + "-" + country)){
+				return code + "-" + country;
+				
+			} else if(codes.contains(code)){
+				return code;
+			}
+		}
+		
+		return defaultLanguage != null && codes.contains(defaultLanguage) ? 
+				defaultLanguage : DEFAULT_LANGUAGE;
+	}
+	
+	// Properties
+	private final String code;
+	
+	/**
+	 * Constructor
+	 * @param code Language code of CKeditor
+	 */
+	public CKeditorLanguagePack(String code) {
+		this(code, false);
+	}
+	
+	/**
+	 * Constructor
+	 * @param code Language code of CKeditor
+	 * @param immutable True if the pack is served under the fingerprint of
+	 * the tree, so the browsers can keep it forever
+	 */
+	public CKeditorLanguagePack(String code, boolean immutable) {
+		super(getPath(code), immutable);
+		this.code = code;
+	}
+	
+	/**
+	 * @return the language code
+	 */
+	public String getCode() {
+		return code;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @see org.odlabs.wiquery.plugins.ckeditor.resource.CKeditorAssetResource#loadAsset()
+	 */
+	@Override
+	protected CKeditorAsset loadAsset() {
+		CKeditorAsset asset = CKeditorAssets.lookup(getPath());
+		return asset == null ? CKeditorAssets.register(createAsset(code)) : asset;
+	}
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2009 WiQuery team
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.odlabs.wiquery.plugins.ckeditor.resource;
+
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.wicket.Application;
+import org.apache.wicket.MetaDataKey;
+import org.apache.wicket.markup.html.resources.JavascriptResourceReference;
+import org.odlabs.wiquery.plugins.ckeditor.CKeditorBehavior;
+import org.odlabs.wiquery.plugins.ckeditor.CKeditorProfile;
+
+/**
+ * $Id: CKeditorProfileConfig.java roche.jul $
+ * 
+ * <p>
+ * 	Custom configuration file of CKeditor generated from the options of a
+ * 	{@link CKeditorProfile}. It is served under the hash of the options (and
+ * 	the fingerprint of the tree when the plugin is installed with 
+ * 	{@link CKeditorInitializer}), so the browsers keep it, and the editors 
+ * 	reference it with their <code>customConfig</code> option, relative to
+ * 	the directory of CKeditor, instead of the default <code>config.js</code>.
+ * </p>
+ * 
+ * <p>
+ * 	The references of the files are kept into the application, and released
+ * 	with it. Above {@link #MAX_CONFIGS} files, or outside of an application,
+ * 	the files are created without being kept.
+ * </p>
+ * 
+ * @author Julien Roche
+ * @since 1.1
+ */
+public class CKeditorProfileConfig extends CKeditorAssetResource {
+	/**
+	 * $Id: CKeditorProfileConfig.java roche.jul $
+	 * 
+	 * <p>
+	 * 	Reference of a configuration file, registering it into the application
+	 * 	on its first use
+	 * </p>
+	 * 
+	 * @author Julien Roche
+	 * @since 1.1
+	 */
+	public static class Reference extends JavascriptResourceReference {
+		// Constants
+		/** Constant of serialization */
+		private static final long serialVersionUID = 1L;
+		
+		// Properties
+		private final String content;
+		private final String path;
+		
+		/**
+		 * Constructor
+		 * @param path Path of the file, served under the fingerprint of the 
+		 * tree when the plugin is installed
+		 * @param content Content of the file
+		 */
+		private Reference(String path, String content) {
+			super(CKeditorBehavior.class, CKeditorResourceTree.getServedPath(path));
+			this.path = path;
+			this.content = content;
+		}
+		
+		/**
+		 * @return the path of the file, relative to the directory of CKeditor
+		 */
+		public String getPath() {
+			return path;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 * @see org.apache.wicket.ResourceReference#newResource()
+		 */
+		@Override
+		protected CKeditorProfileConfig newResource() {
+			return new CKeditorProfileConfig(path, content);
+		}
+	}
+	
+	// Constants
+	/** Key of the references of the configuration files, by profile and options, into the application */
+	private static final MetaDataKey<ConcurrentMap<String, Reference>> CONFIGS_KEY = 
+		new MetaDataKey<ConcurrentMap<String, Reference>>() {
+			private static final long serialVersionUID = 1L;
+		};
+	
+	/** Time of the generation of the configuration files */
+	private static final long LAST_MODIFIED = System.currentTimeMillis();
+	
+	/** Maximum number of configuration files kept by an application */
+	public static final int MAX_CONFIGS = 256;
+	
+	/** Prefix of the paths of the configuration files */
+	public static final String PREFIX = "profile/";
+	
+	/** Constant of serialization */
+	private static final long serialVersionUID = 1L;
+	
+	/**
+	 * Method retrieving the configuration file of a profile, registered into
+	 * the current application on its creation
+	 * @param profile Profile
+	 * @return the reference of the file
+	 */
+	public static Reference get(CKeditorProfile profile) {
+		return get(Application.exists() ? Application.get() : null, profile);
+	}
+	
+	/**
+	 * Method retrieving the configuration file of a profile
+	 * @param application Application registering the file on its creation 
+	 * (can be null)
+	 * @param profile Profile
+	 * @return the reference of the file
+	 */
+	public static Reference get(Application application, CKeditorProfile profile) {
+		String javascriptOptions = profile.getJavaScriptOptions();
+		String key = CKeditorResourceTree.getServedPath("") + "|" + profile.getName() 
+			+ "|" + javascriptOptions;
+		ConcurrentMap<String, Reference> configs = getConfigs(application);
+		Reference reference = configs == null ? null : configs.get(key);
+		
+		if(reference == null){
+			String content = CKeditorAssets.UTF8_BOM + "CKEDITOR.editorConfig = function(config){"
+				+ "CKEDITOR.tools.extend(config, " + javascriptOptions + ", true);};\n";
+			reference = new Reference(getPath(profile.getName(), content), content);
+			
+			if(configs != null && configs.size() < MAX_CONFIGS){
+				Reference previous = configs.putIfAbsent(key, reference);
+				
+				if(previous != null){
+					reference = previous;
+					
+				} else {
+					reference.bind(application);
+				}
+			}
+		}
+		
+		return reference;
+	}
+	
+	/**
+	 * @param application Application
+	 * @return the references of the configuration files kept by the 
+	 * application
+	 */
+	static Collection<Reference> getReferences(Application application) {
+		ConcurrentMap<String, Reference> configs = getConfigs(application);
+		return configs.values();
+	}
+	
+	/**
+	 * @param application Application (can be null)
+	 * @return the references of the configuration files of the application,
+	 * or null without application
+	 */
+	private static synchronized ConcurrentMap<String, Reference> getConfigs(Application application) {
+		if(application == null){
+			return null;
+		}
+		
+		ConcurrentMap<String, Reference> configs = application.getMetaData(CONFIGS_KEY);
+		
+		if(configs == null){
+			configs = new ConcurrentHashMap<String, Reference>();
+			application.setMetaData(CONFIGS_KEY, configs);
+		}
+		
+		return configs;
+	}
+	
+	/**
+	 * Method computing the path of a configuration file
+	 * @param name Name of the profile
+	 * @param content Content of the file
+	 * @return the path, relative to the CKeditor tree
+	 */
+	private static String getPath(String name, String content) {
+		try {
+			return PREFIX + name.replaceAll("[^A-Za-z0-9_-]", "_") + "." 
+				+ CKeditorAsset.digest(ByteBuffer.wrap(content.getBytes("UTF-8"))) + ".js";
+			
+		} catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	// Properties
+	private final String content;
+	
+	/**
+	 * Constructor
+	 * @param path Path of the file
+	 * @param content Content of the file
+	 */
+	CKeditorProfileConfig(String path, String content) {
+		super(path, true);
+		this.content = content;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @see org.odlabs.wiquery.plugins.ckeditor.resource.CKeditorAssetResource#loadAsset()
+	 */
+	@Override
+	protected CKeditorAsset loadAsset() {
+		CKeditorAsset asset = CKeditorAssets.lookup(getPath());
+		
+		if(asset == null){
+			try {
+				asset = CKeditorAssets.register(CKeditorAsset.create(getPath(), 
+						content.getBytes("UTF-8"), LAST_MODIFIED));
+				
+			} catch (UnsupportedEncodingException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+		
+		return asset;
+	}
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2009 WiQuery team
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.odlabs.wiquery.plugins.ckeditor.resource;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import org.apache.wicket.markup.html.resources.JavascriptResourceReference;
+import org.odlabs.wiquery.plugins.ckeditor.CKeditorBehavior;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * $Id: CKeditorResourceTree.java roche.jul $
+ * 
+ * <p>
+ * 	Listing of the files of the CKeditor tree, from the jar or the directory
+ * 	containing the plugin. The java classes and the precompressed variants are
+ * 	not part of it. Into the applications installing the plugin with 
+ * 	{@link CKeditorInitializer}, the tree is also served under a fingerprint
+ * 	of its content, so these urls can be cached forever. The fingerprint is
+ * 	computed on the first contribution of a resource and, if the tree cannot
+ * 	be listed (for example from <code>vfs:</code> or <code>bundle:</code> 
+ * 	urls), the files are served under their own paths.
+ * </p>
+ * 
+ * @author Julien Roche
+ * @since 1.1
+ */
+public final class CKeditorResourceTree {
+	// Constants
+	/** Anchor file of the tree */
+	static final String ANCHOR = "ckeditor.js";
+	
+	/** Length of the fingerprint of the tree */
+	private static final int FINGERPRINT_LENGTH = 12;
+	
+	/** Logger */
+	private static final Logger LOGGER = LoggerFactory.getLogger(CKeditorResourceTree.class);
+	
+	/** References of the files, under the fingerprint of the tree */
+	private static final ConcurrentMap<String, JavascriptResourceReference> REFERENCES = 
+		new ConcurrentHashMap<String, JavascriptResourceReference>();
+	
+	/** Fingerprint of the tree, computed once (empty if the tree cannot be listed) */
+	private static volatile String fingerprint;
+	
+	/**
+	 * @param name Name of a file
+	 * @return true if the file is part of the tree
+	 */
+	private static boolean accept(String name) {
+		return !name.endsWith(".class")
+			&& !name.endsWith(CKeditorEncoding.GZIP.getExtension())
+			&& !name.endsWith(CKeditorEncoding.BROTLI.getExtension());
+	}
+	
+	/**
+	 * Method computing the fingerprint of the tree from the content of its
+	 * files
+	 * @return the fingerprint
+	 */
+	private static String computeFingerprint() {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("MD5");
+			byte[] buffer = new byte[8192];
+			
+			for(String path : list()) {
+				digest.update(path.getBytes("UTF-8"));
+				digest.update((byte) 0);
+				InputStream in = CKeditorBehavior.class.getResourceAsStream(path);
+				
+				try {
+					int read;
+					
+					while((read = in.read(buffer)) != -1){
+						digest.update(buffer, 0, read);
+					}
+					
+				} finally {
+					in.close();
+				}
+			}
+			
+			byte[] hash = digest.digest();
+			StringBuffer value = new StringBuffer(FINGERPRINT_LENGTH);
+			
+			for(int i = 0; i < FINGERPRINT_LENGTH / 2; i++){
+				value.append(Character.forDigit((hash[i] >> 4) & 0xF, 16));
+				value.append(Character.forDigit(hash[i] & 0xF, 16));
+			}
+			
+			return value.toString();
+			
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+			
+		} catch (IOException e) {
+			throw new IllegalStateException("Unable to read the CKeditor tree", e);
+		}
+	}
+	
+	/**
+	 * @return the fingerprint of the tree, changing with the content of any
+	 * of its files, or null if the tree cannot be listed
+	 */
+	public static String getFingerprint() {
+		String value = fingerprint;
+		
+		if(value == null){
+			try {
+				value = computeFingerprint();
+				
+			} catch (IllegalStateException e) {
+				LOGGER.warn("Unable to fingerprint the CKeditor tree, its files are served under their own paths", e);
+				value = "";
+			}
+			
+			fingerprint = value;
+		}
+		
+		return value.length() == 0 ? null : value;
+	}
+	
+	/**
+	 * @param path Path of a file, relative to the tree
+	 * @return the path of the file under the fingerprint of the tree, or the
+	 * path itself if the tree cannot be listed
+	 */
+	public static String getFingerprintedPath(String path) {
+		String value = getFingerprint();
+		return value == null ? path : value + "/" + path;
+	}
+	
+	/**
+	 * @param reference Reference of a file of the tree, under its own path
+	 * @return the reference of the file under the fingerprint of the tree, or
+	 * the reference itself if the plugin is not installed into the current
+	 * application
+	 */
+	public static JavascriptResourceReference getFingerprintedReference(JavascriptResourceReference reference) {
+		if(!CKeditorInitializer.isInstalled()){
+			return reference;
+		}
+		
+		JavascriptResourceReference fingerprinted = REFERENCES.get(reference.getName());
+		
+		if(fingerprinted == null){
+			fingerprinted = new JavascriptResourceReference(reference.getScope(), 
+					getFingerprintedPath(reference.getName()));
+			JavascriptResourceReference previous = REFERENCES.putIfAbsent(reference.getName(), fingerprinted);
+			
+			if(previous != null){
+				fingerprinted = previous;
+			}
+		}
+		
+		return fingerprinted;
+	}
+	
+	/**
+	 * @param path Path of a file, relative to the tree
+	 * @return the path of the file under the fingerprint of the tree, or the
+	 * path itself if the plugin is not installed into the current application
+	 */
+	public static String getServedPath(String path) {
+		return CKeditorInitializer.isInstalled() ? getFingerprintedPath(path) : path;
+	}
+	
+	/**
+	 * Method listing the files of a directory
+	 * @param directory Directory
+	 * @param prefix Path of the directory, relative to the tree
+	 * @param paths Paths of the files
+	 */
+	private static void list(File directory, String prefix, List<String> paths) {
+		File[] files = directory.listFiles();
+		
+		if(files == null){
+			return;
+		}
+		
+		for(File file : files) {
+			if(file.isDirectory()){
+				list(file, prefix + file.getName() + "/", paths);
+				
+			} else if(accept(file.getName())){
+				paths.add(prefix + file.getName());
+			}
+		}
+	}
+	
+	/**
+	 * Method listing the files of the tree
+	 * @return the sorted paths of the files, relative to the tree
+	 */
+	public static List<String> list() {
+		URL anchor = CKeditorBehavior.class.getResource(ANCHOR);
+		
+		if(anchor == null){
+			throw new IllegalStateException("The CKeditor tree is not in the classpath");
+		}
+		
+		List<String> paths = new ArrayList<String>();
+		
+		try {
+			if("jar".equals(anchor.getProtocol())){
+				JarURLConnection connection = (JarURLConnection) anchor.openConnection();
+				String entryName = connection.getEntryName();
+				String prefix = entryName.substring(0, entryName.length() - ANCHOR.length());
+				JarFile jar = connection.getJarFile();
+				Enumeration<JarEntry> entries = jar.entries();
+				
+				while(entries.hasMoreElements()){
+					JarEntry entry = entries.nextElement();
+					String name = entry.getName();
+					
+					if(!entry.isDirectory() && name.startsWith(prefix) && accept(name)){
+						paths.add(name.substring(prefix.length()));
+					}
+				}
+				
+			} else if("file".equals(anchor.getProtocol())){
+				list(new File(anchor.toURI()).getParentFile(), "", paths);
+				
+			} else {
+				throw new IllegalStateException("Unable to list the CKeditor tree from " + anchor);
+			}
+			
+		} catch (IOException e) {
+			throw new IllegalStateException("Unable to list the CKeditor tree from " + anchor, e);
+			
+		} catch (URISyntaxException e) {
+			throw new IllegalStateException("Unable to list the CKeditor tree from " + anchor, e);
+		}
+		
+		Collections.sort(paths);
+		return paths;
+	}
+	
+	/**
+	 * Constructor
+	 */
+	private CKeditorResourceTree() {
+		super();
+	}
+}
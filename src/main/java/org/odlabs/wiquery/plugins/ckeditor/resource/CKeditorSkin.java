@@ -0,0 +1,347 @@
+/*
+ * Copyright (c) 2009 WiQuery team
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.odlabs.wiquery.plugins.ckeditor.resource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * $Id: CKeditorSkin.java roche.jul $
+ * 
+ * <p>
+ * 	Resource serving a skin of CKeditor with a single stylesheet. The 
+ * 	<code>skin.js</code> file is rewritten so the editor loads the combined
+ * 	stylesheet of all its parts (editor, dialogs and templates), and the
+ * 	other parts are considered as loaded. The small images are inlined into
+ * 	the stylesheet, with a fallback for Internet Explorer 6 and 7.
+ * </p>
+ * 
+ * @author Julien Roche
+ * @since 1.1
+ */
+public class CKeditorSkin extends CKeditorAssetResource {
+	// Constants
+	/** Base64 alphabet */
+	private static final char[] BASE64 = 
+		"ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+	
+	/** Pattern of the comments of a stylesheet */
+	private static final Pattern COMMENT_PATTERN = Pattern.compile("/\\*.*?\\*/\\s*", Pattern.DOTALL);
+	
+	/** Pattern of the stylesheets of a part, into skin.js */
+	private static final Pattern CSS_PATTERN = Pattern.compile("(editor|dialog|templates):\\{css:\\[([^\\]]*)\\]");
+	
+	/** Maximum size of the inlined data of an image (size x references) */
+	private static final int INLINE_LIMIT = 4096;
+	
+	/** Pattern of the background images of a stylesheet */
+	private static final Pattern IMAGE_PATTERN = Pattern.compile(
+			"(_?)(background(?:-image)?\\s*:[^;}]*?)url\\(\\s*['\"]?([^'\")]+?)['\"]?\\s*\\)([^;}]*)");
+	
+	/** Pattern of the quoted names */
+	private static final Pattern NAME_PATTERN = Pattern.compile("'([^']+)'");
+	
+	/** Name of the rewritten script, used as key of its asset */
+	private static final String SCRIPT = "skin.bundle.js";
+	
+	/** Constant of serialization */
+	private static final long serialVersionUID = 1L;
+	
+	/** Pattern of the skins of the tree */
+	private static final Pattern SKIN_PATTERN = Pattern.compile("skins/([^/]+)/skin\\.js");
+	
+	/** Skin used by CKeditor when the skin option is not set */
+	public static final String DEFAULT_SKIN = "kama";
+	
+	/** Name of the combined stylesheet, into the directory of the skin */
+	public static final String STYLESHEET = "skin.bundle.css";
+	
+	/** Skins of the tree, read once */
+	private static volatile Set<String> skins;
+	
+	/**
+	 * Method encoding data in base64
+	 * @param data Data
+	 * @return the encoded data
+	 */
+	private static String base64(ByteBuffer data) {
+		StringBuffer buffer = new StringBuffer((data.remaining() + 2) / 3 * 4);
+		
+		while(data.remaining() >= 3){
+			int bits = (data.get() & 0xFF) << 16 | (data.get() & 0xFF) << 8 | (data.get() & 0xFF);
+			buffer.append(BASE64[bits >> 18]).append(BASE64[(bits >> 12) & 0x3F])
+				.append(BASE64[(bits >> 6) & 0x3F]).append(BASE64[bits & 0x3F]);
+		}
+		
+		if(data.remaining() == 2){
+			int bits = (data.get() & 0xFF) << 16 | (data.get() & 0xFF) << 8;
+			buffer.append(BASE64[bits >> 18]).append(BASE64[(bits >> 12) & 0x3F])
+				.append(BASE64[(bits >> 6) & 0x3F]).append('=');
+			
+		} else if(data.remaining() == 1){
+			int bits = (data.get() & 0xFF) << 16;
+			buffer.append(BASE64[bits >> 18]).append(BASE64[(bits >> 12) & 0x3F]).append("==");
+		}
+		
+		return buffer.toString();
+	}
+	
+	/**
+	 * @param skin Name of the skin
+	 * @return the path of the directory of the skin
+	 */
+	private static String getDirectory(String skin) {
+		return "skins/" + skin + "/";
+	}
+	
+	/**
+	 * @param skin Name of the skin
+	 * @return the path of its script, relative to the CKeditor tree
+	 */
+	public static String getScriptPath(String skin) {
+		return getDirectory(skin) + "skin.js";
+	}
+	
+	/**
+	 * @param path Path of a file of the tree
+	 * @return the name of the skin if the file is the script of a skin, 
+	 * otherwise null
+	 */
+	public static String getSkin(String path) {
+		Matcher matcher = SKIN_PATTERN.matcher(path);
+		return matcher.matches() ? matcher.group(1) : null;
+	}
+	
+	/**
+	 * @return the skins of the tree
+	 */
+	public static Set<String> getSkins() {
+		if(skins == null){
+			Set<String> names = new TreeSet<String>();
+			
+			for(String path : CKeditorResourceTree.list()) {
+				String skin = getSkin(path);
+				
+				if(skin != null){
+					names.add(skin);
+				}
+			}
+			
+			skins = Collections.unmodifiableSet(names);
+		}
+		
+		return skins;
+	}
+	
+	/**
+	 * @param skin Name of the skin
+	 * @return the path of its combined stylesheet, relative to the CKeditor tree
+	 */
+	public static String getStyleSheetPath(String skin) {
+		return getDirectory(skin) + STYLESHEET;
+	}
+	
+	/**
+	 * Method reading a text file of the tree
+	 * @param path Path of the file
+	 * @return the text, without its byte order mark
+	 */
+	private static String read(String path) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		CKeditorAssets.append(out, path);
+		
+		try {
+			return out.toString("UTF-8");
+			
+		} catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	// Properties
+	private final String skin;
+	private final boolean styleSheet;
+	
+	/**
+	 * Constructor
+	 * @param skin Name of the skin
+	 * @param styleSheet True for the combined stylesheet, false for the script
+	 */
+	public CKeditorSkin(String skin, boolean styleSheet) {
+		super(styleSheet ? getStyleSheetPath(skin) : getDirectory(skin) + SCRIPT, true);
+		this.skin = skin;
+		this.styleSheet = styleSheet;
+	}
+	
+	/**
+	 * Method creating the content of the combined stylesheet
+	 * @return the asset
+	 */
+	private CKeditorAsset createStyleSheet() {
+		String directory = getDirectory(skin);
+		List<String> files = getStyleSheets();
+		StringBuffer css = new StringBuffer();
+		long lastModified = 0L;
+		
+		for(String file : files) {
+			String text = read(directory + file);
+			
+			// The copyright is only kept once
+			Matcher comment = COMMENT_PATTERN.matcher(text);
+			
+			if(css.length() == 0 && comment.lookingAt()){
+				css.append(comment.group().trim()).append('\n');
+			}
+			
+			css.append(comment.replaceAll("").trim());
+			lastModified = Math.max(lastModified, CKeditorAssets.get(directory + file).getLastModified());
+		}
+		
+		// The images are inlined when their data, repeated at each reference,
+		// stays small. The declarations only read by Internet Explorer 6 are 
+		// kept unchanged
+		Map<String, Integer> references = new HashMap<String, Integer>();
+		Matcher matcher = IMAGE_PATTERN.matcher(css);
+		
+		while(matcher.find()){
+			if(matcher.group(1).length() == 0){
+				Integer count = references.get(matcher.group(3));
+				references.put(matcher.group(3), count == null ? 1 : count + 1);
+			}
+		}
+		
+		StringBuffer inlined = new StringBuffer(css.length());
+		matcher.reset();
+		
+		while(matcher.find()){
+			String url = matcher.group(3);
+			CKeditorAsset image = matcher.group(1).length() > 0 || url.startsWith("/") || url.indexOf(':') >= 0 ? 
+					null : CKeditorAssets.get(directory + url);
+			
+			if(image != null && image.getLength(CKeditorEncoding.IDENTITY) * references.get(url) <= INLINE_LIMIT){
+				lastModified = Math.max(lastModified, image.getLastModified());
+				String data = "data:" + image.getContentType() + ";base64," 
+					+ base64(image.getContent(CKeditorEncoding.IDENTITY));
+				matcher.appendReplacement(inlined, Matcher.quoteReplacement(matcher.group(2) 
+						+ "url(" + data + ")" + matcher.group(4) + ";*background-image:url(" + url + ")"));
+				
+			} else {
+				matcher.appendReplacement(inlined, Matcher.quoteReplacement(matcher.group()));
+			}
+		}
+		
+		matcher.appendTail(inlined);
+		
+		try {
+			return CKeditorAsset.create(getPath(), inlined.toString().getBytes("UTF-8"), lastModified);
+			
+		} catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	/**
+	 * Method creating the content of the rewritten script
+	 * @return the asset
+	 */
+	private CKeditorAsset createScript() {
+		String path = getScriptPath(skin);
+		Matcher matcher = CSS_PATTERN.matcher(read(path));
+		StringBuffer script = new StringBuffer();
+		
+		while(matcher.find()){
+			// The editor loads the combined stylesheet, the other parts are 
+			// already loaded
+			matcher.appendReplacement(script, matcher.group(1) + ":{css:[" 
+					+ ("editor".equals(matcher.group(1)) ? "'" + STYLESHEET + "'" : "") + "]");
+		}
+		
+		matcher.appendTail(script);
+		
+		try {
+			return CKeditorAsset.create(getPath(), script.toString().getBytes("UTF-8"), 
+					CKeditorAssets.get(path).getLastModified());
+			
+		} catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	/**
+	 * @return the name of the skin
+	 */
+	public String getSkin() {
+		return skin;
+	}
+	
+	/**
+	 * @return the stylesheets of the skin, in their loading order
+	 */
+	private List<String> getStyleSheets() {
+		List<String> files = new ArrayList<String>();
+		Matcher matcher = CSS_PATTERN.matcher(read(getScriptPath(skin)));
+		
+		while(matcher.find()){
+			Matcher name = NAME_PATTERN.matcher(matcher.group(2));
+			
+			while(name.find()){
+				if(!files.contains(name.group(1))){
+					files.add(name.group(1));
+				}
+			}
+		}
+		
+		return files;
+	}
+	
+	/**
+	 * @return true for the combined stylesheet, false for the script
+	 */
+	public boolean isStyleSheet() {
+		return styleSheet;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @see org.odlabs.wiquery.plugins.ckeditor.resource.CKeditorAssetResource#loadAsset()
+	 */
+	@Override
+	protected CKeditorAsset loadAsset() {
+		CKeditorAsset asset = CKeditorAssets.lookup(getPath());
+		
+		if(asset == null){
+			asset = CKeditorAssets.register(styleSheet ? createStyleSheet() : createScript());
+		}
+		
+		return asset;
+	}
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2009 WiQuery team
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.odlabs.wiquery.plugins.ckeditor.resource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.wicket.Application;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * $Id: CKeditorWarmUp.java roche.jul $
+ * 
+ * <p>
+ * 	Warm-up of the CKeditor resources, started in the background by 
+ * 	{@link CKeditorInitializer} when the plugin is installed, so the 
+ * 	application starts without waiting for it. The fingerprint of the tree
+ * 	is computed and the files, the skins and the language packs are loaded
+ * 	and compressed by a pool of threads, so the first requests find them in
+ * 	memory.
+ * </p>
+ * 
+ * <p>
+ * 	The warm-up stops loading new resources once the assets in memory reach
+ * 	the budget given by the <code>wiquery.ckeditor.warmup.memoryBudget</code>
+ * 	parameter of the Wicket filter, or by the system property with the same
+ * 	name, in bytes (0 by default: the warm-up is disabled, and the resources
+ * 	are loaded on their first request), and never above the
+ * 	budget given by the application to {@link CKeditorAssets}. The budget may be
+ * 	exceeded by the resources already being loaded. The resources skipped 
+ * 	are loaded on their first request.
+ * </p>
+ * 
+ * @author Julien Roche
+ * @since 1.1
+ */
+public final class CKeditorWarmUp {
+	// Constants
+	/** Default memory budget, in bytes (the warm-up is disabled) */
+	public static final long DEFAULT_MEMORY_BUDGET = 0L;
+	
+	/** Name of the parameter giving the memory budget */
+	public static final String MEMORY_BUDGET_PARAMETER = "wiquery.ckeditor.warmup.memoryBudget";
+	
+	/** Logger */
+	private static final Logger LOGGER = LoggerFactory.getLogger(CKeditorWarmUp.class);
+	
+	/** Maximal duration of the warm-up, in seconds */
+	private static final long TIMEOUT = 60L;
+	
+	/**
+	 * Method retrieving the memory budget of an application
+	 * @param application Application
+	 * @return the budget, in bytes, never above the budget of the cache
+	 */
+	public static long getMemoryBudget(Application application) {
+		return Math.min(CKeditorAssets.getMemoryBudget(application), CKeditorInitializer.getParameter(
+				application, MEMORY_BUDGET_PARAMETER, DEFAULT_MEMORY_BUDGET));
+	}
+	
+	// Properties
+	private final long memoryBudget;
+	private final AtomicInteger loaded;
+	private final AtomicInteger skipped;
+	
+	/**
+	 * Constructor
+	 * @param memoryBudget Memory budget, in bytes
+	 */
+	public CKeditorWarmUp(long memoryBudget) {
+		super();
+		this.memoryBudget = memoryBudget;
+		this.loaded = new AtomicInteger();
+		this.skipped = new AtomicInteger();
+	}
+	
+	/**
+	 * Method creating the tasks of the warm-up, the most used resources first
+	 * @return the tasks
+	 */
+	private List<Runnable> createTasks() {
+		List<Runnable> tasks = new ArrayList<Runnable>();
+		
+		tasks.add(new Runnable() {
+			public void run() {
+				CKeditorResourceTree.getFingerprint();
+			}
+		});
+		
+		for(final String skin : CKeditorSkin.getSkins()) {
+			tasks.add(new Task() {
+				@Override
+				protected void load() {
+					new CKeditorSkin(skin, false).loadAsset();
+					new CKeditorSkin(skin, true).loadAsset();
+				}
+			});
+		}
+		
+		for(final String path : CKeditorResourceTree.list()) {
+			tasks.add(new Task() {
+				@Override
+				protected void load() {
+					CKeditorAssets.get(path);
+				}
+			});
+		}
+		
+		List<String> codes = new ArrayList<String>(CKeditorLanguagePack.getLanguages());
+		
+		if(codes.remove(CKeditorLanguagePack.DEFAULT_LANGUAGE)){
+			tasks.add(0, new LanguagePackTask(CKeditorLanguagePack.DEFAULT_LANGUAGE));
+		}
+		
+		for(String code : codes) {
+			tasks.add(new LanguagePackTask(code));
+		}
+		
+		return tasks;
+	}
+	
+	/**
+	 * Method running the warm-up, and waiting for its end
+	 */
+	public void run() {
+		if(memoryBudget <= 0){
+			return;
+		}
+		
+		long start = System.currentTimeMillis();
+		int threads = Runtime.getRuntime().availableProcessors();
+		ExecutorService executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+			private final AtomicInteger count = new AtomicInteger();
+			
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "ckeditor-warmup-" + count.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		
+		try {
+			for(Runnable task : createTasks()) {
+				executor.execute(task);
+			}
+			
+			executor.shutdown();
+			
+			if(!executor.awaitTermination(TIMEOUT, TimeUnit.SECONDS)){
+				LOGGER.warn("The CKeditor warm-up did not end after {} seconds, {} resources loaded", 
+						Long.valueOf(TIMEOUT), Integer.valueOf(loaded.get()));
+			}
+			
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			
+		} finally {
+			executor.shutdownNow();
+		}
+		
+		LOGGER.info("CKeditor warm-up: {} resources loaded, {} skipped, {} KB in memory "
+				+ "for a budget of {} KB, in {} ms with {} threads", new Object[] {
+					Integer.valueOf(loaded.get()), Integer.valueOf(skipped.get()),
+					Long.valueOf(CKeditorAssets.getMemory() / 1024), Long.valueOf(memoryBudget / 1024),
+					Long.valueOf(System.currentTimeMillis() - start), Integer.valueOf(threads)});
+	}
+	
+	/**
+	 * Method starting the warm-up into a background thread, without waiting
+	 * for its end
+	 */
+	public void start() {
+		if(memoryBudget <= 0){
+			return;
+		}
+		
+		Thread thread = new Thread(new Runnable() {
+			public void run() {
+				CKeditorWarmUp.this.run();
+			}
+		}, "ckeditor-warmup");
+		thread.setDaemon(true);
+		thread.setPriority(Thread.MIN_PRIORITY);
+		thread.start();
+	}
+	
+	/**
+	 * Task loading the language pack of a language
+	 */
+	private class LanguagePackTask extends Task {
+		// Properties
+		private final String code;
+		
+		/**
+		 * Constructor
+		 * @param code Code of the language
+		 */
+		public LanguagePackTask(String code) {
+			super();
+			this.code = code;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 * @see org.odlabs.wiquery.plugins.ckeditor.resource.CKeditorWarmUp.Task#load()
+		 */
+		@Override
+		protected void load() {
+			new CKeditorLanguagePack(code).loadAsset();
+		}
+	}
+	
+	/**
+	 * Task loading resources within the memory budget
+	 */
+	private abstract class Task implements Runnable {
+		/**
+		 * Method loading the resources
+		 */
+		protected abstract void load();
+		
+		/**
+		 * {@inheritDoc}
+		 * @see java.lang.Runnable#run()
+		 */
+		public void run() {
+			if(CKeditorAssets.getMemory() >= memoryBudget){
+				skipped.incrementAndGet();
+				return;
+			}
+			
+			try {
+				load();
+				loaded.incrementAndGet();
+				
+			} catch (RuntimeException e) {
+				// The resource will fail again on its request, the warm-up
+				// must not prevent the application from starting
+				LOGGER.warn("Unable to warm up a CKeditor resource", e);
+			}
+		}
+	}
+}
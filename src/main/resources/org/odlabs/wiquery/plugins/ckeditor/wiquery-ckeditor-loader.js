@@ -0,0 +1,275 @@
+/*
+ * wiQuery CKeditor loader
+ *
+ * Creation of the editors on demand: the element is left as it is until it
+ * is scrolled into view, receives the focus or is clicked, and the editor is
+ * then created with the jQuery adapter and the same configuration.
+ *
+ * Batched creation of the editors of a page: the configurations are declared
+ * once into window.wiQueryCKeditorConfigs, and the editors are created one
+ * per animation frame.
+ *
+ * Asynchronous loading of CKeditor: the scripts are loaded once, in their
+ * order, after the page or on the first activation of a lazy editor, and
+ * the editors are created once they are loaded.
+ *
+ * Reuse of the editors on Ajax re-renders: when the textarea is replaced and
+ * the configuration is unchanged, the live editor is attached to the new
+ * textarea and only its data is updated.
+ */
+(function($){
+	var MARGIN = 200, DELAY = 100, pending = [], timer = null, queue = [], draining = false, scripts = {},
+		requestFrame = window.requestAnimationFrame || window.webkitRequestAnimationFrame 
+			|| window.mozRequestAnimationFrame;
+
+	function nextFrame(callback){
+		if(requestFrame){
+			requestFrame.call(window, callback);
+		} else {
+			setTimeout(callback, 16);
+		}
+	}
+
+	function load(urls, callback){
+		var url, script, element,
+			next = function(){ load(urls.slice(1), callback); };
+
+		if(!urls || !urls.length){
+			callback();
+			return;
+		}
+
+		url = urls[0];
+		script = scripts[url];
+
+		if(!script){
+			// A script already rendered with the page is not loaded again
+			script = scripts[url] = {loaded: $('script[src="' + url + '"]').length > 0, callbacks: []};
+
+			if(!script.loaded){
+				script.callbacks.push(next);
+				element = document.createElement('script');
+				element.type = 'text/javascript';
+				element.onload = element.onreadystatechange = function(){
+					if(!script.loaded && (!this.readyState || this.readyState === 'loaded' 
+							|| this.readyState === 'complete')){
+						script.loaded = true;
+						element.onload = element.onreadystatechange = null;
+
+						while(script.callbacks.length){
+							script.callbacks.shift()();
+						}
+					}
+				};
+				element.src = url;
+				(document.getElementsByTagName('head')[0] || document.documentElement).appendChild(element);
+				return;
+			}
+		}
+
+		if(script.loaded){
+			next();
+		} else {
+			script.callbacks.push(next);
+		}
+	}
+
+	function build($element, config, focus){
+		// The configuration is a function when it needs CKeditor to be loaded
+		if($.isFunction(config)){
+			config = config();
+		}
+
+		if(focus){
+			$element.ckeditor(function(){ this.focus(); }, config);
+		} else {
+			$element.ckeditor(config);
+		}
+	}
+
+	function drain(){
+		var item;
+
+		while(queue.length){
+			item = queue.shift();
+
+			// The lazy editors are only watched, without delaying the others
+			if(item.mode === 'eager'){
+				build(item.element, item.config, false);
+				break;
+			}
+
+			defer(item.element, item.mode, item.urls, item.config);
+		}
+
+		if(queue.length){
+			nextFrame(drain);
+		} else {
+			draining = false;
+		}
+	}
+
+	function isVisible(element){
+		var $element = $(element), $window = $(window), top, scrollTop;
+
+		if(!$element.is(':visible')){
+			return false;
+		}
+
+		top = $element.offset().top;
+		scrollTop = $window.scrollTop();
+		return top < scrollTop + $window.height() + MARGIN 
+			&& top + $element.outerHeight() > scrollTop - MARGIN;
+	}
+
+	function check(){
+		var i;
+		timer = null;
+
+		for(i = pending.length - 1; i >= 0; i--){
+			if(i < pending.length && isVisible(pending[i].element)){
+				pending[i].create(false);
+			}
+		}
+	}
+
+	function schedule(){
+		if(timer === null){
+			timer = setTimeout(check, DELAY);
+		}
+	}
+
+	function watch(entry){
+		if(!pending.length){
+			$(window).bind('scroll.ckeditorLazy resize.ckeditorLazy', schedule);
+		}
+
+		pending.push(entry);
+		schedule();
+	}
+
+	function unwatch(entry){
+		var i;
+
+		for(i = 0; i < pending.length; i++){
+			if(pending[i] === entry){
+				pending.splice(i, 1);
+				break;
+			}
+		}
+
+		if(!pending.length){
+			$(window).unbind('.ckeditorLazy');
+		}
+	}
+
+	function defer(elements, mode, urls, config){
+		return elements.filter('textarea, div, p').each(function(){
+			var $element = $(this), entry;
+
+			if($element.data('ckeditorInstance') || $element.data('ckeditorLazy')){
+				return;
+			}
+
+			entry = {
+				element: this,
+				create: function(focus){
+					unwatch(entry);
+					$element.removeData('ckeditorLazy').unbind('.ckeditorLazy');
+					load(urls, function(){
+						build($element, config, focus);
+					});
+				}
+			};
+
+			$element.data('ckeditorLazy', entry);
+			$element.bind((mode === 'click' ? 'click' : 'focus') + '.ckeditorLazy', function(){
+				entry.create(true);
+			});
+
+			if(mode === 'visible'){
+				watch(entry);
+			}
+		});
+	};
+
+	function isAttached(node){
+		while(node && node !== document){
+			node = node.parentNode;
+		}
+
+		return node === document;
+	}
+
+	$.fn.ckeditorReuse = function(name, create){
+		return this.each(function(){
+			var element = this, $element = $(this),
+				editor = window.CKEDITOR && CKEDITOR.instances[element.id];
+
+			if(editor && editor.element && editor.element.$ !== element){
+				if($(editor.element.$).data('ckeditorReuse') === name && editor.container 
+						&& isAttached(editor.container.$)){
+					// The former textarea is the only replaced element
+					$element.hide().data('ckeditorReuse', name).data('ckeditorInstance', editor);
+					editor.element = new CKEDITOR.dom.element(element);
+
+					if(editor.getData() !== element.value){
+						editor.setData(element.value);
+					}
+
+					return;
+				}
+
+				// The editor is gone with the re-rendered markup, or configured differently
+				try {
+					editor.destroy(true);
+				} catch(e) {
+					CKEDITOR.remove(editor);
+				}
+			}
+
+			create.call(element);
+		});
+	};
+
+	$.fn.ckeditorLazy = function(mode, config){
+		return defer(this, mode, [], config);
+	};
+
+	$.fn.ckeditorBatch = function(name, mode, urls){
+		var config = window.wiQueryCKeditorConfigs[name];
+
+		this.each(function(){
+			queue.push({element: $(this), config: config, mode: mode, urls: urls || []});
+		});
+
+		if(!draining && queue.length){
+			draining = true;
+			nextFrame(drain);
+		}
+
+		return this;
+	};
+
+	$.fn.ckeditorAsync = function(urls, mode, config){
+		var $elements = this;
+
+		if(mode !== 'eager'){
+			// The scripts are loaded on the first activation
+			return typeof config === 'string' ? $elements.ckeditorBatch(config, mode, urls) 
+				: defer($elements, mode, urls, config);
+		}
+
+		load(urls, function(){
+			if(typeof config === 'string'){
+				$elements.ckeditorBatch(config, mode);
+			} else {
+				$elements.each(function(){
+					build($(this), config, false);
+				});
+			}
+		});
+
+		return this;
+	};
+})(jQuery);
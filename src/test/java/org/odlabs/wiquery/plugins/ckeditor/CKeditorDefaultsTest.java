@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2009 WiQuery team
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.odlabs.wiquery.plugins.ckeditor;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URISyntaxException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+/**
+ * $Id: CKeditorDefaultsTest.java roche.jul $
+ * 
+ * <p>
+ * 	Test of the {@link CKeditorDefaults}: each default value of the table is 
+ * 	searched into the sources of the shipped CKeditor, as a declaration of the
+ * 	configuration or as the fallback used when the option is not defined.
+ * </p>
+ * 
+ * @author Julien Roche
+ * @since 1.1
+ */
+public class CKeditorDefaultsTest {
+	/**
+	 * Method reading the core and the plugins of the shipped CKeditor
+	 * @return the sources
+	 * @throws IOException
+	 * @throws URISyntaxException
+	 */
+	private static String readSources() throws IOException, URISyntaxException {
+		File core = new File(CKeditorDefaults.class.getResource("ckeditor.js").toURI());
+		StringBuffer sources = new StringBuffer();
+		read(core, sources);
+		read(new File(core.getParentFile(), "plugins"), sources);
+		return sources.toString();
+	}
+	
+	/**
+	 * Method appending the javascript files of a directory, or a file
+	 * @param file
+	 * @param sources
+	 * @throws IOException
+	 */
+	private static void read(File file, StringBuffer sources) throws IOException {
+		if(file.isDirectory()){
+			for(File child : file.listFiles()) {
+				read(child, sources);
+			}
+			
+		} else if(file.getName().endsWith(".js")){
+			Reader reader = new InputStreamReader(new FileInputStream(file), "UTF-8");
+			
+			try {
+				char[] chars = new char[8192];
+				int read;
+				
+				while((read = reader.read(chars)) != -1){
+					sources.append(chars, 0, read);
+				}
+				
+				sources.append('\n');
+				
+			} finally {
+				reader.close();
+			}
+		}
+	}
+	
+	/**
+	 * Method retrieving the literal values declared for an option, as 
+	 * <code>{name:value}</code> or <code>config.name=value</code>
+	 * @param sources
+	 * @param name Name of the option
+	 * @return the declared values
+	 */
+	private static Set<String> getDeclarations(String sources, String name) {
+		Matcher matcher = Pattern.compile("[{,.]" + Pattern.quote(name) 
+				+ "\\s*[:=]\\s*('(?:[^'\\\\]|\\\\.)*'|-?\\d+(?:\\.\\d+)?|true|false)(?=\\s*[,;}])").matcher(sources);
+		Set<String> declarations = new HashSet<String>();
+		
+		while(matcher.find()){
+			declarations.add(matcher.group(1));
+		}
+		
+		return declarations;
+	}
+	
+	/**
+	 * Method building the pattern of the fallback used by CKeditor when an 
+	 * option is not declared
+	 * @param name Name of the option
+	 * @param value Javascript representation of the default value
+	 * @return the pattern
+	 */
+	private static Pattern getFallbackPattern(String name, String value) {
+		String option = "\\." + Pattern.quote(name);
+		String quoted = Pattern.quote(value);
+		StringBuffer pattern = new StringBuffer();
+		
+		// config.name||value
+		pattern.append(option).append("\\|\\|").append(quoted).append("(?![\\w.])");
+		// var x=config.name; ... typeof x!='undefined'?x:value
+		pattern.append("|(\\w+)=[\\w.]*").append(option).append("[,;].{0,200}?typeof \\1(?:!='undefined'\\?\\1:|=='undefined'\\)\\1=)")
+			.append(quoted).append("(?![\\w.])");
+		
+		if("true".equals(value)){
+			// Enabled unless disabled
+			pattern.append('|').append(option).append("!==false");
+			
+		} else if("false".equals(value)){
+			// Only tested when defined
+			pattern.append('|').append(option).append("(?:&&|\\?|\\))");
+		}
+		
+		return Pattern.compile(pattern.toString(), Pattern.DOTALL);
+	}
+	
+	/**
+	 * Test of all the default values of the table
+	 * @throws Exception
+	 */
+	@Test
+	public void testDefaults() throws Exception {
+		String sources = readSources();
+		int checked = 0;
+		
+		for(CKeditorOptionKey key : CKeditorOptionKey.values()) {
+			String value = CKeditorDefaults.getDefault(key);
+			
+			if(value == null){
+				continue;
+			}
+			
+			Set<String> declarations = getDeclarations(sources, key.getKey());
+			
+			if(declarations.isEmpty()){
+				assertTrue("The default of " + key.getKey() + " is not " + value, 
+						getFallbackPattern(key.getKey(), value).matcher(sources).find());
+				
+			} else {
+				assertTrue("The default of " + key.getKey() + " is one of " + declarations + ", not " + value, 
+						declarations.contains(value));
+			}
+			
+			checked++;
+		}
+		
+		assertTrue(checked > 0);
+	}
+	
+	/**
+	 * Test of the defaults of the options enabled by default
+	 */
+	@Test
+	public void testEnabledByDefault() {
+		assertTrue("true".equals(CKeditorDefaults.getDefault(CKeditorOptionKey.COLOR_BUTTON_ENABLE_MORE)));
+		assertTrue(CKeditorDefaults.getDefault(CKeditorOptionKey.HTML_ENCODE_OUTPUT) == null);
+	}
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2009 WiQuery team
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.odlabs.wiquery.plugins.ckeditor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.odlabs.wiquery.plugins.ckeditor.options.FormatOption;
+import org.odlabs.wiquery.plugins.ckeditor.options.HtmlTagEnum;
+import org.odlabs.wiquery.plugins.ckeditor.options.toolbar.CKeditorToolbar;
+
+/**
+ * $Id: CKeditorOptionsTest.java roche.jul $
+ * 
+ * <p>
+ * 	Test of the serialized form of the {@link CKeditorOptions}, and of the
+ * 	configuration they keep
+ * </p>
+ * 
+ * @author Julien Roche
+ * @since 1.1
+ */
+public class CKeditorOptionsTest {
+	// Constants
+	/** Keys, by ordinal, as written by the first serialized form */
+	private static final String[] SERIALIZED_KEYS = {
+		"AUTO_UPDATE_ELEMENT", "BASE_FLOAT_ZINDEX", "BASE_HREF", "BLOCKED_KEYSTROKES",
+		"BODY_CLASS", "BODY_ID", "BROWSER_CONTEXT_MENU_ON_CTRL",
+		"COLOR_BUTTON_BACK_STYLE", "COLOR_BUTTON_COLORS", "COLOR_BUTTON_ENABLE_MORE",
+		"COLOR_BUTTON_FORE_STYLE", "CONTENTS_CSS", "CONTENTS_LANG_DIRECTION",
+		"CORE_STYLES_BOLD", "CORE_STYLES_ITALIC", "CORE_STYLES_STRIKE",
+		"CORE_STYLES_SUBSCRIPT", "CORE_STYLES_SUPERSCRIPT", "CORE_STYLES_UNDERLINE",
+		"CUSTOM_CONFIG", "DEFAULT_LANGUAGE", "DIALOG_BACKGROUND_COVER_COLOR",
+		"DIALOG_BACKGROUND_COVER_OPACITY", "DIALOG_MAGNET_DISTANCE",
+		"DIALOG_STARTUP_FOCUS_TAB", "DISABLE_NATIVE_SPELL_CHECKER",
+		"DISABLE_NATIVE_TABLE_HANDLES", "DISABLE_OBJECT_RESIZING", "DOC_TYPE",
+		"EDITING_BLOCK", "ELEMENTS_PATH_FILTERS", "EMAIL_PROTECTION", "ENTER_MODE",
+		"ENTITIES_GREEK", "ENTITIES_LATIN", "ENTITIES_PROCESS_NUMERICAL",
+		"EXTRA_PLUGINS", "FILEBROWSER_BROWSE_URL", "FILEBROWSER_FLASH_BROWSE_URL",
+		"FILEBROWSER_FLASH_UPLOAD_URL", "FILEBROWSER_IMAGE_BROWSE_LINK_URL",
+		"FILEBROWSER_IMAGE_BROWSE_URL", "FILEBROWSER_IMAGE_UPLOAD_URL",
+		"FILEBROWSER_UPLOAD_URL", "FIND_HIGHLIGHT", "FONT_DEFAULT_LABEL", "FONT_NAMES",
+		"FONT_STYLE", "FONT_SIZE_DEFAULT_LABEL", "FONT_SIZE_SIZES", "FONT_SIZE_STYLE",
+		"FORCE_PASTE_AS_PLAIN_TEXT", "FORMAT_ADDRESS", "FORMAT_DIV", "FORMAT_P",
+		"FORMAT_PRE", "FORMAT_TAGS", "FULL_PAGE", "HEIGHT", "HTML_ENCODE_OUTPUT",
+		"IGNORE_EMPTY_PARAGRAPH", "IMAGE_PREVIEW_TEXT", "IMAGE_REMOVE_LINK_BY_EMPTY_URL",
+		"KEYSTROKES", "LANGUAGE", "MENU_GROUPS", "MENU_SUB_MENU_DELAY", "NEWPAGE_HTML",
+		"PASTE_FROM_WORD_CLEANUP_FILE", "PASTE_FROM_WORD_PROMPT_CLEANUP",
+		"PASTE_FROM_WORD_REMOVE_FONT_STYLES", "PASTE_FROM_WORD_REMOVE_STYLES",
+		"PROTECTED_SOURCE", "REMOVE_FORMAT_TAGS", "REMOVE_PLUGINS", "RESIZE_ENABLED",
+		"RESIZE_MAX_HEIGHT", "RESIZE_MAX_WIDTH", "SHIFT_ENTER_MODE", "SKIN",
+		"SMILEY_DESCRIPTIONS", "SMILEY_IMAGES", "SMILEY_PATH", "STARTUP_FOCUS",
+		"STARTUP_MODE", "STARTUP_OUTLINE_BLOCKS", "STYLES_COMBO_STYLES_SET",
+		"STYLES_SET", "TAB_INDEX", "TAB_SPACES", "TEMPLATES", "TEMPLATES_FILES",
+		"TEMPLATES_REPLACE_CONTENT", "THEME", "TOOLBAR", "TOOLBAR_CAN_COLLAPSE",
+		"TOOLBAR_LOCATION", "TOOLBAR_STARTUP_EXPANDED", "UNDO_STACK_SIZE", "WIDTH",
+		"FORMAT_H1", "FORMAT_H2", "FORMAT_H3", "FORMAT_H4", "FORMAT_H5", "FORMAT_H6"
+	};
+	
+	/**
+	 * Method serializing and deserializing options
+	 * @param options
+	 * @return the read options
+	 * @throws Exception
+	 */
+	private static CKeditorOptions roundTrip(CKeditorOptions options) throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ObjectOutputStream out = new ObjectOutputStream(bytes);
+		out.writeObject(options);
+		out.close();
+		
+		ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+		
+		try {
+			return (CKeditorOptions) in.readObject();
+			
+		} finally {
+			in.close();
+		}
+	}
+	
+	/**
+	 * Test of the configuration kept until the options or the arguments change
+	 */
+	@Test
+	public void testConfiguration() {
+		CKeditorOptions options = new CKeditorOptions();
+		options.put(CKeditorOptionKey.AUTO_UPDATE_ELEMENT, false);
+		String configuration = options.getJavaScriptConfiguration(null, null);
+		String name = options.getConfigurationName();
+		assertSame(configuration, options.getJavaScriptConfiguration(null, null));
+		assertSame(name, options.getConfigurationName());
+		
+		String translated = options.getJavaScriptConfiguration(null, "fr");
+		assertTrue(translated.startsWith("jQuery.extend({}, " + configuration));
+		assertFalse(name.equals(options.getConfigurationName()));
+		
+		options.put(CKeditorOptionKey.AUTO_UPDATE_ELEMENT, true);
+		assertFalse(translated.equals(options.getJavaScriptConfiguration(null, "fr")));
+		assertEquals(configuration.replace("false", "true"), options.getJavaScriptConfiguration(null, null));
+	}
+	
+	/**
+	 * Test of the order of the keys: the serialized form relies on their 
+	 * ordinal, so the new keys must be added at the end
+	 */
+	@Test
+	public void testKeysOrder() {
+		CKeditorOptionKey[] keys = CKeditorOptionKey.values();
+		assertTrue(keys.length >= SERIALIZED_KEYS.length);
+		
+		for(int i = 0; i < SERIALIZED_KEYS.length; i++){
+			assertEquals("Ordinal " + i, SERIALIZED_KEYS[i], keys[i].name());
+		}
+	}
+	
+	/**
+	 * Test of a serialization followed by a deserialization
+	 * @throws Exception
+	 */
+	@Test
+	public void testRoundTrip() throws Exception {
+		Map<String, String> attributes = new HashMap<String, String>();
+		attributes.put("class", "title");
+		
+		CKeditorOptions options = new CKeditorOptions();
+		options.put(CKeditorOptionKey.AUTO_UPDATE_ELEMENT, false);
+		options.put(CKeditorOptionKey.COLOR_BUTTON_ENABLE_MORE, true);
+		options.put(CKeditorOptionKey.BASE_FLOAT_ZINDEX, -5);
+		options.put(CKeditorOptionKey.TAB_INDEX, 300);
+		options.put(CKeditorOptionKey.DIALOG_BACKGROUND_COVER_OPACITY, 0.25f);
+		options.putLiteral(CKeditorOptionKey.SKIN, "office2003");
+		options.put(CKeditorOptionKey.ENTER_MODE, "CKEDITOR.ENTER_BR");
+		options.put(CKeditorOptionKey.TOOLBAR, new CKeditorToolbar(CKeditorToolbar.ToolbarType.BASIC));
+		options.put(CKeditorOptionKey.FORMAT_H1, new FormatOption(HtmlTagEnum.h1, attributes));
+		options.put(CKeditorOptionKey.FORMAT_H6, new FormatOption(HtmlTagEnum.h6, null));
+		options.setDefaultsElided(true);
+		
+		CKeditorOptions read = roundTrip(options);
+		assertFalse(read.getBoolean(CKeditorOptionKey.AUTO_UPDATE_ELEMENT, true));
+		assertTrue(read.getBoolean(CKeditorOptionKey.COLOR_BUTTON_ENABLE_MORE, false));
+		assertFalse(read.contains(CKeditorOptionKey.STARTUP_FOCUS));
+		assertEquals(-5, read.getInt(CKeditorOptionKey.BASE_FLOAT_ZINDEX, 0));
+		assertEquals(300, read.getInt(CKeditorOptionKey.TAB_INDEX, 0));
+		assertEquals(0.25f, read.getFloat(CKeditorOptionKey.DIALOG_BACKGROUND_COVER_OPACITY, 0f), 0f);
+		assertEquals("office2003", read.getLiteral(CKeditorOptionKey.SKIN));
+		assertEquals("CKEDITOR.ENTER_BR", read.getString(CKeditorOptionKey.ENTER_MODE));
+		assertTrue(read.isDefaultsElided());
+		assertEquals(options.getJavaScriptOptions(), read.getJavaScriptOptions());
+	}
+	
+	/**
+	 * Test of the serialization of empty options
+	 * @throws Exception
+	 */
+	@Test
+	public void testRoundTripEmpty() throws Exception {
+		CKeditorOptions read = roundTrip(new CKeditorOptions());
+		assertFalse(read.isDefaultsElided());
+		assertEquals("{}", read.getJavaScriptOptions());
+	}
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2009 WiQuery team
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.odlabs.wiquery.plugins.ckeditor.resource;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * $Id: CKeditorAssetResourceTest.java roche.jul $
+ * 
+ * <p>
+ * 	Test of the <code>If-None-Match</code> header checked by the 
+ * 	{@link CKeditorAssetResource}
+ * </p>
+ * 
+ * @author Julien Roche
+ * @since 1.1
+ */
+public class CKeditorAssetResourceTest {
+	// Constants
+	/** Entity tag of the content */
+	private static final String ETAG = "\"0123456789abcdef-gzip\"";
+	
+	/**
+	 * Test of the entity tags matching the content
+	 */
+	@Test
+	public void testIsNotModified() {
+		assertTrue(CKeditorAssetResource.isNotModified(ETAG, ETAG));
+		assertTrue(CKeditorAssetResource.isNotModified("*", ETAG));
+		assertTrue(CKeditorAssetResource.isNotModified("\"other\", " + ETAG, ETAG));
+		
+		// If-None-Match uses the weak comparison
+		assertTrue(CKeditorAssetResource.isNotModified("W/" + ETAG, ETAG));
+		assertTrue(CKeditorAssetResource.isNotModified("\"other\",W/" + ETAG, ETAG));
+	}
+	
+	/**
+	 * Test of the entity tags not matching the content
+	 */
+	@Test
+	public void testIsModified() {
+		assertFalse(CKeditorAssetResource.isNotModified(null, ETAG));
+		assertFalse(CKeditorAssetResource.isNotModified("", ETAG));
+		assertFalse(CKeditorAssetResource.isNotModified("\"other\"", ETAG));
+		assertFalse(CKeditorAssetResource.isNotModified("\"0123456789abcdef\"", ETAG));
+		assertFalse(CKeditorAssetResource.isNotModified("0123456789abcdef-gzip", ETAG));
+	}
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2009 WiQuery team
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.odlabs.wiquery.plugins.ckeditor.resource;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * $Id: CKeditorAssetsTest.java roche.jul $
+ * 
+ * <p>
+ * 	Test of the evictions of the {@link CKeditorAssets}, with the pinned groups
+ * 	and the digests kept
+ * </p>
+ * 
+ * @author Julien Roche
+ * @since 1.1
+ */
+public class CKeditorAssetsTest {
+	// Constants
+	/** Key of the application giving the budget */
+	private static final String APPLICATION_KEY = "CKeditorAssetsTest";
+	
+	/** Size of the assets */
+	private static final int SIZE = 1000;
+	
+	/**
+	 * Method registering an asset, kept uncompressed
+	 * @param name Name of the asset
+	 * @return the path of the asset
+	 */
+	private static String register(String name) {
+		String path = "test/" + name + ".png";
+		CKeditorAssets.register(CKeditorAsset.create(path, new byte[SIZE], 0L));
+		return path;
+	}
+	
+	/**
+	 * Method evicting the assets not pinned
+	 */
+	@Before
+	public void setUp() {
+		CKeditorAssets.setMemoryBudget(APPLICATION_KEY, 0L);
+	}
+	
+	/**
+	 * Method releasing the budget of the test
+	 */
+	@After
+	public void tearDown() {
+		CKeditorAssets.removeMemoryBudget(APPLICATION_KEY);
+	}
+	
+	/**
+	 * Test of the eviction of the least recently used groups, the pinned ones
+	 * being kept
+	 */
+	@Test
+	public void testEviction() {
+		CKeditorAssets.setMemoryBudget(APPLICATION_KEY, CKeditorAssets.getMemory() + 3 * SIZE);
+		String pinned = register("eviction-pinned");
+		CKeditorAssets.pin(pinned);
+		String used = register("eviction-used");
+		String unused = register("eviction-unused");
+		assertNotNull(CKeditorAssets.lookup(used));
+		
+		String added = register("eviction-added");
+		assertNull(CKeditorAssets.lookup(unused));
+		assertNotNull(CKeditorAssets.lookup(pinned));
+		assertNotNull(CKeditorAssets.lookup(used));
+		assertNotNull(CKeditorAssets.lookup(added));
+		CKeditorAssets.unpin(pinned);
+	}
+	
+	/**
+	 * Test of the digest of an asset, kept after its eviction
+	 */
+	@Test
+	public void testDigest() {
+		String path = "test/digest.txt";
+		assertNull(CKeditorAssets.getDigest(path));
+		
+		CKeditorAsset asset = CKeditorAssets.register(CKeditorAsset.create(path, new byte[SIZE], 0L));
+		assertNull(CKeditorAssets.lookup(path));
+		
+		CKeditorAsset.Digest digest = CKeditorAssets.getDigest(path);
+		assertNotNull(digest);
+		assertEquals(asset.getETag(CKeditorEncoding.GZIP), digest.getETag(CKeditorEncoding.GZIP));
+		assertEquals(CKeditorEncoding.GZIP, digest.negotiate("gzip, deflate"));
+		assertEquals(CKeditorEncoding.IDENTITY, digest.negotiate("br"));
+	}
+	
+	/**
+	 * Test of the group of a language, pinned by the profiles with its pack
+	 */
+	@Test
+	public void testLanguageGroup() {
+		String group = CKeditorAssets.getGroup(CKeditorLanguagePack.getPath("pt-br"));
+		assertEquals("lang/pt-br", group);
+		assertEquals(group, CKeditorAssets.getGroup("lang/pt-br.js"));
+		assertEquals(group, CKeditorAssets.getGroup("plugins/about/lang/pt-br.js"));
+	}
+	
+	/**
+	 * Test of the counted pins: a group is evicted once all its pins are 
+	 * released
+	 */
+	@Test
+	public void testUnpin() {
+		CKeditorAssets.setMemoryBudget(APPLICATION_KEY, CKeditorAssets.getMemory() + 2 * SIZE);
+		String pinned = register("unpin-pinned");
+		CKeditorAssets.pin(pinned);
+		CKeditorAssets.pin(pinned);
+		String unpinned = register("unpin-unpinned");
+		
+		CKeditorAssets.unpin(pinned);
+		assertTrue(CKeditorAssets.isPinned(pinned));
+		String added = register("unpin-added");
+		assertNull(CKeditorAssets.lookup(unpinned));
+		assertNotNull(CKeditorAssets.lookup(pinned));
+		
+		CKeditorAssets.unpin(pinned);
+		assertFalse(CKeditorAssets.isPinned(pinned));
+		assertNotNull(CKeditorAssets.lookup(added));
+		CKeditorAssets.setMemoryBudget(APPLICATION_KEY, CKeditorAssets.getMemory() - SIZE);
+		assertNull(CKeditorAssets.lookup(pinned));
+		assertNotNull(CKeditorAssets.lookup(added));
+	}
+}
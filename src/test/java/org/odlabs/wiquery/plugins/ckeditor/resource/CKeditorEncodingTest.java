@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2009 WiQuery team
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.odlabs.wiquery.plugins.ckeditor.resource;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * $Id: CKeditorEncodingTest.java roche.jul $
+ * 
+ * <p>
+ * 	Test of the negotiation of the {@link CKeditorEncoding} with the 
+ * 	<code>Accept-Encoding</code> header
+ * </p>
+ * 
+ * @author Julien Roche
+ * @since 1.1
+ */
+public class CKeditorEncodingTest {
+	/**
+	 * Method negotiating the encoding of a content available in all the
+	 * encodings
+	 * @param acceptEncoding Value of the header
+	 * @return the encoding
+	 */
+	private static CKeditorEncoding negotiate(String acceptEncoding) {
+		return CKeditorEncoding.negotiate(acceptEncoding, true, true);
+	}
+	
+	/**
+	 * Test of the available variants
+	 */
+	@Test
+	public void testAvailability() {
+		assertEquals(CKeditorEncoding.GZIP, CKeditorEncoding.negotiate("br, gzip", false, true));
+		assertEquals(CKeditorEncoding.IDENTITY, CKeditorEncoding.negotiate("br", false, true));
+		assertEquals(CKeditorEncoding.IDENTITY, CKeditorEncoding.negotiate("br, gzip", false, false));
+		assertEquals(CKeditorEncoding.IDENTITY, CKeditorEncoding.negotiate("gzip;q=0, *", false, true));
+	}
+	
+	/**
+	 * Test of the codings
+	 */
+	@Test
+	public void testNegotiate() {
+		assertEquals(CKeditorEncoding.IDENTITY, negotiate(null));
+		assertEquals(CKeditorEncoding.IDENTITY, negotiate(""));
+		assertEquals(CKeditorEncoding.IDENTITY, negotiate("identity"));
+		assertEquals(CKeditorEncoding.GZIP, negotiate("gzip, deflate"));
+		assertEquals(CKeditorEncoding.GZIP, negotiate("x-gzip"));
+		assertEquals(CKeditorEncoding.GZIP, negotiate("GZIP"));
+		assertEquals(CKeditorEncoding.BROTLI, negotiate("gzip, deflate, br"));
+		assertEquals(CKeditorEncoding.BROTLI, negotiate("*"));
+	}
+	
+	/**
+	 * Test of the quality values
+	 */
+	@Test
+	public void testQuality() {
+		assertEquals(CKeditorEncoding.GZIP, negotiate("gzip;q=0.5"));
+		assertEquals(CKeditorEncoding.GZIP, negotiate("br;q=0, gzip"));
+		assertEquals(CKeditorEncoding.IDENTITY, negotiate("gzip;q=0"));
+		assertEquals(CKeditorEncoding.IDENTITY, negotiate("gzip; q=0.000"));
+		assertEquals(CKeditorEncoding.IDENTITY, negotiate("gzip;q=invalid"));
+		
+		// The wildcard only applies to the codings not listed
+		assertEquals(CKeditorEncoding.BROTLI, negotiate("gzip;q=0, *"));
+		assertEquals(CKeditorEncoding.GZIP, negotiate("br;q=0, *"));
+		assertEquals(CKeditorEncoding.GZIP, negotiate("*;q=0, gzip"));
+		assertEquals(CKeditorEncoding.IDENTITY, negotiate("*;q=0"));
+		assertEquals(CKeditorEncoding.IDENTITY, negotiate("br;q=0, gzip;q=0, *"));
+	}
+}
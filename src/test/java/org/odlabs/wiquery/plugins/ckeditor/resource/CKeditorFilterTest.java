@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2009 WiQuery team
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.odlabs.wiquery.plugins.ckeditor.resource;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * $Id: CKeditorFilterTest.java roche.jul $
+ * 
+ * <p>
+ * 	Test of the parsing of the <code>Range</code> header and of the 
+ * 	conditional headers by the {@link CKeditorFilter}
+ * </p>
+ * 
+ * @author Julien Roche
+ * @since 1.1
+ */
+public class CKeditorFilterTest {
+	// Constants
+	/** Entity tag of the response */
+	private static final String ETAG = "\"0123456789abcdef\"";
+	
+	/** Last modification time of the file, within a second */
+	private static final long LAST_MODIFIED = 1262304000500L;
+	
+	/**
+	 * Method checking a range
+	 * @param range Range
+	 * @param start Expected first byte
+	 * @param end Expected last byte
+	 */
+	private static void assertRange(CKeditorFilter.Range range, long start, long end) {
+		assertEquals(start, range.start);
+		assertEquals(end, range.end);
+		assertEquals(end - start + 1, range.getLength());
+	}
+	
+	/**
+	 * Test of the <code>If-None-Match</code> and <code>If-Modified-Since</code>
+	 * headers
+	 */
+	@Test
+	public void testIsNotModified() {
+		assertFalse(CKeditorFilter.isNotModified(null, -1, ETAG, LAST_MODIFIED));
+		assertTrue(CKeditorFilter.isNotModified(ETAG, -1, ETAG, LAST_MODIFIED));
+		assertTrue(CKeditorFilter.isNotModified("W/" + ETAG, -1, ETAG, LAST_MODIFIED));
+		assertTrue(CKeditorFilter.isNotModified("*", -1, ETAG, LAST_MODIFIED));
+		assertFalse(CKeditorFilter.isNotModified("\"other\"", -1, ETAG, LAST_MODIFIED));
+		
+		// The dates are compared to the second
+		assertTrue(CKeditorFilter.isNotModified(null, LAST_MODIFIED - 500, ETAG, LAST_MODIFIED));
+		assertTrue(CKeditorFilter.isNotModified(null, LAST_MODIFIED + 60000, ETAG, LAST_MODIFIED));
+		assertFalse(CKeditorFilter.isNotModified(null, LAST_MODIFIED - 1000, ETAG, LAST_MODIFIED));
+		
+		// If-Modified-Since is ignored when an entity tag is given
+		assertFalse(CKeditorFilter.isNotModified("\"other\"", LAST_MODIFIED, ETAG, LAST_MODIFIED));
+	}
+	
+	/**
+	 * Test of the <code>If-Range</code> header
+	 */
+	@Test
+	public void testIsRangeApplicable() {
+		assertTrue(CKeditorFilter.isRangeApplicable(null, -1, ETAG, LAST_MODIFIED));
+		assertTrue(CKeditorFilter.isRangeApplicable(ETAG, -1, ETAG, LAST_MODIFIED));
+		assertFalse(CKeditorFilter.isRangeApplicable("\"other\"", -1, ETAG, LAST_MODIFIED));
+		
+		// If-Range uses the strong comparison
+		assertFalse(CKeditorFilter.isRangeApplicable("W/" + ETAG, -1, ETAG, LAST_MODIFIED));
+		
+		// The date must be the one of the file, to the second
+		assertTrue(CKeditorFilter.isRangeApplicable("Fri, 01 Jan 2010 00:00:00 GMT", 
+				LAST_MODIFIED - 500, ETAG, LAST_MODIFIED));
+		assertFalse(CKeditorFilter.isRangeApplicable("Fri, 01 Jan 2010 00:00:01 GMT", 
+				LAST_MODIFIED + 500, ETAG, LAST_MODIFIED));
+		assertFalse(CKeditorFilter.isRangeApplicable("invalid", -1, ETAG, LAST_MODIFIED));
+	}
+	
+	/**
+	 * Test of the <code>Range</code> header
+	 */
+	@Test
+	public void testParseRange() {
+		assertRange(CKeditorFilter.parseRange("bytes=0-9", 100), 0, 9);
+		assertRange(CKeditorFilter.parseRange("bytes=90-", 100), 90, 99);
+		assertRange(CKeditorFilter.parseRange("bytes=90-200", 100), 90, 99);
+		
+		// Suffixes
+		assertRange(CKeditorFilter.parseRange("bytes=-10", 100), 90, 99);
+		assertRange(CKeditorFilter.parseRange("bytes=-200", 100), 0, 99);
+		
+		// Unsatisfiable ranges
+		assertSame(CKeditorFilter.Range.UNSATISFIABLE, CKeditorFilter.parseRange("bytes=100-", 100));
+		assertSame(CKeditorFilter.Range.UNSATISFIABLE, CKeditorFilter.parseRange("bytes=100-150", 100));
+		assertSame(CKeditorFilter.Range.UNSATISFIABLE, CKeditorFilter.parseRange("bytes=-0", 100));
+		assertSame(CKeditorFilter.Range.UNSATISFIABLE, CKeditorFilter.parseRange("bytes=-10", 0));
+		
+		// The whole content is sent
+		assertNull(CKeditorFilter.parseRange(null, 100));
+		assertNull(CKeditorFilter.parseRange("items=0-9", 100));
+		assertNull(CKeditorFilter.parseRange("bytes=0-9,20-29", 100));
+		assertNull(CKeditorFilter.parseRange("bytes=9-0", 100));
+		assertNull(CKeditorFilter.parseRange("bytes=a-b", 100));
+		assertNull(CKeditorFilter.parseRange("bytes=10", 100));
+	}
+}
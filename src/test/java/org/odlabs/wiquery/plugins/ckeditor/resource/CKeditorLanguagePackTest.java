@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2009 WiQuery team
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.odlabs.wiquery.plugins.ckeditor.resource;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * $Id: CKeditorLanguagePackTest.java roche.jul $
+ * 
+ * <p>
+ * 	Test of the cache headers of the {@link CKeditorLanguagePack}
+ * </p>
+ * 
+ * @author Julien Roche
+ * @since 1.1
+ */
+public class CKeditorLanguagePackTest {
+	/**
+	 * Test of a pack served under its own path, the plugin not being installed
+	 */
+	@Test
+	public void testReference() {
+		CKeditorLanguagePack.Reference reference = new CKeditorLanguagePack.Reference("fr");
+		assertEquals(CKeditorLanguagePack.getPath("fr"), reference.getName());
+		assertFalse(reference.newResource().isImmutable());
+	}
+	
+	/**
+	 * Test of a pack served under the fingerprint of the tree
+	 */
+	@Test
+	public void testImmutable() {
+		assertTrue(new CKeditorLanguagePack("fr", true).isImmutable());
+		assertFalse(new CKeditorLanguagePack("fr").isImmutable());
+	}
+}